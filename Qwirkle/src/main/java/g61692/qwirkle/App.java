@@ -1,11 +1,14 @@
 package g61692.qwirkle;
 
-import g61692.qwirkle.model.Bag;
+import g61692.qwirkle.ai.HintService;
 import g61692.qwirkle.model.Direction;
 import g61692.qwirkle.model.Game;
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.Move;
 import g61692.qwirkle.model.QwirkleException;
 import g61692.qwirkle.view.View;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -19,12 +22,22 @@ import java.util.Scanner;
  */
 public class App {
 
+    private static final HintService HINTS = new HintService();
+
     /**
      * Runs the Qwirkle game with a console interface. Prompts the user to enter the number of players and their names,
      * then initializes the game and displays the game on the console. Provides a command-line interface for players to
      * play tiles, exchange tiles, pass, or quit the game. Displays the game state after each turn.
+     * <p>
+     * With the arguments {@code --batch <file>}, the commands are read from the file (or from the
+     * standard input if the file is {@code -}) by a {@link BatchRunner} instead.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.run(args.length > 1 ? args[1] : "-");
+            return;
+        }
+
         Game game = initialiser();
 
         Scanner clavier = new Scanner(System.in);
@@ -33,6 +46,10 @@ public class App {
             View.display(game.getCurrentPlayerName(), game.getCurrentPlayerHand(), game.getCurrentPlayerScore());
             System.out.print("Entrez la commande : ");
             String command = clavier.next().toLowerCase(Locale.ROOT);
+            if (!command.equals("t") && !command.equals("h")) {
+                // le joueur agit avant la fin du conseil : il ne sert plus à rien
+                HINTS.cancel();
+            }
             switch (command) {
                 case "o" -> {
                     if (game.getGrid().isEmpty()) {
@@ -72,15 +89,17 @@ public class App {
                     System.out.println("Entrez un nom de fichier pour la sauvegarde : ");
                     String fileName = clavier.next();
                     game.write(fileName);
-                    Bag.getInstance().writeBag(fileName);
                     break gameLoop;
                 }
                 case "h" -> View.displayHelp();
+                case "t" -> command_T(game);
                 default -> View.displayError("Veuillez entrez une commmande correcte");
             }
-            View.display(game.getGrid());
+            View.display(game.getGrid(), game.getBagSize());
 
         }
+        // la partie quittée ou sauvegardée n'est plus active, comme celle qui est finie
+        game.close();
 
         System.out.println("Le gagnant est : " + game.getWinner());
 
@@ -104,12 +123,11 @@ public class App {
             game = new Game();
 
             Game savedGame = game.getFromFile(fileName);
-            Bag.getInstance().getFromFileBag(fileName);
 
             if (savedGame != null) {
                 game = savedGame;
                 System.out.println("La partie précédente a été chargée.");
-                View.display(game.getGrid());
+                View.display(game.getGrid(), game.getBagSize());
             } else {
                 System.out.println("Erreur lors de la désérialisation du jeu. Une nouvelle partie sera créée.");
             }
@@ -129,12 +147,12 @@ public class App {
      * @param game the Game object being played
      */
     private static void command_O(Game game) {
-        int row = lectureEntierEntreAetB("Entrez la position de la ligne : ", 0, 90);
-        int col = lectureEntierEntreAetB("Entrez la position de la colonne : ", 0, 90);
+        int row = lectureEntierEntreAetB("Entrez la position de la ligne : ", 0, game.getGrid().size() - 1);
+        int col = lectureEntierEntreAetB("Entrez la position de la colonne : ", 0, game.getGrid().size() - 1);
         int i = lectureEntierEntreAetB("Entrez l'indice de la tuile : ", 0, game.getCurrentPlayerHand().size() - 1);
         try {
             game.play(row, col, i);
-            game.pass();
+            game.endTurn();
         } catch (QwirkleException e) {
             View.displayError(e.getMessage());
         }
@@ -146,8 +164,8 @@ public class App {
      * @param game the game object.
      */
     private static void command_L(Game game) {
-        int row = lectureEntierEntreAetB("Entrez la position de la ligne : ", 0, 90);
-        int col = lectureEntierEntreAetB("Entrez la position de la colonne : ", 0, 90);
+        int row = lectureEntierEntreAetB("Entrez la position de la ligne : ", 0, game.getGrid().size() - 1);
+        int col = lectureEntierEntreAetB("Entrez la position de la colonne : ", 0, game.getGrid().size() - 1);
         int isSize = lectureEntierEntreAetB("Combien de tuiles souhaitez vous poser : ", 1, game.getCurrentPlayerHand().size());
         Direction d = getDirection();
         int[] is = new int[isSize];
@@ -156,7 +174,7 @@ public class App {
         }
         try {
             game.play(row, col, d, is);
-            game.pass();
+            game.endTurn();
         } catch (QwirkleException e) {
             View.displayError(e.getMessage());
         }
@@ -171,13 +189,13 @@ public class App {
         int isSize = lectureEntierEntreAetB("Combien de tuiles souhaitez vous poser : ", 1, game.getCurrentPlayerHand().size());
         int[] is = new int[isSize * 3];
         for (int i = 0; i < is.length - 2; i += 3) {
-            is[i] = lectureEntierEntreAetB("Entrez la position de la ligne : ", 0, 90);
-            is[i + 1] = lectureEntierEntreAetB("Entrez la position de la colonne : ", 0, 90);
+            is[i] = lectureEntierEntreAetB("Entrez la position de la ligne : ", 0, game.getGrid().size() - 1);
+            is[i + 1] = lectureEntierEntreAetB("Entrez la position de la colonne : ", 0, game.getGrid().size() - 1);
             is[i + 2] = lectureEntierEntreAetB("Entrez l'indice de la tuile : ", 0, game.getCurrentPlayerHand().size() - 1);
         }
         try {
             game.play(is);
-            game.pass();
+            game.endTurn();
         } catch (QwirkleException e) {
             View.displayError(e.getMessage());
         }
@@ -197,12 +215,27 @@ public class App {
         }
         try {
             game.first(d, is);
-            game.pass();
+            game.endTurn();
         } catch (QwirkleException e) {
             View.displayError(e.getMessage());
         }
     }
 
+    /**
+     * Starts looking for a move for the current player, without waiting for the result.
+     * The suggestion is displayed when the time given by the system property
+     * {@value HintService#BUDGET_PROPERTY} runs out, unless the player moves first.
+     *
+     * @param game the game object.
+     */
+    private static void command_T(Game game) {
+        Grid grid = game.copyGrid();
+        System.out.println("Recherche d'un conseil pendant " + HINTS.getBudgetMillis() + " ms...");
+        HINTS.request(grid, game.getCurrentPlayerHand(), game.getPlayerNames().size(),
+                best -> View.displayHint(best == null ? null : Move.toString(best.toMove(grid)),
+                        best == null ? 0 : best.points()));
+    }
+
     /**
      * Prompts the user to enter the names of the players in the game.
      *
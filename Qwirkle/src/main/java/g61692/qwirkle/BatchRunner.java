@@ -0,0 +1,223 @@
+package g61692.qwirkle;
+
+import g61692.qwirkle.model.Bag;
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Game;
+import g61692.qwirkle.model.QwirkleException;
+import g61692.qwirkle.model.RuleSet;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The BatchRunner plays recorded Qwirkle sessions without any interaction.
+ * <p>
+ * It reads one command per line, from a file or from the standard input, and plays them
+ * on one game after another. The commands are those of the console, with their arguments
+ * on the same line:
+ * <pre>
+ * seed &lt;n&gt;                         seeds the bag of the next games
+ * new &lt;name1&gt; &lt;name2&gt; [...]         starts a new game
+ * f &lt;d&gt; &lt;i1&gt; [&lt;i2&gt; ...]              plays the first tiles
+ * o &lt;row&gt; &lt;col&gt; &lt;i&gt;                  plays one tile
+ * l &lt;row&gt; &lt;col&gt; &lt;d&gt; &lt;i1&gt; [...]      plays a line
+ * m &lt;row1&gt; &lt;col1&gt; &lt;i1&gt; [...]        plays tiles at several positions
+ * p                                passes
+ * </pre>
+ * Blank lines and lines starting with {@code #} are ignored. Nothing is displayed while
+ * the commands run: rejected commands are reported with their line number, and a summary
+ * of every game is printed at the end.
+ */
+public class BatchRunner {
+
+    private final PrintWriter out;
+    private final List<String> summaries = new ArrayList<>();
+    private Game game;
+    private Random seeds;
+    private int gameNumber;
+    private long commands;
+    private long errors;
+
+    /**
+     * Creates a batch runner writing its report to the given writer.
+     *
+     * @param out the writer of the report
+     */
+    public BatchRunner(PrintWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Plays the commands of a file, or of the standard input if the file name is {@code -},
+     * and prints the report on the standard output.
+     *
+     * @param fileName the name of the file of commands
+     * @throws IOException if the commands cannot be read
+     */
+    public static void run(String fileName) throws IOException {
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        InputStream input = fileName.equals("-") ? System.in : new FileInputStream(fileName);
+        try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+            new BatchRunner(out).run(reader);
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Plays every command of a reader, then prints the summary.
+     *
+     * @param reader the reader of the commands
+     * @throws IOException if the commands cannot be read
+     */
+    public void run(Reader reader) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader in = new BufferedReader(reader, 1 << 16);
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            commands++;
+            try {
+                execute(line.split("\\s+"));
+            } catch (QwirkleException | IndexOutOfBoundsException | NumberFormatException e) {
+                errors++;
+                out.println("line " + lineNumber + ": " + line + " -> " + e.getMessage());
+            }
+        }
+        endGame("unfinished");
+        printSummary(System.nanoTime() - start);
+    }
+
+    /**
+     * Executes one command on the current game.
+     *
+     * @param words the command and its arguments
+     * @throws QwirkleException if the command is unknown or refused by the game
+     */
+    private void execute(String[] words) {
+        String command = words[0].toLowerCase(Locale.ROOT);
+        switch (command) {
+            case "seed" -> seeds = new Random(Long.parseLong(words[1]));
+            case "new" -> {
+                endGame("unfinished");
+                Bag bag = new Bag(RuleSet.STANDARD);
+                if (seeds != null) {
+                    bag.setSeed(seeds.nextLong());
+                }
+                game = new Game(Arrays.asList(words).subList(1, words.length), RuleSet.STANDARD, bag);
+                gameNumber++;
+            }
+            case "f" -> {
+                currentGame().first(direction(words[1]), ints(words, 2));
+                afterMove();
+            }
+            case "o" -> {
+                currentGame().play(Integer.parseInt(words[1]), Integer.parseInt(words[2]), Integer.parseInt(words[3]));
+                afterMove();
+            }
+            case "l" -> {
+                currentGame().play(Integer.parseInt(words[1]), Integer.parseInt(words[2]), direction(words[3]), ints(words, 4));
+                afterMove();
+            }
+            case "m" -> {
+                currentGame().play(ints(words, 1));
+                afterMove();
+            }
+            case "p" -> {
+                currentGame().pass();
+                endIfOver();
+            }
+            default -> throw new QwirkleException("Unknown command " + command);
+        }
+    }
+
+    /**
+     * Gives the turn to the next player after a move, or ends the game if it is over.
+     */
+    private void afterMove() {
+        game.endTurn();
+        endIfOver();
+    }
+
+    /**
+     * Ends the game if it is over, after any command giving the turn to the next player.
+     */
+    private void endIfOver() {
+        if (game.isOver()) {
+            endGame("over");
+        }
+    }
+
+    private Game currentGame() {
+        if (game == null) {
+            throw new QwirkleException("No game in progress, start one with new");
+        }
+        return game;
+    }
+
+    /**
+     * Records the summary of the current game, if any.
+     *
+     * @param state how the game ended
+     */
+    private void endGame(String state) {
+        if (game == null) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder("game " + gameNumber + " (" + state + ")");
+        List<String> names = game.getPlayerNames();
+        int[] scores = game.getScores();
+        for (int i = 0; i < names.size(); i++) {
+            summary.append(' ').append(names.get(i)).append('=').append(scores[i]);
+        }
+        summary.append(", winner ").append(game.getWinner());
+        summaries.add(summary.toString());
+        game.close();
+        game = null;
+    }
+
+    private void printSummary(long elapsedNanos) {
+        for (String summary : summaries) {
+            out.println(summary);
+        }
+        double seconds = elapsedNanos / 1e9;
+        out.printf(Locale.ROOT, "%d games, %d commands, %d rejected, %.3f s, %.0f commands/s%n",
+                summaries.size(), commands, errors, seconds, seconds > 0 ? commands / seconds : 0);
+    }
+
+    private static int[] ints(String[] words, int from) {
+        int[] values = new int[words.length - from];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Integer.parseInt(words[from + i]);
+        }
+        return values;
+    }
+
+    private static Direction direction(String word) {
+        return switch (word.toLowerCase(Locale.ROOT)) {
+            case "u" -> Direction.UP;
+            case "d" -> Direction.DOWN;
+            case "r" -> Direction.RIGHT;
+            case "l" -> Direction.LEFT;
+            default -> throw new QwirkleException("Incorrect direction " + word);
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.Move;
+import g61692.qwirkle.model.Tile;
+
+import java.util.List;
+
+/**
+ * A record representing a legal move found by the {@link MoveGenerator}.
+ *
+ * @param row       the row of the first tile
+ * @param col       the column of the first tile
+ * @param direction the direction of the line, or null for a single tile
+ * @param indexes   the indexes of the tiles in the hand, in the order of the line
+ * @param points    the points earned by the move
+ */
+public record Candidate(int row, int col, Direction direction, int[] indexes, int points) {
+
+    /**
+     * Plays this move on a grid, using the first move rules if the grid is empty.
+     *
+     * @param grid the grid to play on
+     * @param hand the hand the indexes refer to
+     * @return the points earned
+     */
+    public int apply(Grid grid, List<Tile> hand) {
+        Tile[] line = tiles(hand);
+        if (grid.isEmpty()) {
+            return grid.firstAdd(direction == null ? Direction.RIGHT : direction, line);
+        }
+        if (direction == null) {
+            return grid.add(row, col, line[0]);
+        }
+        return grid.add(row, col, direction, line);
+    }
+
+    /**
+     * Packs this move in the format of {@link Move}.
+     *
+     * @param grid the grid the move is played on, to know whether it is the first move
+     * @return the packed move
+     */
+    public long toMove(Grid grid) {
+        if (grid.isEmpty()) {
+            return Move.first(direction == null ? Direction.RIGHT : direction, indexes);
+        }
+        if (direction == null) {
+            return Move.single(row, col, indexes[0]);
+        }
+        return Move.line(row, col, direction, indexes);
+    }
+
+    /**
+     * Returns the tiles of this move.
+     *
+     * @param hand the hand the indexes refer to
+     * @return the tiles, in the order of the line
+     */
+    public Tile[] tiles(List<Tile> hand) {
+        Tile[] line = new Tile[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            line[i] = hand.get(indexes[i]);
+        }
+        return line;
+    }
+}
@@ -0,0 +1,270 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.QwirkleException;
+import g61692.qwirkle.model.Tile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * A Heuristic rates the moves of a bot: the points a move earns, plus a weighted sum of
+ * features describing what the move leaves behind.
+ * <ul>
+ * <li>{@code linePotential}: the length of the longest line left in the hand;</li>
+ * <li>{@code handDiversity}: the number of different tiles left in the hand;</li>
+ * <li>{@code qwirkleSetup}: the lines of the move that miss only one tile to be a qwirkle;</li>
+ * <li>{@code exposure}: the free cells next to the tiles of the move, open to the opponents.</li>
+ * </ul>
+ * The weights are tuned by self-play with {@link WeightTuner} and saved in a properties file.
+ * The bots, such as the {@link HintService}, load the file named by the system property
+ * {@value #WEIGHTS_PROPERTY}, or the resource {@value #RESOURCE}, and fall back on
+ * {@link #DEFAULT} when neither exists.
+ */
+public final class Heuristic {
+
+    /**
+     * The names of the features, in the order of the weights.
+     */
+    public static final List<String> FEATURES = List.of("linePotential", "handDiversity", "qwirkleSetup", "exposure");
+
+    /**
+     * The system property naming the weight file.
+     */
+    public static final String WEIGHTS_PROPERTY = "qwirkle.weights";
+
+    /**
+     * The resource holding the weights shipped with the game.
+     */
+    public static final String RESOURCE = "/weights.properties";
+
+    /**
+     * Weights that ignore every feature: the bot plays greedily.
+     */
+    public static final Heuristic GREEDY = new Heuristic(0, 0, 0, 0);
+
+    /**
+     * Hand-picked weights used when no weight file is found.
+     */
+    public static final Heuristic DEFAULT = new Heuristic(0.5, 0.3, -1.0, -0.1);
+
+    private final double[] weights;
+    private final boolean greedy;
+
+    /**
+     * Creates a heuristic.
+     *
+     * @param weights one weight per feature, in the order of {@link #FEATURES}
+     * @throws QwirkleException if the number of weights is not the number of features
+     */
+    public Heuristic(double... weights) {
+        if (weights.length != FEATURES.size()) {
+            throw new QwirkleException("A heuristic needs " + FEATURES.size() + " weights");
+        }
+        this.weights = weights.clone();
+        greedy = Arrays.stream(weights).allMatch(w -> w == 0);
+    }
+
+    /**
+     * Returns the weights of the heuristic.
+     *
+     * @return a copy of the weights, in the order of {@link #FEATURES}
+     */
+    public double[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * Rates a move of a hand on a grid. The grid is not modified.
+     *
+     * @param grid the grid before the move
+     * @param hand the hand of the player
+     * @param move a legal move of the hand
+     * @return the points of the move plus the weighted features
+     */
+    public double evaluate(Grid grid, List<Tile> hand, Candidate move) {
+        Grid after = new Grid(grid);
+        move.apply(after, hand);
+        double value = move.points();
+        double[] features = features(after, hand, move);
+        for (int i = 0; i < weights.length; i++) {
+            value += weights[i] * features[i];
+        }
+        return value;
+    }
+
+    /**
+     * Rates a move, skipping the features when every weight is zero.
+     *
+     * @param grid the grid before the move
+     * @param hand the hand of the player
+     * @param move a legal move of the hand
+     * @return the rating of the move, its points for {@link #GREEDY}
+     */
+    public double rate(Grid grid, List<Tile> hand, Candidate move) {
+        return greedy ? move.points() : evaluate(grid, hand, move);
+    }
+
+    /**
+     * Returns the move of the hand with the best rating.
+     *
+     * @param grid the grid to play on
+     * @param hand the hand of the player
+     * @return the best move, or null if the hand cannot be played
+     */
+    public Candidate best(Grid grid, List<Tile> hand) {
+        Candidate best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Candidate move : MoveGenerator.generate(grid, hand)) {
+            double value = rate(grid, hand, move);
+            if (value > bestValue) {
+                best = move;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Computes the features of a move once it has been played.
+     *
+     * @param after the grid after the move
+     * @param hand  the hand before the move
+     * @param move  the move
+     * @return the features, in the order of {@link #FEATURES}
+     */
+    static double[] features(Grid after, List<Tile> hand, Candidate move) {
+        List<Tile> rest = new ArrayList<>(hand);
+        int[] played = move.indexes().clone();
+        Arrays.sort(played);
+        for (int i = played.length - 1; i >= 0; i--) {
+            rest.remove(played[i]);
+        }
+
+        int longest = 0;
+        for (int[] line : MoveGenerator.lines(rest, after.getRules().getLineLength())) {
+            longest = Math.max(longest, line.length);
+        }
+        int distinct = (int) rest.stream().distinct().count();
+
+        int lineLength = after.getRules().getLineLength();
+        Direction d = move.direction() == null ? Direction.RIGHT : move.direction();
+        int setups = 0;
+        int exposure = 0;
+        int row = move.row();
+        int col = move.col();
+        for (int i = 0; i < played.length; i++) {
+            int r = row + i * d.getDeltaRow();
+            int c = col + i * d.getDeltaCol();
+            // la ligne de la pose n'est comptée qu'une fois, sur sa première tuile
+            if (i == 0 && run(after, r, c, d.getDeltaRow(), d.getDeltaCol()) == lineLength - 1) {
+                setups++;
+            }
+            if (run(after, r, c, d.getDeltaCol(), d.getDeltaRow()) == lineLength - 1) {
+                setups++;
+            }
+            exposure += free(after, r - 1, c) + free(after, r + 1, c) + free(after, r, c - 1) + free(after, r, c + 1);
+        }
+        return new double[]{longest, distinct, setups, exposure};
+    }
+
+    /**
+     * Returns the number of tiles of the line through a cell in a direction and its opposite.
+     */
+    private static int run(Grid grid, int row, int col, int deltaRow, int deltaCol) {
+        int length = 1;
+        for (int r = row + deltaRow, c = col + deltaCol; grid.get(r, c) != null; r += deltaRow, c += deltaCol) {
+            length++;
+        }
+        for (int r = row - deltaRow, c = col - deltaCol; grid.get(r, c) != null; r -= deltaRow, c -= deltaCol) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int free(Grid grid, int row, int col) {
+        return row >= 0 && col >= 0 && row < grid.size() && col < grid.size() && grid.get(row, col) == null ? 1 : 0;
+    }
+
+    /**
+     * Loads the weights the bots use: from the file named by {@value #WEIGHTS_PROPERTY},
+     * otherwise from the resource {@value #RESOURCE}, otherwise {@link #DEFAULT}.
+     *
+     * @return the heuristic of the bots
+     * @throws QwirkleException if a weight file exists but cannot be read
+     */
+    public static Heuristic load() {
+        String file = System.getProperty(WEIGHTS_PROPERTY);
+        try {
+            if (file != null) {
+                try (InputStream in = Files.newInputStream(Path.of(file))) {
+                    return read(in);
+                }
+            }
+            try (InputStream in = Heuristic.class.getResourceAsStream(RESOURCE)) {
+                return in == null ? DEFAULT : read(in);
+            }
+        } catch (IOException e) {
+            throw new QwirkleException("Erreur de lecture des poids : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads weights written by {@link #write(OutputStream, String)}.
+     *
+     * @param in the stream of the weight file
+     * @return the heuristic
+     * @throws IOException if the stream cannot be read
+     * @throws QwirkleException if a weight is missing or is not a number
+     */
+    public static Heuristic read(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        double[] weights = new double[FEATURES.size()];
+        for (int i = 0; i < weights.length; i++) {
+            String value = properties.getProperty(FEATURES.get(i));
+            if (value == null) {
+                throw new QwirkleException("The weight " + FEATURES.get(i) + " is missing");
+            }
+            try {
+                weights[i] = Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                throw new QwirkleException("The weight " + FEATURES.get(i) + " is not a number");
+            }
+        }
+        return new Heuristic(weights);
+    }
+
+    /**
+     * Writes the weights as a properties file.
+     *
+     * @param out     the stream to write to
+     * @param comment a comment written at the top of the file, or null
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(OutputStream out, String comment) throws IOException {
+        Properties properties = new Properties();
+        for (int i = 0; i < weights.length; i++) {
+            properties.setProperty(FEATURES.get(i), Double.toString(weights[i]));
+        }
+        properties.store(out, comment);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < weights.length; i++) {
+            sb.append(i == 0 ? "" : ", ").append(FEATURES.get(i)).append('=').append(String.format(Locale.ROOT, "%.4f", weights[i]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,293 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.GridView;
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The HintService looks for a good move for a player on a background thread,
+ * within a time budget, so that the console stays responsive.
+ * <p>
+ * The search is anytime: a best move is known as soon as the first step is done, and each
+ * following step can only improve it. The moves are rated by the {@link Heuristic} of the bots.
+ * It first deepens by the number of tiles of the moves (single tiles, then lines of two tiles,
+ * and so on), then spends the remaining time sampling plausible hands of the next player with
+ * a {@link TileTracker}, to prefer the moves that leave the opponent the fewest points. When the budget runs out, or when the hint is
+ * cancelled because the player has moved, the best move found so far is kept.
+ */
+public class HintService implements AutoCloseable {
+
+    /**
+     * The system property giving the budget of a hint, in milliseconds.
+     */
+    public static final String BUDGET_PROPERTY = "qwirkle.hint.ms";
+
+    private static final long DEFAULT_BUDGET = 2000;
+    private static final int REFINED_MOVES = 8;
+
+    private final long budgetMillis;
+    private final Heuristic heuristic;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "qwirkle-hint");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Hint current;
+
+    /**
+     * Creates a hint service with the budget of the system property {@value #BUDGET_PROPERTY},
+     * or two seconds if it is not set, rating the moves with the weights of {@link Heuristic#load()}.
+     *
+     * @throws g61692.qwirkle.model.QwirkleException if a weight file exists but cannot be read
+     */
+    public HintService() {
+        this(Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET));
+    }
+
+    /**
+     * Creates a hint service with a given budget, rating the moves with the weights of
+     * {@link Heuristic#load()}.
+     *
+     * @param budgetMillis the time given to each hint, in milliseconds
+     * @throws g61692.qwirkle.model.QwirkleException if a weight file exists but cannot be read
+     */
+    public HintService(long budgetMillis) {
+        this(budgetMillis, Heuristic.load());
+    }
+
+    /**
+     * Creates a hint service with a given budget and heuristic.
+     *
+     * @param budgetMillis the time given to each hint, in milliseconds
+     * @param heuristic    the rating of the moves
+     */
+    public HintService(long budgetMillis, Heuristic heuristic) {
+        this.budgetMillis = Math.max(1, budgetMillis);
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Returns the time given to each hint.
+     *
+     * @return the budget in milliseconds
+     */
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Starts looking for a move, cancelling the hint in progress if any. The method returns
+     * at once; the grid and the hand are copied, so the game can go on during the search.
+     *
+     * @param grid     the grid of the game
+     * @param hand     the hand of the player
+     * @param players  the number of players of the game
+     * @param whenDone called on the worker thread with the best move, or null if there is none,
+     *                 unless the hint is cancelled
+     * @return the hint, to cancel it or wait for it
+     */
+    public synchronized Hint request(Grid grid, List<Tile> hand, int players, Consumer<Candidate> whenDone) {
+        cancel();
+        Hint hint = new Hint(new Grid(grid), new ArrayList<>(hand), players, whenDone);
+        current = hint;
+        worker.execute(hint::search);
+        return hint;
+    }
+
+    /**
+     * Cancels the hint in progress, typically because the player has moved.
+     */
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancel();
+            current = null;
+        }
+    }
+
+    /**
+     * Stops the worker thread.
+     */
+    @Override
+    public void close() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    /**
+     * One search for a move, whose best result so far can be read at any time.
+     */
+    public final class Hint {
+
+        private final Grid grid;
+        private final List<Tile> hand;
+        private final int players;
+        private final Consumer<Candidate> whenDone;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Candidate best;
+        private volatile boolean cancelled;
+        private long deadline;
+
+        private Hint(Grid grid, List<Tile> hand, int players, Consumer<Candidate> whenDone) {
+            this.grid = grid;
+            this.hand = hand;
+            this.players = players;
+            this.whenDone = whenDone;
+        }
+
+        /**
+         * Returns the best move found so far.
+         *
+         * @return the best move, or null if none has been found yet
+         */
+        public Candidate getBest() {
+            return best;
+        }
+
+        /**
+         * Returns the grid the hint is computed on, to encode its move.
+         *
+         * @return the copy of the grid
+         */
+        public Grid getGrid() {
+            return grid;
+        }
+
+        /**
+         * Returns whether the search is over.
+         *
+         * @return true if the search has finished or has been cancelled
+         */
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        /**
+         * Stops the search. The best move found so far stays available, but the
+         * callback is not called.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Waits for the end of the search.
+         *
+         * @return the best move found
+         * @throws InterruptedException if the waiting thread is interrupted
+         */
+        public Candidate await() throws InterruptedException {
+            done.await();
+            return best;
+        }
+
+        private boolean stopped() {
+            return cancelled || System.nanoTime() >= deadline;
+        }
+
+        private void search() {
+            deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+            try {
+                if (!cancelled) {
+                    List<Candidate> moves = deepen();
+                    if (moves.size() > 1 && !stopped()) {
+                        refine(moves);
+                    }
+                }
+            } finally {
+                done.countDown();
+            }
+            if (!cancelled && whenDone != null) {
+                whenDone.accept(best);
+            }
+        }
+
+        /**
+         * Looks for the best move with one more tile at each step, as long as time remains.
+         *
+         * @return the moves found by the last step
+         */
+        private List<Candidate> deepen() {
+            RuleSet rules = grid.getRules();
+            if (grid.isEmpty() && rules.equals(RuleSet.STANDARD) && hand.size() == 6) {
+                int[] line = OpeningBook.getInstance().lookup(hand);
+                if (line != null) {
+                    best = new Candidate(rules.getStartRow(), rules.getStartCol(), Direction.RIGHT, line, line.length);
+                    return List.of();
+                }
+            }
+            List<Candidate> moves = List.of();
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int length = 1; length <= rules.getLineLength() && !stopped(); length++) {
+                moves = MoveGenerator.generate(grid, hand, length, this::stopped);
+                for (Candidate move : moves) {
+                    double value = heuristic.rate(grid, hand, move);
+                    if (best == null || value > bestValue) {
+                        best = move;
+                        bestValue = value;
+                    }
+                }
+            }
+            return moves;
+        }
+
+        /**
+         * Plays the best rated moves against sampled hands of the next player, and keeps the move
+         * with the best average of its rating minus the points of the best reply.
+         *
+         * @param moves the legal moves
+         */
+        private void refine(List<Candidate> moves) {
+            Map<Candidate, Double> ratings = new IdentityHashMap<>();
+            for (Candidate move : moves) {
+                ratings.put(move, heuristic.rate(grid, hand, move));
+            }
+            List<Candidate> top = new ArrayList<>(moves);
+            top.sort(Comparator.comparingDouble((Candidate move) -> ratings.get(move)).reversed());
+            if (top.size() > REFINED_MOVES) {
+                top = top.subList(0, REFINED_MOVES);
+            }
+            int[] sizes = new int[players];
+            sizes[0] = hand.size();
+            TileTracker tracker = TileTracker.of(grid.getRules(), new GridView(grid), 0, hand, sizes);
+            int opponentHand = Math.min(6, tracker.getUnseenTotal() / Math.max(1, players - 1));
+
+            double[] total = new double[top.size()];
+            Random random = new Random(grid.snapshot().getVersion());
+            while (!stopped()) {
+                int[] counts = tracker.copyCounts();
+                List<Tile> reply = tracker.sample(counts, opponentHand, random);
+                for (int i = 0; i < top.size(); i++) {
+                    if (stopped()) {
+                        return;
+                    }
+                    Candidate move = top.get(i);
+                    Grid scratch = new Grid(grid);
+                    move.apply(scratch, hand);
+                    Candidate answer = MoveGenerator.best(scratch, reply);
+                    total[i] += ratings.get(move) - (answer == null ? 0 : answer.points());
+                }
+                int chosen = 0;
+                for (int i = 1; i < top.size(); i++) {
+                    if (total[i] > total[chosen]) {
+                        chosen = i;
+                    }
+                }
+                best = top.get(chosen);
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.Move;
+import g61692.qwirkle.model.Rejection;
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The MoveGenerator lists the legal moves of a hand on a grid: every single tile
+ * next to the tiles of the board, and every line of tiles placed from one cell in
+ * one direction. Moves are packed by {@link Move} and checked in batches by
+ * {@link Grid#evaluate(long[], List, int[])}, with the rules of the grid itself, so every
+ * candidate it returns is accepted by {@link Grid#add}.
+ */
+public final class MoveGenerator {
+
+    private static final Direction[] LINE_DIRECTIONS = {Direction.RIGHT, Direction.DOWN};
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Returns the legal move of the hand earning the most points.
+     *
+     * @param grid the grid to play on
+     * @param hand the tiles of the player
+     * @return the best move, or null if the hand cannot be played
+     */
+    public static Candidate best(Grid grid, List<Tile> hand) {
+        Candidate best = null;
+        for (Candidate candidate : generate(grid, hand)) {
+            if (best == null || candidate.points() > best.points()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Lists the legal moves of a hand on a grid.
+     *
+     * @param grid the grid to play on
+     * @param hand the tiles of the player
+     * @return the legal moves, with the points they earn
+     */
+    public static List<Candidate> generate(Grid grid, List<Tile> hand) {
+        return generate(grid, hand, grid.getRules().getLineLength(), () -> false);
+    }
+
+    /**
+     * Lists the legal moves of a hand on a grid using at most a given number of tiles,
+     * and stops early when asked to. The moves found before stopping are returned.
+     *
+     * @param grid      the grid to play on
+     * @param hand      the tiles of the player
+     * @param maxLength the maximum number of tiles of a move
+     * @param stop      checked regularly, the generation stops as soon as it returns true
+     * @return the legal moves found, with the points they earn
+     */
+    public static List<Candidate> generate(Grid grid, List<Tile> hand, int maxLength, BooleanSupplier stop) {
+        List<Candidate> result = new ArrayList<>();
+        List<int[]> lines = lines(hand, Math.min(maxLength, grid.getRules().getLineLength()));
+
+        if (grid.isEmpty()) {
+            RuleSet rules = grid.getRules();
+            for (int[] line : lines) {
+                if (isSorted(line)) {
+                    result.add(new Candidate(rules.getStartRow(), rules.getStartCol(), Direction.RIGHT, line, line.length));
+                }
+            }
+            return result;
+        }
+
+        int size = grid.size();
+        int[] compatible = new int[size * size];
+        List<Integer> anchors = anchors(grid);
+        int[] distinct = distinctIndexes(hand);
+
+        // les tuiles seules sont évaluées en un lot, les cases voisines n'étant parcourues qu'une fois
+        long[] singles = new long[anchors.size() * distinct.length];
+        int count = 0;
+        for (int cell : anchors) {
+            if (stop.getAsBoolean()) {
+                break;
+            }
+            for (int index : distinct) {
+                singles[count++] = Move.single(cell / size, cell % size, index);
+            }
+        }
+        singles = Arrays.copyOf(singles, count);
+        int[] points = new int[count];
+        grid.evaluate(singles, hand, points);
+        for (int i = 0; i < count; i++) {
+            if (!Rejection.isRejected(points[i])) {
+                int row = Move.row(singles[i]);
+                int col = Move.col(singles[i]);
+                int index = Move.index(singles[i], 0);
+                compatible[row * size + col] |= 1 << index;
+                result.add(new Candidate(row, col, null, new int[]{index}, points[i]));
+            }
+        }
+        if (stop.getAsBoolean()) {
+            return result;
+        }
+
+        Set<Long> tried = new HashSet<>();
+        List<int[]> triedLines = new ArrayList<>();
+        long[] moves = new long[64];
+        count = 0;
+        search:
+        for (int cell : anchors) {
+            if (stop.getAsBoolean()) {
+                break;
+            }
+            for (Direction d : LINE_DIRECTIONS) {
+                for (int[] line : lines) {
+                    if (line.length < 2) {
+                        continue;
+                    }
+                    for (int j = 0; j < line.length; j++) {
+                        int row = cell / size - j * d.getDeltaRow();
+                        int col = cell % size - j * d.getDeltaCol();
+                        if (!fits(grid, compatible, row, col, d, line)) {
+                            continue;
+                        }
+                        long move = Move.line(row, col, d, line);
+                        if (tried.add(move)) {
+                            if (count == moves.length) {
+                                moves = Arrays.copyOf(moves, 2 * count);
+                            }
+                            moves[count++] = move;
+                            triedLines.add(line);
+                        }
+                    }
+                }
+                if (stop.getAsBoolean()) {
+                    break search;
+                }
+            }
+        }
+        moves = Arrays.copyOf(moves, count);
+        points = new int[count];
+        grid.evaluate(moves, hand, points);
+        for (int i = 0; i < count; i++) {
+            if (!Rejection.isRejected(points[i])) {
+                result.add(new Candidate(Move.row(moves[i]), Move.col(moves[i]), Move.direction(moves[i]),
+                        triedLines.get(i), points[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the free cells touching at least one tile of the grid, as row * size + col.
+     *
+     * @param grid the grid
+     * @return the anchor cells
+     */
+    static List<Integer> anchors(Grid grid) {
+        int size = grid.size();
+        List<Integer> anchors = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (grid.get(row, col) == null && hasNeighbour(grid, row, col)) {
+                    anchors.add(row * size + col);
+                }
+            }
+        }
+        return anchors;
+    }
+
+    /**
+     * Returns whether a line could be placed from a cell: every cell must be free, and
+     * the tile of every cell touching the board must be playable there on its own.
+     */
+    private static boolean fits(Grid grid, int[] compatible, int row, int col, Direction d, int[] line) {
+        int size = grid.size();
+        for (int index : line) {
+            if (row < 0 || col < 0 || row >= size || col >= size || grid.get(row, col) != null) {
+                return false;
+            }
+            if (hasNeighbour(grid, row, col) && (compatible[row * size + col] & (1 << index)) == 0) {
+                return false;
+            }
+            row += d.getDeltaRow();
+            col += d.getDeltaCol();
+        }
+        return true;
+    }
+
+    private static boolean hasNeighbour(Grid grid, int row, int col) {
+        return grid.get(row - 1, col) != null || grid.get(row + 1, col) != null
+                || grid.get(row, col - 1) != null || grid.get(row, col + 1) != null;
+    }
+
+    /**
+     * Lists every ordered sequence of different tiles of the hand that forms a valid line.
+     * Identical tiles are only used through their first index.
+     *
+     * @param hand       the tiles of the player
+     * @param lineLength the maximum length of a line
+     * @return the sequences of hand indexes
+     */
+    static List<int[]> lines(List<Tile> hand, int lineLength) {
+        List<int[]> lines = new ArrayList<>();
+        int[] distinct = distinctIndexes(hand);
+        extend(hand, distinct, new int[Math.min(lineLength, distinct.length)], 0, 0, 0, 0, lines);
+        return lines;
+    }
+
+    private static void extend(List<Tile> hand, int[] distinct, int[] current, int length,
+                               int used, int colorMask, int shapeMask, List<int[]> lines) {
+        if (length > 0) {
+            int[] line = new int[length];
+            System.arraycopy(current, 0, line, 0, length);
+            lines.add(line);
+        }
+        if (length == current.length) {
+            return;
+        }
+        for (int index : distinct) {
+            if ((used & (1 << index)) != 0) {
+                continue;
+            }
+            Tile tile = hand.get(index);
+            int colors = colorMask | 1 << tile.color().ordinal();
+            int shapes = shapeMask | 1 << tile.shape().ordinal();
+            if (RuleSet.isLine(colors, shapes, length + 1)) {
+                current[length] = index;
+                extend(hand, distinct, current, length + 1, used | 1 << index, colors, shapes, lines);
+            }
+        }
+    }
+
+    private static int[] distinctIndexes(List<Tile> hand) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < hand.size(); i++) {
+            if (hand.indexOf(hand.get(i)) == i) {
+                indexes.add(i);
+            }
+        }
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean isSorted(int[] line) {
+        for (int i = 1; i < line.length; i++) {
+            if (line[i - 1] > line[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
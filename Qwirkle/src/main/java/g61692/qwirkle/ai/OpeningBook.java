@@ -0,0 +1,261 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.QwirkleException;
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The OpeningBook gives the best first move of the game for any hand of the standard rules.
+ * <p>
+ * Two hands are equivalent when one can be turned into the other by renaming colors and
+ * shapes, which leaves only a few hundred classes of six-tile hands. The book, computed
+ * offline by {@link OpeningBookGenerator}, stores the best line for each class, so the
+ * first move is a table lookup. It is read from the classpath the first time it is needed.
+ * <p>
+ * A book entry names the line in the canonical form of the hand: either all the shapes of
+ * one color (a row of the canonical matrix) or all the colors of one shape (a column).
+ */
+public final class OpeningBook {
+
+    /**
+     * The name of the resource holding the book.
+     */
+    public static final String RESOURCE = "/opening_book.bin";
+
+    /**
+     * The magic number at the start of a book file.
+     */
+    static final int MAGIC = 0x514F4231;
+
+    /**
+     * The flag of a move made of all the colors of one shape.
+     */
+    static final int LINE_OF_SHAPE = 8;
+
+    private static final int TYPES = 6;
+    private static final int[][][] PERMUTATIONS = new int[TYPES + 1][][];
+
+    static {
+        for (int k = 0; k <= TYPES; k++) {
+            List<int[]> perms = new ArrayList<>();
+            permute(new int[k], new boolean[k], 0, perms);
+            PERMUTATIONS[k] = perms.toArray(new int[0][]);
+        }
+    }
+
+    private final long[] keys;
+    private final byte[] moves;
+
+    private OpeningBook(long[] keys, byte[] moves) {
+        this.keys = keys;
+        this.moves = moves;
+    }
+
+    private static final class Holder {
+        private static final OpeningBook INSTANCE = load();
+    }
+
+    /**
+     * Returns the book, loading it on first use.
+     *
+     * @return the opening book
+     */
+    public static OpeningBook getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the indexes of the tiles of the hand to play as the first move.
+     *
+     * @param hand the six tiles of the player, following the standard rules
+     * @return the indexes of the tiles of the best line, or null if the hand is not in the book
+     */
+    public int[] lookup(List<Tile> hand) {
+        HandClass handClass = HandClass.of(hand);
+        if (handClass == null) {
+            return null;
+        }
+        int pos = Arrays.binarySearch(keys, handClass.key);
+        if (pos < 0) {
+            return null;
+        }
+        return handClass.line(hand, moves[pos]);
+    }
+
+    /**
+     * Returns the number of hand classes in the book.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    private static OpeningBook load() {
+        try (InputStream resource = OpeningBook.class.getResourceAsStream(RESOURCE)) {
+            if (resource == null) {
+                return new OpeningBook(new long[0], new byte[0]);
+            }
+            DataInputStream in = new DataInputStream(new BufferedInputStream(resource));
+            if (in.readInt() != MAGIC) {
+                throw new QwirkleException("Invalid opening book");
+            }
+            int count = in.readInt();
+            long[] keys = new long[count];
+            byte[] moves = new byte[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = in.readLong();
+                moves[i] = in.readByte();
+            }
+            return new OpeningBook(keys, moves);
+        } catch (IOException e) {
+            throw new QwirkleException("Erreur de lecture du livre d'ouvertures");
+        }
+    }
+
+    private static void permute(int[] perm, boolean[] used, int i, List<int[]> perms) {
+        if (i == perm.length) {
+            perms.add(perm.clone());
+            return;
+        }
+        for (int v = 0; v < perm.length; v++) {
+            if (!used[v]) {
+                used[v] = true;
+                perm[i] = v;
+                permute(perm, used, i + 1, perms);
+                used[v] = false;
+            }
+        }
+    }
+
+    /**
+     * The canonical form of a hand: the smallest encoding of its tiles over every renaming
+     * of its colors, shapes being sorted after each renaming.
+     */
+    static final class HandClass {
+
+        final long key;
+        final int[] rowOfColor;
+        final int[] columnOfShape;
+
+        private HandClass(long key, int[] rowOfColor, int[] columnOfShape) {
+            this.key = key;
+            this.rowOfColor = rowOfColor;
+            this.columnOfShape = columnOfShape;
+        }
+
+        /**
+         * Computes the class of a hand.
+         *
+         * @param hand the tiles of the hand
+         * @return the class, or null if the hand does not follow the standard rules
+         */
+        static HandClass of(List<Tile> hand) {
+            if (hand.isEmpty() || hand.size() > TYPES) {
+                return null;
+            }
+            int[] colorIndex = new int[TYPES];
+            Arrays.fill(colorIndex, -1);
+            int used = 0;
+            for (Tile tile : hand) {
+                if (!RuleSet.STANDARD.contains(tile)) {
+                    return null;
+                }
+                if (colorIndex[tile.color().ordinal()] < 0) {
+                    colorIndex[tile.color().ordinal()] = used++;
+                }
+            }
+
+            long bestKey = Long.MAX_VALUE;
+            int[] bestRows = null;
+            int[] bestColumns = null;
+            int[] encoded = new int[hand.size()];
+            for (int[] perm : PERMUTATIONS[used]) {
+                int[] column = new int[TYPES];
+                for (Tile tile : hand) {
+                    int row = perm[colorIndex[tile.color().ordinal()]];
+                    column[tile.shape().ordinal()] += 1 << (2 * (TYPES - 1 - row));
+                }
+                int[] rank = rank(column);
+                for (int i = 0; i < encoded.length; i++) {
+                    Tile tile = hand.get(i);
+                    encoded[i] = perm[colorIndex[tile.color().ordinal()]] * TYPES + rank[tile.shape().ordinal()];
+                }
+                Arrays.sort(encoded);
+                long key = encoded.length;
+                for (int value : encoded) {
+                    key = key << 6 | value;
+                }
+                if (key < bestKey) {
+                    bestKey = key;
+                    bestRows = new int[TYPES];
+                    Arrays.fill(bestRows, -1);
+                    for (int c = 0; c < TYPES; c++) {
+                        if (colorIndex[c] >= 0) {
+                            bestRows[c] = perm[colorIndex[c]];
+                        }
+                    }
+                    bestColumns = rank;
+                }
+            }
+            return new HandClass(bestKey, bestRows, bestColumns);
+        }
+
+        /**
+         * Orders the shapes by decreasing column, the first shape of a tie first.
+         *
+         * @param column the content of each column, two bits per row
+         * @return the canonical column of each shape
+         */
+        private static int[] rank(int[] column) {
+            int[] order = {0, 1, 2, 3, 4, 5};
+            for (int i = 1; i < TYPES; i++) {
+                int shape = order[i];
+                int j = i - 1;
+                while (j >= 0 && column[order[j]] < column[shape]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = shape;
+            }
+            int[] rank = new int[TYPES];
+            for (int i = 0; i < TYPES; i++) {
+                rank[order[i]] = i;
+            }
+            return rank;
+        }
+
+        /**
+         * Translates a book move back to the tiles of the hand.
+         *
+         * @param hand the tiles of the hand
+         * @param move the move, in canonical coordinates
+         * @return the indexes of one tile of each shape of the row, or of each color of the column
+         */
+        int[] line(List<Tile> hand, int move) {
+            boolean byShape = (move & LINE_OF_SHAPE) != 0;
+            int target = move & (LINE_OF_SHAPE - 1);
+            List<Integer> indexes = new ArrayList<>();
+            int seen = 0;
+            for (int i = 0; i < hand.size(); i++) {
+                Tile tile = hand.get(i);
+                boolean inLine = byShape ? columnOfShape[tile.shape().ordinal()] == target
+                        : rowOfColor[tile.color().ordinal()] == target;
+                int bit = 1 << (byShape ? tile.color().ordinal() : tile.shape().ordinal());
+                if (inLine && (seen & bit) == 0) {
+                    seen |= bit;
+                    indexes.add(i);
+                }
+            }
+            return indexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Offline tool computing the {@link OpeningBook}.
+ * <p>
+ * It enumerates every class of six-tile hands and, for each one, compares the longest
+ * lines the hand can open with. Each line is evaluated by self-play: after the opening,
+ * both players play greedily for a few turns, and the line keeping the best average
+ * lead is written in the book. All the lines of a hand are evaluated on the same
+ * seeds, so they face exactly the same draws.
+ * <p>
+ * Usage: {@code OpeningBookGenerator [file] [rollouts] [depth] [seed]}
+ */
+public final class OpeningBookGenerator {
+
+    private OpeningBookGenerator() {
+    }
+
+    /**
+     * Generates the book.
+     *
+     * @param args the output file, the number of games per line, the number of turns played
+     *             after the opening, and the seed of the first game
+     * @throws IOException if the book cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        String file = args.length > 0 ? args[0] : "src/main/resources/opening_book.bin";
+        int rollouts = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+        Map<Long, List<Tile>> classes = enumerateClasses();
+        System.out.println(classes.size() + " hand classes");
+
+        long[] keys = new long[classes.size()];
+        byte[] moves = new byte[classes.size()];
+        int i = 0;
+        for (Map.Entry<Long, List<Tile>> entry : classes.entrySet()) {
+            keys[i] = entry.getKey();
+            moves[i] = (byte) bestMove(entry.getValue(), rollouts, depth, seed);
+            i++;
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(keys.length);
+            for (int j = 0; j < keys.length; j++) {
+                out.writeLong(keys[j]);
+                out.writeByte(moves[j]);
+            }
+        }
+        System.out.println("Opening book written to " + file);
+    }
+
+    /**
+     * Lists one hand of every class. Colors and shapes can be renamed freely, so only the
+     * hands using the first colors and the first shapes need to be enumerated.
+     *
+     * @return a representative hand for each class key, by increasing key
+     */
+    static Map<Long, List<Tile>> enumerateClasses() {
+        RuleSet rules = RuleSet.STANDARD;
+        int types = rules.getTileTypes();
+        Map<Long, List<Tile>> classes = new TreeMap<>();
+        int[] ids = new int[6];
+        enumerate(rules, types, ids, 0, 0, classes);
+        return classes;
+    }
+
+    private static void enumerate(RuleSet rules, int types, int[] ids, int pos, int from, Map<Long, List<Tile>> classes) {
+        if (pos == ids.length) {
+            int colors = 0;
+            int shapes = 0;
+            for (int id : ids) {
+                colors |= 1 << (id / rules.getShapes());
+                shapes |= 1 << (id % rules.getShapes());
+            }
+            if ((colors & (colors + 1)) != 0 || (shapes & (shapes + 1)) != 0) {
+                return;
+            }
+            List<Tile> hand = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                hand.add(rules.tile(id));
+            }
+            classes.putIfAbsent(OpeningBook.HandClass.of(hand).key, hand);
+            return;
+        }
+        for (int id = from; id < types; id++) {
+            if (pos >= rules.getCopies() && ids[pos - rules.getCopies()] == id) {
+                continue;
+            }
+            ids[pos] = id;
+            enumerate(rules, types, ids, pos + 1, id, classes);
+        }
+    }
+
+    /**
+     * Chooses the best opening of a hand.
+     *
+     * @param hand     a hand of the class
+     * @param rollouts the number of games played for each line
+     * @param depth    the number of turns played after the opening
+     * @param seed     the seed of the first game
+     * @return the best move, in canonical coordinates
+     */
+    static int bestMove(List<Tile> hand, int rollouts, int depth, long seed) {
+        OpeningBook.HandClass handClass = OpeningBook.HandClass.of(hand);
+        List<Integer> candidates = new ArrayList<>();
+        List<int[]> lines = new ArrayList<>();
+        int longest = 0;
+        for (int move = 0; move < 2 * OpeningBook.LINE_OF_SHAPE; move++) {
+            if ((move & (OpeningBook.LINE_OF_SHAPE - 1)) >= 6) {
+                continue;
+            }
+            int[] line = handClass.line(hand, move);
+            longest = Math.max(longest, line.length);
+            if (line.length > 0 && lines.stream().noneMatch(other -> sameTiles(other, line))) {
+                candidates.add(move);
+                lines.add(line);
+            }
+        }
+
+        int best = -1;
+        int bestLength = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < candidates.size(); c++) {
+            int[] line = lines.get(c);
+            if (line.length < longest - 1) {
+                continue;
+            }
+            double value = candidates.size() == 1 ? 0 : evaluate(hand, line, rollouts, depth, seed);
+            if (value > bestValue || (value == bestValue && line.length > bestLength)) {
+                best = candidates.get(c);
+                bestLength = line.length;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the average lead of the first player after opening with a line.
+     */
+    private static double evaluate(List<Tile> hand, int[] line, int rollouts, int depth, long seed) {
+        long total = 0;
+        for (int r = 0; r < rollouts; r++) {
+            Simulation simulation = new Simulation(2, seed + r, hand);
+            int start = simulation.getGrid().getRules().getStartRow();
+            simulation.play(new Candidate(start, start, Direction.RIGHT, line, line.length));
+            for (int turn = 0; turn < depth && !simulation.isOver(); turn++) {
+                simulation.playGreedy();
+            }
+            total += simulation.getScore(0) - simulation.getScore(1);
+        }
+        return (double) total / rollouts;
+    }
+
+    private static boolean sameTiles(int[] a, int[] b) {
+        int[] x = a.clone();
+        int[] y = b.clone();
+        Arrays.sort(x);
+        Arrays.sort(y);
+        return Arrays.equals(x, y);
+    }
+}
@@ -0,0 +1,98 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+import g61692.qwirkle.model.TileAtPosition;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A record representing a "best move" puzzle: a position of the standard rules where one
+ * move earns far more points than any other.
+ * <p>
+ * In a puzzle file, a puzzle takes a few bytes per tile: the number of tiles of the board,
+ * each tile as its row, its column and its {@link RuleSet#tileId identifier}, then the hand,
+ * the solution packed by {@link g61692.qwirkle.model.Move} and the points of the two best moves.
+ *
+ * @param board        the tiles of the board
+ * @param hand         the hand of the player to move
+ * @param solution     the best move, packed by {@link g61692.qwirkle.model.Move}
+ * @param points       the points of the best move
+ * @param secondPoints the points of the second best move
+ */
+public record Puzzle(List<TileAtPosition> board, List<Tile> hand, long solution, int points, int secondPoints) {
+
+    /**
+     * Returns the tiles of a grid.
+     *
+     * @param grid the grid
+     * @return the tiles with their positions, row by row
+     */
+    static List<TileAtPosition> tilesOf(Grid grid) {
+        List<TileAtPosition> tiles = new ArrayList<>();
+        for (int row = 0; row < grid.size(); row++) {
+            for (int col = 0; col < grid.size(); col++) {
+                Tile tile = grid.get(row, col);
+                if (tile != null) {
+                    tiles.add(new TileAtPosition(row, col, tile));
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Writes the puzzle in its compact form.
+     *
+     * @param out the output
+     * @throws IOException if the output cannot be written
+     */
+    public void write(DataOutput out) throws IOException {
+        RuleSet rules = RuleSet.STANDARD;
+        out.writeShort(board.size());
+        for (TileAtPosition tile : board) {
+            out.writeByte(tile.row());
+            out.writeByte(tile.col());
+            out.writeByte(rules.tileId(tile.tile()));
+        }
+        out.writeByte(hand.size());
+        for (Tile tile : hand) {
+            out.writeByte(rules.tileId(tile));
+        }
+        out.writeLong(solution);
+        out.writeShort(points);
+        out.writeShort(secondPoints);
+    }
+
+    /**
+     * Reads a puzzle written by {@link #write(DataOutput)}.
+     *
+     * @param in the input
+     * @return the puzzle
+     * @throws IOException if the input cannot be read
+     */
+    public static Puzzle read(DataInput in) throws IOException {
+        RuleSet rules = RuleSet.STANDARD;
+        int size = in.readUnsignedShort();
+        List<TileAtPosition> board = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int row = in.readUnsignedByte();
+            int col = in.readUnsignedByte();
+            board.add(new TileAtPosition(row, col, rules.tile(in.readUnsignedByte())));
+        }
+        int handSize = in.readUnsignedByte();
+        List<Tile> hand = new ArrayList<>(handSize);
+        for (int i = 0; i < handSize; i++) {
+            hand.add(rules.tile(in.readUnsignedByte()));
+        }
+        long solution = in.readLong();
+        int points = in.readUnsignedShort();
+        int secondPoints = in.readUnsignedShort();
+        return new Puzzle(List.copyOf(board), List.copyOf(hand), solution, points, secondPoints);
+    }
+}
@@ -0,0 +1,200 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.Tile;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Offline tool mining self-play games for "best move" puzzles: positions where the best
+ * move earns at least a given number of points more than every other move, such as a
+ * qwirkle hidden behind a gap to fill.
+ * <p>
+ * Games are played greedily, and every position is scored exhaustively with the
+ * {@link MoveGenerator}. They are played by chunks on all the cores of the machine, and only
+ * the puzzles of the current chunk are kept in memory. After each chunk, the puzzles are
+ * appended to the puzzle file and the progress is saved next to it, so an interrupted run
+ * started again with the same arguments goes on where it stopped, dropping anything written
+ * after the last saved chunk.
+ * <p>
+ * The puzzle file starts with {@link #MAGIC}, the seed and the margin, followed by the puzzles
+ * written by {@link Puzzle#write}.
+ * <p>
+ * Usage: {@code PuzzleMiner [file] [games] [margin] [seed] [chunk]}
+ */
+public final class PuzzleMiner {
+
+    /**
+     * The first int of a puzzle file, "QPZ1".
+     */
+    public static final int MAGIC = 0x51505A31;
+
+    private final long seed;
+    private final int margin;
+
+    /**
+     * Creates a miner.
+     *
+     * @param seed   the seed of the run, from which every game is derived
+     * @param margin the minimum lead of the best move over the second best
+     */
+    public PuzzleMiner(long seed, int margin) {
+        this.seed = seed;
+        this.margin = margin;
+    }
+
+    /**
+     * Runs the miner.
+     *
+     * @param args the puzzle file, the number of games, the margin, the seed and the number
+     *             of games per chunk
+     * @throws IOException if the puzzle file or the progress cannot be written
+     * @throws InterruptedException if the run is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path file = Path.of(args.length > 0 ? args[0] : "puzzles.bin");
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+        int margin = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        int chunk = args.length > 4 ? Integer.parseInt(args[4]) : 256;
+        Path progress = Path.of(file + ".progress");
+
+        long next = 0;
+        long length = 0;
+        long found = 0;
+        if (Files.exists(progress) && Files.exists(file)) {
+            Properties state = new Properties();
+            try (InputStream in = Files.newInputStream(progress)) {
+                state.load(in);
+            }
+            if (Long.parseLong(state.getProperty("seed")) == seed
+                    && Integer.parseInt(state.getProperty("margin")) == margin) {
+                next = Long.parseLong(state.getProperty("next"));
+                length = Long.parseLong(state.getProperty("length"));
+                found = Long.parseLong(state.getProperty("puzzles"));
+                System.out.println("Reprise à la partie " + next + " (" + found + " puzzles)");
+            }
+        }
+        if (length == 0) {
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file.toFile()))) {
+                out.writeInt(MAGIC);
+                out.writeLong(seed);
+                out.writeInt(margin);
+            }
+            length = Files.size(file);
+        } else {
+            // ce qui a été écrit après la dernière sauvegarde de la progression est perdu
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(length);
+            }
+        }
+
+        PuzzleMiner miner = new PuzzleMiner(seed, margin);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        long played = 0;
+        try {
+            while (next < games) {
+                long from = next;
+                long to = Math.min(games, from + chunk);
+                List<List<Puzzle>> results;
+                try {
+                    results = pool.submit(() -> LongStream.range(from, to).parallel()
+                            .mapToObj(miner::mine).toList()).get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("A game has failed", e.getCause());
+                }
+
+                try (FileOutputStream stream = new FileOutputStream(file.toFile(), true);
+                     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                    for (List<Puzzle> puzzles : results) {
+                        for (Puzzle puzzle : puzzles) {
+                            puzzle.write(out);
+                            found++;
+                        }
+                    }
+                    out.flush();
+                    stream.getChannel().force(false);
+                }
+                next = to;
+                played += to - from;
+                saveProgress(progress, seed, margin, next, Files.size(file), found);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%d/%d parties, %d puzzles, %.1f parties/s%n", next, games, found, played / seconds);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one game greedily and returns the puzzles met on the way.
+     *
+     * @param game the number of the game, from which its seed is derived
+     * @return the puzzles of the game, in the order they were met
+     */
+    public List<Puzzle> mine(long game) {
+        Simulation simulation = new Simulation(2, seed + game * 0x9E3779B97F4A7C15L);
+        List<Puzzle> puzzles = new ArrayList<>();
+        while (!simulation.isOver()) {
+            Grid grid = simulation.getGrid();
+            List<Tile> hand = simulation.getHand(simulation.getCurrentPlayer());
+            List<Candidate> moves = MoveGenerator.generate(grid, hand);
+            Candidate best = null;
+            int second = 0;
+            for (Candidate move : moves) {
+                if (best == null || move.points() > best.points()) {
+                    if (best != null) {
+                        second = best.points();
+                    }
+                    best = move;
+                } else if (move.points() > second) {
+                    second = move.points();
+                }
+            }
+            if (best == null) {
+                simulation.pass();
+                continue;
+            }
+            if (!grid.isEmpty() && best.points() - second >= margin) {
+                puzzles.add(new Puzzle(Puzzle.tilesOf(grid), List.copyOf(hand), best.toMove(grid),
+                        best.points(), second));
+            }
+            simulation.play(best);
+        }
+        return puzzles;
+    }
+
+    /**
+     * Saves the progress of the run, replacing the previous one only once the new one is complete.
+     */
+    private static void saveProgress(Path progress, long seed, int margin, long next, long length, long found)
+            throws IOException {
+        Properties state = new Properties();
+        state.setProperty("seed", Long.toString(seed));
+        state.setProperty("margin", Integer.toString(margin));
+        state.setProperty("next", Long.toString(next));
+        state.setProperty("length", Long.toString(length));
+        state.setProperty("puzzles", Long.toString(found));
+        Path temporary = Path.of(progress + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            state.store(out, null);
+        }
+        Files.move(temporary, progress, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,225 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.QwirkleException;
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A Simulation is a lightweight game of Qwirkle played by programs.
+ * <p>
+ * Unlike {@link g61692.qwirkle.model.Game}, it owns its own pool of tiles and its own
+ * seeded random generator, so any number of simulations can run side by side, on several
+ * threads, and replay exactly the same draws from the same seed.
+ */
+public class Simulation {
+
+    private static final int HAND_SIZE = 6;
+    private static final int END_BONUS = 6;
+
+    private final Grid grid;
+    private final List<List<Tile>> hands;
+    private final int[] scores;
+    private final List<Tile> pool;
+    private final Random random;
+    private int currentPlayer;
+    private int passes;
+    private boolean over;
+
+    /**
+     * Creates a simulation with random hands.
+     *
+     * @param players the number of players
+     * @param seed    the seed of the draws
+     */
+    public Simulation(int players, long seed) {
+        this(players, seed, List.of());
+    }
+
+    /**
+     * Creates a simulation where the first player starts with the given tiles,
+     * completed with random ones, and the others with random hands.
+     *
+     * @param players   the number of players
+     * @param seed      the seed of the draws
+     * @param firstHand the tiles of the first player
+     * @throws QwirkleException if the number of players is incorrect or the tiles are not in the bag
+     */
+    public Simulation(int players, long seed, List<Tile> firstHand) {
+        if (players < 2 || players > 4) {
+            throw new QwirkleException("The number of players is incorrect");
+        }
+        RuleSet rules = RuleSet.STANDARD;
+        grid = new Grid(rules);
+        random = new Random(seed);
+        pool = new ArrayList<>(rules.getTileCount());
+        for (int i = 0; i < rules.getCopies(); i++) {
+            for (int id = 0; id < rules.getTileTypes(); id++) {
+                pool.add(rules.tile(id));
+            }
+        }
+        Collections.shuffle(pool, random);
+
+        hands = new ArrayList<>(players);
+        for (int p = 0; p < players; p++) {
+            hands.add(new ArrayList<>(HAND_SIZE));
+        }
+        for (Tile tile : firstHand) {
+            if (!pool.remove(tile)) {
+                throw new QwirkleException("The tile " + tile + " is not in the bag");
+            }
+            hands.get(0).add(tile);
+        }
+        for (List<Tile> hand : hands) {
+            refill(hand);
+        }
+        scores = new int[players];
+    }
+
+    /**
+     * Returns the grid of the simulation.
+     *
+     * @return the grid
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Returns the hand of a player.
+     *
+     * @param player the index of the player
+     * @return an unmodifiable view of the tiles of the player
+     */
+    public List<Tile> getHand(int player) {
+        return Collections.unmodifiableList(hands.get(player));
+    }
+
+    /**
+     * Returns the score of a player.
+     *
+     * @param player the index of the player
+     * @return the score
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * Returns the index of the player who must play.
+     *
+     * @return the current player
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayers() {
+        return scores.length;
+    }
+
+    /**
+     * Returns the number of tiles left in the pool.
+     *
+     * @return the size of the pool
+     */
+    public int getPoolSize() {
+        return pool.size();
+    }
+
+    /**
+     * Returns whether the game is over: a player emptied their hand once the pool was empty,
+     * or every player passed in a row.
+     *
+     * @return true if the game is over
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * Plays a move for the current player and gives the turn to the next one.
+     *
+     * @param move a legal move of the current player
+     * @return the points earned
+     */
+    public int play(Candidate move) {
+        List<Tile> hand = hands.get(currentPlayer);
+        int points = move.apply(grid, hand);
+        int[] indexes = move.indexes().clone();
+        Arrays.sort(indexes);
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            hand.remove(indexes[i]);
+        }
+        refill(hand);
+        if (hand.isEmpty()) {
+            points += END_BONUS;
+            over = true;
+        }
+        scores[currentPlayer] += points;
+        passes = 0;
+        nextPlayer();
+        return points;
+    }
+
+    /**
+     * Plays the move earning the most points for the current player, or passes if there is none.
+     *
+     * @return the points earned
+     */
+    public int playGreedy() {
+        Candidate best = MoveGenerator.best(grid, hands.get(currentPlayer));
+        if (best == null) {
+            pass();
+            return 0;
+        }
+        return play(best);
+    }
+
+    /**
+     * Plays the move of the current player rated best by a heuristic, or passes if there is none.
+     *
+     * @param heuristic the heuristic of the current player
+     * @return the points earned
+     */
+    public int play(Heuristic heuristic) {
+        Candidate best = heuristic.best(grid, hands.get(currentPlayer));
+        if (best == null) {
+            pass();
+            return 0;
+        }
+        return play(best);
+    }
+
+    /**
+     * Passes the turn of the current player.
+     */
+    public void pass() {
+        passes++;
+        if (passes >= scores.length) {
+            over = true;
+        }
+        nextPlayer();
+    }
+
+    private void nextPlayer() {
+        currentPlayer = (currentPlayer + 1) % scores.length;
+    }
+
+    private void refill(List<Tile> hand) {
+        while (hand.size() < HAND_SIZE && !pool.isEmpty()) {
+            hand.add(pool.remove(pool.size() - 1));
+        }
+    }
+}
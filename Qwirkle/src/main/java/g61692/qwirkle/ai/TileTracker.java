@@ -0,0 +1,271 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.GridView;
+import g61692.qwirkle.model.QwirkleException;
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The TileTracker infers, from the point of view of one player, where the tiles that player
+ * cannot see may be: in the bag or in the hands of the other players.
+ * <p>
+ * It keeps one counter per tile type of the {@link RuleSet}, indexed by {@link RuleSet#tileId},
+ * with the number of copies still unseen, plus the size of every hand and of the bag.
+ * Every update is O(1). The unseen tiles are assumed to be spread uniformly between the bag
+ * and the hands of the opponents, which gives the probabilities used to sample plausible
+ * hands for the search.
+ */
+public class TileTracker {
+
+    private final RuleSet rules;
+    private final int observer;
+    private final int[] unseen;
+    private final int[] handSizes;
+    private int unseenTotal;
+
+    /**
+     * Creates a tracker at the start of a game, before any tile is drawn.
+     *
+     * @param rules    the rules of the game
+     * @param players  the number of players
+     * @param observer the player whose point of view is tracked
+     * @throws QwirkleException if the observer is not one of the players
+     */
+    public TileTracker(RuleSet rules, int players, int observer) {
+        if (observer < 0 || observer >= players) {
+            throw new QwirkleException("The observer must be one of the players");
+        }
+        this.rules = rules;
+        this.observer = observer;
+        unseen = new int[rules.getTileTypes()];
+        Arrays.fill(unseen, rules.getCopies());
+        handSizes = new int[players];
+        unseenTotal = rules.getTileCount();
+    }
+
+    /**
+     * Creates a tracker for a game in progress, from what the observer can see:
+     * the grid, their own hand and the number of tiles in each hand.
+     *
+     * @param rules     the rules of the game
+     * @param grid      the grid of the game
+     * @param observer  the player whose point of view is tracked
+     * @param ownHand   the hand of the observer
+     * @param handSizes the number of tiles in the hand of each player
+     * @return the tracker of the position
+     */
+    public static TileTracker of(RuleSet rules, GridView grid, int observer, List<Tile> ownHand, int[] handSizes) {
+        TileTracker tracker = new TileTracker(rules, handSizes.length, observer);
+        for (int row = 0; row < grid.size(); row++) {
+            for (int col = 0; col < grid.size(); col++) {
+                Tile tile = grid.get(row, col);
+                if (tile != null) {
+                    tracker.reveal(tile);
+                }
+            }
+        }
+        for (Tile tile : ownHand) {
+            tracker.reveal(tile);
+        }
+        System.arraycopy(handSizes, 0, tracker.handSizes, 0, handSizes.length);
+        return tracker;
+    }
+
+    /**
+     * Records a tile drawn by the observer, who sees it.
+     *
+     * @param tile the tile drawn
+     */
+    public void ownDraw(Tile tile) {
+        reveal(tile);
+        handSizes[observer]++;
+    }
+
+    /**
+     * Records tiles drawn by another player, who keeps them hidden.
+     *
+     * @param player the player who draws
+     * @param n      the number of tiles drawn
+     */
+    public void draw(int player, int n) {
+        handSizes[player] += n;
+    }
+
+    /**
+     * Records a tile placed on the grid by a player. The tile leaves their hand and,
+     * if it was hidden until now, it is no longer unseen.
+     *
+     * @param player the player who placed the tile
+     * @param tile   the tile placed
+     */
+    public void place(int player, Tile tile) {
+        if (player != observer) {
+            reveal(tile);
+        }
+        handSizes[player]--;
+    }
+
+    /**
+     * Returns the number of copies of a tile type that the observer has not seen yet.
+     *
+     * @param id the identifier of the tile type
+     * @return the number of unseen copies
+     */
+    public int getUnseen(int id) {
+        return unseen[id];
+    }
+
+    /**
+     * Returns the number of copies of a tile that the observer has not seen yet.
+     *
+     * @param tile the tile
+     * @return the number of unseen copies
+     */
+    public int getUnseen(Tile tile) {
+        return unseen[rules.tileId(tile)];
+    }
+
+    /**
+     * Returns the number of tiles the observer has not seen, in the bag and in the other hands.
+     *
+     * @return the number of unseen tiles
+     */
+    public int getUnseenTotal() {
+        return unseenTotal;
+    }
+
+    /**
+     * Returns the number of tiles in the hand of a player.
+     *
+     * @param player the player
+     * @return the size of their hand
+     */
+    public int getHandSize(int player) {
+        return handSizes[player];
+    }
+
+    /**
+     * Returns the number of tiles left in the bag.
+     *
+     * @return the unseen tiles that are not in the hand of an opponent
+     */
+    public int getBagSize() {
+        int inHands = 0;
+        for (int player = 0; player < handSizes.length; player++) {
+            if (player != observer) {
+                inHands += handSizes[player];
+            }
+        }
+        return unseenTotal - inHands;
+    }
+
+    /**
+     * Returns the probability that a player holds at least one copy of a tile type.
+     * For the observer it is 0 or 1; for an opponent, their hand is taken as a uniform draw
+     * without replacement among the unseen tiles.
+     *
+     * @param player  the player
+     * @param id      the identifier of the tile type
+     * @param ownHand the hand of the observer, used when the player is the observer
+     * @return the probability that the player holds the tile
+     */
+    public double getHoldProbability(int player, int id, List<Tile> ownHand) {
+        if (player == observer) {
+            for (Tile tile : ownHand) {
+                if (rules.tileId(tile) == id) {
+                    return 1;
+                }
+            }
+            return 0;
+        }
+        int copies = unseen[id];
+        int hand = handSizes[player];
+        if (copies == 0 || hand == 0) {
+            return 0;
+        }
+        // probabilité qu'aucune des tuiles de la main ne soit de ce type
+        double none = 1;
+        for (int i = 0; i < hand; i++) {
+            none *= (double) (unseenTotal - copies - i) / (unseenTotal - i);
+        }
+        return 1 - Math.max(0, none);
+    }
+
+    /**
+     * Returns the expected number of copies of a tile type in the hand of an opponent.
+     *
+     * @param player the opponent
+     * @param id     the identifier of the tile type
+     * @return the expected number of copies
+     */
+    public double getExpectedCount(int player, int id) {
+        if (unseenTotal == 0) {
+            return 0;
+        }
+        return (double) handSizes[player] * unseen[id] / unseenTotal;
+    }
+
+    /**
+     * Draws a plausible hand for an opponent among the unseen tiles, without changing the tracker.
+     * Calling it for every opponent with the same counters may give the same tile twice; use
+     * {@link #copyCounts()} and {@link #sample(int[], int, Random)} to sample several hands at once.
+     *
+     * @param player the opponent
+     * @param random the source of randomness
+     * @return a possible hand of the opponent
+     */
+    public List<Tile> sampleHand(int player, Random random) {
+        return sample(copyCounts(), handSizes[player], random);
+    }
+
+    /**
+     * Returns a copy of the counters of unseen tiles, indexed by tile identifier.
+     *
+     * @return the unseen counts
+     */
+    public int[] copyCounts() {
+        return unseen.clone();
+    }
+
+    /**
+     * Draws tiles without replacement from counters of tiles, which are decremented.
+     *
+     * @param counts the number of copies of each tile type, updated by the draw
+     * @param n      the number of tiles to draw
+     * @param random the source of randomness
+     * @return the tiles drawn
+     */
+    public List<Tile> sample(int[] counts, int n, Random random) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        List<Tile> tiles = new ArrayList<>(n);
+        for (int k = 0; k < n && total > 0; k++) {
+            int r = random.nextInt(total);
+            int id = 0;
+            while (r >= counts[id]) {
+                r -= counts[id];
+                id++;
+            }
+            counts[id]--;
+            total--;
+            tiles.add(rules.tile(id));
+        }
+        return tiles;
+    }
+
+    private void reveal(Tile tile) {
+        int id = rules.tileId(tile);
+        if (unseen[id] == 0) {
+            throw new QwirkleException("More copies of " + tile + " than the rules allow");
+        }
+        unseen[id]--;
+        unseenTotal--;
+    }
+}
@@ -0,0 +1,182 @@
+package g61692.qwirkle.ai;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Offline tool tuning the weights of the {@link Heuristic} by self-play, with SPSA
+ * (simultaneous perturbation stochastic approximation).
+ * <p>
+ * At each iteration, every weight is moved by the same small step, up or down at random,
+ * giving two opposite heuristics. They play a batch of games against each other, on all
+ * the cores of the machine. Each deal is played twice, with the seats swapped, so that the
+ * luck of the draws cancels out. The weights then move towards the side that won the most points.
+ * <p>
+ * Every game and every perturbation is derived from the seed, so a run can be replayed exactly.
+ * The state is saved in a checkpoint file after each iteration, and a run started with the
+ * same output file and seed resumes from it.
+ * <p>
+ * Usage: {@code WeightTuner [file] [iterations] [games] [seed]}
+ */
+public final class WeightTuner {
+
+    private static final double STEP = 0.003;
+    private static final double PERTURBATION = 0.2;
+
+    private final long seed;
+    private final int games;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a tuner.
+     *
+     * @param seed  the seed of the run
+     * @param games the number of deals played at each iteration, each one played twice
+     * @param pool  the pool running the games
+     */
+    public WeightTuner(long seed, int games, ForkJoinPool pool) {
+        this.seed = seed;
+        this.games = games;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs the tuner.
+     *
+     * @param args the weight file to write, the number of iterations, the number of deals
+     *             per iteration and the seed of the run
+     * @throws IOException if the checkpoint or the weight file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : "src/main/resources/weights.properties");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        Path checkpoint = Path.of(file + ".checkpoint");
+
+        double[] theta = Heuristic.DEFAULT.getWeights();
+        int start = 0;
+        if (Files.exists(checkpoint)) {
+            Properties state = new Properties();
+            try (InputStream in = Files.newInputStream(checkpoint)) {
+                state.load(in);
+            }
+            if (Long.parseLong(state.getProperty("seed")) == seed) {
+                start = Integer.parseInt(state.getProperty("iteration"));
+                for (int i = 0; i < theta.length; i++) {
+                    theta[i] = Double.parseDouble(state.getProperty(Heuristic.FEATURES.get(i)));
+                }
+                System.out.println("Reprise à l'itération " + start);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        WeightTuner tuner = new WeightTuner(seed, games, pool);
+        for (int k = start; k < iterations; k++) {
+            long begin = System.nanoTime();
+            theta = tuner.step(theta, k, iterations);
+            saveCheckpoint(checkpoint, seed, k + 1, theta);
+            System.out.printf("%d/%d %s (%.1f s)%n", k + 1, iterations, new Heuristic(theta),
+                    (System.nanoTime() - begin) / 1e9);
+        }
+        pool.shutdown();
+
+        try (OutputStream out = Files.newOutputStream(file)) {
+            new Heuristic(theta).write(out, "Tuned by self-play: " + iterations + " iterations of "
+                    + games + " deals, seed " + seed);
+        }
+        System.out.println("Poids écrits dans " + file);
+    }
+
+    /**
+     * Performs one iteration of SPSA.
+     *
+     * @param theta      the current weights
+     * @param k          the number of the iteration, from 0
+     * @param iterations the total number of iterations, used to scale the steps
+     * @return the new weights
+     */
+    public double[] step(double[] theta, int k, int iterations) {
+        double a = STEP / Math.pow(k + 1 + iterations / 10.0, 0.602);
+        double c = PERTURBATION / Math.pow(k + 1, 0.101);
+
+        Random random = new Random(seed * 1_000_003 + k);
+        double[] delta = new double[theta.length];
+        double[] plus = new double[theta.length];
+        double[] minus = new double[theta.length];
+        for (int i = 0; i < theta.length; i++) {
+            delta[i] = random.nextBoolean() ? 1 : -1;
+            plus[i] = theta[i] + c * delta[i];
+            minus[i] = theta[i] - c * delta[i];
+        }
+
+        double lead = match(new Heuristic(plus), new Heuristic(minus), k);
+        double[] next = theta.clone();
+        for (int i = 0; i < theta.length; i++) {
+            next[i] += a * lead / (2 * c * delta[i]);
+        }
+        return next;
+    }
+
+    /**
+     * Plays the deals of an iteration between two heuristics, each deal twice with the seats swapped.
+     *
+     * @param first  the first heuristic
+     * @param second the second heuristic
+     * @param k      the number of the iteration, which chooses the deals
+     * @return the average number of points the first heuristic scored more than the second, per game
+     */
+    public double match(Heuristic first, Heuristic second, int k) {
+        long base = seed * 1_000_003 + (long) k * games;
+        try {
+            long total = pool.submit(() -> IntStream.range(0, games).parallel()
+                    .mapToLong(g -> game(first, second, base + g) - game(second, first, base + g))
+                    .sum()).get();
+            return (double) total / (2 * games);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The games have been interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game has failed", e.getCause());
+        }
+    }
+
+    /**
+     * Plays a two-player game to the end.
+     *
+     * @return the score of the first player minus the score of the second
+     */
+    private static long game(Heuristic first, Heuristic second, long dealSeed) {
+        Simulation simulation = new Simulation(2, dealSeed);
+        while (!simulation.isOver()) {
+            simulation.play(simulation.getCurrentPlayer() == 0 ? first : second);
+        }
+        return simulation.getScore(0) - simulation.getScore(1);
+    }
+
+    /**
+     * Saves the state of the run, replacing the previous checkpoint only once the new one is complete.
+     */
+    private static void saveCheckpoint(Path checkpoint, long seed, int iteration, double[] theta) throws IOException {
+        Properties state = new Properties();
+        state.setProperty("seed", Long.toString(seed));
+        state.setProperty("iteration", Integer.toString(iteration));
+        for (int i = 0; i < theta.length; i++) {
+            state.setProperty(Heuristic.FEATURES.get(i), Double.toString(theta[i]));
+        }
+        Path temporary = Path.of(checkpoint + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            state.store(out, null);
+        }
+        Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
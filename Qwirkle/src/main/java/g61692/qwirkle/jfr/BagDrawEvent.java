@@ -0,0 +1,53 @@
+package g61692.qwirkle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a draw of tiles from a bag.
+ */
+@Name("g61692.qwirkle.BagDraw")
+@Label("Bag Draw")
+@Category("Qwirkle")
+@StackTrace(false)
+public final class BagDrawEvent extends Event {
+
+    @Label("Requested")
+    int requested;
+
+    @Label("Drawn")
+    int drawn;
+
+    @Label("Remaining")
+    int remaining;
+
+    /**
+     * Starts timing a draw.
+     *
+     * @param requested the number of tiles asked for
+     * @return the started event
+     */
+    public static BagDrawEvent start(int requested) {
+        BagDrawEvent event = new BagDrawEvent();
+        event.requested = requested;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records the end of the draw.
+     *
+     * @param drawn     the number of tiles drawn
+     * @param remaining the number of tiles left in the bag
+     */
+    public void drawn(int drawn, int remaining) {
+        if (shouldCommit()) {
+            this.drawn = drawn;
+            this.remaining = remaining;
+            commit();
+        }
+    }
+}
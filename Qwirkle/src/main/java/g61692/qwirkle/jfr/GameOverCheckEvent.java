@@ -0,0 +1,51 @@
+package g61692.qwirkle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the check of the end of a game, which may look for
+ * a legal move of every player on the whole grid.
+ */
+@Name("g61692.qwirkle.GameOverCheck")
+@Label("Game Over Check")
+@Category("Qwirkle")
+@StackTrace(false)
+public final class GameOverCheckEvent extends Event {
+
+    @Label("Bag Size")
+    int bagSize;
+
+    @Label("Over")
+    boolean over;
+
+    /**
+     * Starts timing the check.
+     *
+     * @param bagSize the number of tiles left in the bag
+     * @return the started event
+     */
+    public static GameOverCheckEvent start(int bagSize) {
+        GameOverCheckEvent event = new GameOverCheckEvent();
+        event.bagSize = bagSize;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records the result of the check.
+     *
+     * @param result whether the game is over
+     * @return the result, to be returned by the caller
+     */
+    public boolean result(boolean result) {
+        if (shouldCommit()) {
+            over = result;
+            commit();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,51 @@
+package g61692.qwirkle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the saving or the loading of a game.
+ */
+@Name("g61692.qwirkle.SaveLoad")
+@Label("Save/Load")
+@Category("Qwirkle")
+public final class SaveLoadEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("File")
+    String file;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Starts timing a save or a load.
+     *
+     * @param operation "save" or "load"
+     * @param file      the name of the file
+     * @return the started event
+     */
+    public static SaveLoadEvent start(String operation, String file) {
+        SaveLoadEvent event = new SaveLoadEvent();
+        event.operation = operation;
+        event.file = file;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records the end of the operation.
+     *
+     * @param outcome "ok", or the reason of the failure
+     */
+    public void done(String outcome) {
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
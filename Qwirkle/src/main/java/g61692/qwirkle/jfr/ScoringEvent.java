@@ -0,0 +1,50 @@
+package g61692.qwirkle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the counting of the points of a placement of several tiles.
+ */
+@Name("g61692.qwirkle.Scoring")
+@Label("Scoring")
+@Category({"Qwirkle", "Rules"})
+@StackTrace(false)
+public final class ScoringEvent extends Event {
+
+    @Label("Tiles")
+    int tiles;
+
+    @Label("Score")
+    int score;
+
+    /**
+     * Starts timing the scoring of a placement.
+     *
+     * @param tiles the number of tiles placed
+     * @return the started event
+     */
+    public static ScoringEvent start(int tiles) {
+        ScoringEvent event = new ScoringEvent();
+        event.tiles = tiles;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records the points counted.
+     *
+     * @param points the points of the placement
+     * @return the points, to be returned by the caller
+     */
+    public int scored(int points) {
+        if (shouldCommit()) {
+            score = points;
+            commit();
+        }
+        return points;
+    }
+}
@@ -0,0 +1,86 @@
+package g61692.qwirkle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Arrays;
+
+/**
+ * Flight Recorder event for the check of a placement by the grid, from the first rule
+ * checked to the points earned or the rule that refused the tiles.
+ * <p>
+ * Used as {@code return event.accepted(points)} or {@code throw event.rejected(e)}: when
+ * the recording is off, nothing is committed and the JIT removes the event altogether.
+ */
+@Name("g61692.qwirkle.Validation")
+@Label("Move Validation")
+@Category({"Qwirkle", "Rules"})
+@Description("Check of a placement against the rules of the grid")
+@StackTrace(false)
+public final class ValidationEvent extends Event {
+
+    @Label("Kind")
+    @Description("first, single, line, tiles or check")
+    String kind;
+
+    @Label("Tiles")
+    String tiles;
+
+    @Label("Score")
+    int score;
+
+    @Label("Outcome")
+    @Description("accepted, or the message of the refused rule")
+    String outcome;
+
+    /**
+     * Starts timing a validation.
+     *
+     * @param kind  the kind of placement
+     * @param tiles the tile or the array of tiles placed, only formatted if the event is recorded
+     * @return the started event
+     */
+    public static ValidationEvent start(String kind, Object tiles) {
+        ValidationEvent event = new ValidationEvent();
+        if (event.isEnabled()) {
+            event.kind = kind;
+            event.tiles = tiles instanceof Object[] array ? Arrays.toString(array) : String.valueOf(tiles);
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Records an accepted placement.
+     *
+     * @param points the points earned
+     * @return the points, to be returned by the caller
+     */
+    public int accepted(int points) {
+        if (shouldCommit()) {
+            score = points;
+            outcome = "accepted";
+            commit();
+        }
+        return points;
+    }
+
+    /**
+     * Records a refused placement.
+     *
+     * @param e the exception refusing the placement
+     * @param <E> the type of the exception
+     * @return the exception, to be thrown by the caller
+     */
+    public <E extends RuntimeException> E rejected(E e) {
+        if (shouldCommit()) {
+            outcome = e.getMessage();
+            commit();
+        }
+        return e;
+    }
+}
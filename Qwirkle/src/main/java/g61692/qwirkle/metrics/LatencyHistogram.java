@@ -0,0 +1,108 @@
+package g61692.qwirkle.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations that many threads can record into without contention.
+ * <p>
+ * Durations are counted in buckets growing by a factor of about 1.19 (four buckets per
+ * power of two), each bucket being a {@link LongAdder}. Percentiles are therefore
+ * approximate, within about 10%, which is enough to watch the latency of a host.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    void record(long nanos) {
+        long value = Math.max(1, nanos);
+        buckets[bucket(value)].increment();
+        count.increment();
+        total.add(value);
+    }
+
+    /**
+     * Returns the average of the recorded durations.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Returns an approximate percentile of the recorded durations.
+     *
+     * @param percent the percentile, between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, in nanoseconds,
+     * or 0 if nothing was recorded
+     */
+    double percentile(double percent) {
+        long[] counts = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            n += counts[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percent / 100 * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        total.reset();
+    }
+
+    /**
+     * Returns the bucket of a value: four buckets for each power of two.
+     */
+    static int bucket(long value) {
+        int power = 63 - Long.numberOfLeadingZeros(value);
+        if (power < 2) {
+            return (int) value - 1;
+        }
+        int sub = (int) (value >>> (power - 2)) & (SUB_BUCKETS - 1);
+        return power * SUB_BUCKETS + sub;
+    }
+
+    private static double upperBound(int bucket) {
+        int power = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        if (power < 2) {
+            return bucket + 1;
+        }
+        return Math.scalb(1.0 + (sub + 1) / (double) SUB_BUCKETS, power);
+    }
+}
@@ -0,0 +1,224 @@
+package g61692.qwirkle.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * QwirkleMetrics counts what the games of a host are doing: moves, rejected moves,
+ * validation latency, active games and saves. It is published on the platform MBean server
+ * the first time it is used, so JConsole, VisualVM or any JMX client can watch it.
+ * <p>
+ * Every counter is a {@link LongAdder}, so the games of many threads record their moves
+ * without contending on a shared counter; the cost is paid when the metrics are read.
+ * The rate of moves is sampled by a daemon timer at the end of each window, so that
+ * every JMX client reads the same value.
+ */
+public final class QwirkleMetrics implements QwirkleMetricsMXBean {
+
+    /**
+     * The name of the MBean.
+     */
+    public static final String OBJECT_NAME = "g61692.qwirkle:type=QwirkleMetrics";
+
+    /**
+     * The length of the window over which the rate of moves is computed.
+     */
+    public static final int RATE_WINDOW_SECONDS = 10;
+
+    private static final int MAX_CAUSES = 64;
+    private static final String OTHER_CAUSE = "other";
+
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final Map<String, LongAdder> causes = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder activeGames = new LongAdder();
+    private final AtomicLong lastSave = new AtomicLong(-1);
+    private long rateMoves;
+    private long rateTime = System.nanoTime();
+    private volatile double movesPerSecond;
+
+    QwirkleMetrics() {
+    }
+
+    private static final class Holder {
+        private static final QwirkleMetrics INSTANCE = startSampling(register(new QwirkleMetrics()));
+    }
+
+    /**
+     * Returns the metrics of the host, publishing them on the platform MBean server on first use.
+     *
+     * @return the metrics
+     */
+    public static QwirkleMetrics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static QwirkleMetrics register(QwirkleMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException | SecurityException ignored) {
+            // sans serveur JMX, les compteurs restent utilisables depuis le code
+        }
+        return metrics;
+    }
+
+    private static QwirkleMetrics startSampling(QwirkleMetrics metrics) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "qwirkle-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(metrics::sample, RATE_WINDOW_SECONDS, RATE_WINDOW_SECONDS, TimeUnit.SECONDS);
+        return metrics;
+    }
+
+    /**
+     * Computes the rate of moves over the window ending now, and starts the next window.
+     */
+    synchronized void sample() {
+        long now = System.nanoTime();
+        long current = moves.sum();
+        double seconds = (now - rateTime) / 1e9;
+        movesPerSecond = seconds > 0 ? (current - rateMoves) / seconds : 0;
+        rateMoves = current;
+        rateTime = now;
+    }
+
+    /**
+     * Records a move accepted by the rules.
+     *
+     * @param startNanos the value of {@link System#nanoTime()} when the validation started
+     */
+    public void moveAccepted(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+        moves.increment();
+    }
+
+    /**
+     * Records a move refused by the rules.
+     *
+     * @param startNanos the value of {@link System#nanoTime()} when the validation started
+     * @param cause      the cause of the refusal
+     */
+    public void moveRejected(long startNanos, String cause) {
+        latency.record(System.nanoTime() - startNanos);
+        rejected.increment();
+        String key = cause == null || cause.isEmpty() ? OTHER_CAUSE : cause;
+        LongAdder counter = causes.get(key);
+        if (counter == null) {
+            // on borne le nombre de causes pour ne pas grossir sans fin
+            counter = causes.size() < MAX_CAUSES
+                    ? causes.computeIfAbsent(key, k -> new LongAdder())
+                    : causes.computeIfAbsent(OTHER_CAUSE, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Records a game started or restored.
+     */
+    public void gameStarted() {
+        activeGames.increment();
+    }
+
+    /**
+     * Records the end of a game.
+     */
+    public void gameOver() {
+        activeGames.decrement();
+    }
+
+    /**
+     * Records a successful save of a game.
+     */
+    public void gameSaved() {
+        lastSave.set(System.currentTimeMillis());
+    }
+
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    @Override
+    public double getMovesPerSecond() {
+        return movesPerSecond;
+    }
+
+    @Override
+    public long getRejectedMoves() {
+        return rejected.sum();
+    }
+
+    @Override
+    public double getRejectedRate() {
+        long refused = rejected.sum();
+        long all = refused + moves.sum();
+        return all == 0 ? 0 : (double) refused / all;
+    }
+
+    @Override
+    public Map<String, Long> getRejectionsByCause() {
+        Map<String, Long> result = new TreeMap<>();
+        causes.forEach((cause, counter) -> result.put(cause, counter.sum()));
+        return result;
+    }
+
+    @Override
+    public double getValidationMeanMicros() {
+        return latency.mean() / 1000;
+    }
+
+    @Override
+    public double getValidationP50Micros() {
+        return latency.percentile(50) / 1000;
+    }
+
+    @Override
+    public double getValidationP95Micros() {
+        return latency.percentile(95) / 1000;
+    }
+
+    @Override
+    public double getValidationP99Micros() {
+        return latency.percentile(99) / 1000;
+    }
+
+    @Override
+    public long getActiveGames() {
+        return activeGames.sum();
+    }
+
+    @Override
+    public long getAutosaveLagMillis() {
+        long last = lastSave.get();
+        return last < 0 ? -1 : System.currentTimeMillis() - last;
+    }
+
+    @Override
+    public synchronized void reset() {
+        moves.reset();
+        rejected.reset();
+        causes.clear();
+        latency.reset();
+        lastSave.set(-1);
+        rateMoves = 0;
+        rateTime = System.nanoTime();
+        movesPerSecond = 0;
+    }
+}
@@ -0,0 +1,93 @@
+package g61692.qwirkle.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link QwirkleMetrics}, published on the platform MBean server
+ * under {@value QwirkleMetrics#OBJECT_NAME} and readable with any JMX console.
+ */
+public interface QwirkleMetricsMXBean {
+
+    /**
+     * Returns the number of moves accepted since the start or the last reset.
+     *
+     * @return the accepted moves
+     */
+    long getMoves();
+
+    /**
+     * Returns the number of moves accepted per second over the last window of
+     * {@value QwirkleMetrics#RATE_WINDOW_SECONDS} seconds, the same for every reader.
+     *
+     * @return the rate of accepted moves
+     */
+    double getMovesPerSecond();
+
+    /**
+     * Returns the number of moves refused by the rules.
+     *
+     * @return the rejected moves
+     */
+    long getRejectedMoves();
+
+    /**
+     * Returns the part of the moves refused by the rules.
+     *
+     * @return the rejected moves divided by all the moves, between 0 and 1
+     */
+    double getRejectedRate();
+
+    /**
+     * Returns the number of refused moves for each cause.
+     *
+     * @return the rejected moves by cause
+     */
+    Map<String, Long> getRejectionsByCause();
+
+    /**
+     * Returns the average time taken to validate and place a move.
+     *
+     * @return the mean latency in microseconds
+     */
+    double getValidationMeanMicros();
+
+    /**
+     * Returns the median time taken to validate and place a move.
+     *
+     * @return the 50th percentile in microseconds
+     */
+    double getValidationP50Micros();
+
+    /**
+     * Returns the time under which 95% of the moves are validated and placed.
+     *
+     * @return the 95th percentile in microseconds
+     */
+    double getValidationP95Micros();
+
+    /**
+     * Returns the time under which 99% of the moves are validated and placed.
+     *
+     * @return the 99th percentile in microseconds
+     */
+    double getValidationP99Micros();
+
+    /**
+     * Returns the number of games started or restored and not over yet.
+     *
+     * @return the active games
+     */
+    long getActiveGames();
+
+    /**
+     * Returns the time elapsed since the last successful save of a game.
+     *
+     * @return the lag in milliseconds, or -1 if no game has been saved
+     */
+    long getAutosaveLagMillis();
+
+    /**
+     * Sets every counter back to zero, except the active games.
+     */
+    void reset();
+}
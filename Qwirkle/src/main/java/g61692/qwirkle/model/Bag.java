@@ -1,30 +1,74 @@
 package g61692.qwirkle.model;
 
+import g61692.qwirkle.jfr.BagDrawEvent;
+
 import java.io.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Bag represents the bag of tiles.
+ * <p>
+ * Each game owns its bag, so several games can be played side by side. The shared
+ * instance of {@link #getInstance()} is kept for the code that still works with a single bag.
  */
 public class Bag implements Serializable {
 
     private List<Tile> tiles;
+    private Random random = new Random();
     private static Bag instance = new Bag();
 
     /**
-     * Private constructor to avoid creating multiple tile bags.
-     * Create a bag that contains 108 tiles.
+     * Create a bag that contains the 108 tiles of the standard game.
      */
     private Bag() {
-        tiles = new ArrayList<>();
+        fill(RuleSet.STANDARD);
+    }
+
+    /**
+     * Creates a bag containing every tile of the given rules.
+     *
+     * @param rules the rules of the game
+     */
+    public Bag(RuleSet rules) {
+        fill(rules);
+    }
 
-        for (int i = 0; i < 3; i++) {
-            for (Color color : Color.values()) {
-                for (Shape shape : Shape.values()) {
-                    tiles.add(new Tile(color, shape));
-                }
+    /**
+     * Creates a copy of a bag, drawing with its own random generator.
+     *
+     * @param other the bag to copy
+     * @param seed  the seed of the draws of the copy
+     */
+    private Bag(Bag other, long seed) {
+        tiles = new ArrayList<>(other.tiles);
+        random = new Random(seed);
+    }
+
+    /**
+     * Returns a copy of this bag with the same tiles. The copy draws its tiles with
+     * its own generator, so the draws of the copy and of this bag are independent.
+     *
+     * @param seed the seed of the draws of the copy
+     * @return the copy of the bag
+     */
+    public Bag fork(long seed) {
+        return new Bag(this, seed);
+    }
+
+    /**
+     * Refills the bag with every tile of the given rules, as at the start of a game.
+     *
+     * @param rules the rules of the game
+     */
+    public void fill(RuleSet rules) {
+        tiles = new ArrayList<>(rules.getTileCount());
+
+        for (int i = 0; i < rules.getCopies(); i++) {
+            for (int id = 0; id < rules.getTileTypes(); id++) {
+                tiles.add(rules.tile(id));
             }
         }
     }
@@ -56,26 +100,35 @@ public class Bag implements Serializable {
             return null;
         }
 
+        BagDrawEvent event = BagDrawEvent.start(n);
         if (n >= size()) {
-            n = size();
             // on prend tout ce qui reste
-            for (int i = 0; i < n; i++) {
-                drawnTiles.add(tiles.get(n));
-                tiles.remove(n);
-            }
+            drawnTiles.addAll(tiles);
+            tiles.clear();
         }
 
         else {
             for (int i = 0; i < n; i++) {
-                int indice = (int) (Math.random() * size());
+                int indice = random.nextInt(size());
                 drawnTiles.add(tiles.get(indice));
                 tiles.remove(indice);
             }
         }
 
+        event.drawn(drawnTiles.size(), size());
         return drawnTiles.toArray(new Tile[0]);
     }
 
+    /**
+     * Seeds the random draws of the bag, so that a recorded session can be replayed
+     * with exactly the same tiles.
+     *
+     * @param seed the seed of the draws
+     */
+    public void setSeed(long seed) {
+        random = new Random(seed);
+    }
+
     /**
      * This method returns the number of remaining tiles.
      *
@@ -2,7 +2,8 @@ package g61692.qwirkle.model;
 
 /**
  * Color represents color of tile.
+ * The standard game uses the first six colors, the others are only used by variants.
  */
 public enum Color {
-    BLUE, RED, GREEN, ORANGE, YELLOW, PURPLE;
+    BLUE, RED, GREEN, ORANGE, YELLOW, PURPLE, CYAN, WHITE;
 }
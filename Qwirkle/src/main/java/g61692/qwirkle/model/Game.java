@@ -1,9 +1,13 @@
 package g61692.qwirkle.model;
 
+import g61692.qwirkle.jfr.GameOverCheckEvent;
+import g61692.qwirkle.jfr.SaveLoadEvent;
+import g61692.qwirkle.metrics.QwirkleMetrics;
+
 import java.io.*;
-import java.lang.runtime.SwitchBootstraps;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The Game class represents a game of Qwirkle.
@@ -12,9 +16,16 @@ import java.util.List;
  * The game can also be passed to the next player.
  */
 public class Game implements Serializable {
+    private static final QwirkleMetrics METRICS = QwirkleMetrics.getInstance();
+
     private final Grid grid;
+    private final Bag bag;
     private final Player[] players;
     private int currentPlayer;
+    private boolean overAnnounced;
+    private transient boolean forked;
+    private transient boolean active;
+    private transient GameEventBus events;
 
     /**
      * Constructor for the Game class.
@@ -23,17 +34,44 @@ public class Game implements Serializable {
      * @throws QwirkleException If the number of player names is incorrect.
      */
     public Game(List<String> names) {
+        this(names, RuleSet.STANDARD);
+    }
+
+    /**
+     * Constructor for a game following a variant of the rules.
+     * The game gets its own bag, filled with the tiles of the variant.
+     *
+     * @param names A list of player names. The number of names should be between 2 and 4, inclusive.
+     * @param rules The rules of the game.
+     * @throws QwirkleException If the number of player names is incorrect.
+     */
+    public Game(List<String> names, RuleSet rules) {
+        this(names, rules, new Bag(rules));
+    }
+
+    /**
+     * Constructor for a game drawing its tiles from the given bag, for instance a seeded one.
+     *
+     * @param names A list of player names. The number of names should be between 2 and 4, inclusive.
+     * @param rules The rules of the game.
+     * @param bag   The bag of the game, holding the tiles of the rules.
+     * @throws QwirkleException If the number of player names is incorrect.
+     */
+    public Game(List<String> names, RuleSet rules, Bag bag) {
         if (names.size() < 2 || names.size() > 4) {
             throw new QwirkleException("The number of players is incorrect");
         }
 
+        this.bag = bag;
         players = new Player[names.size()];
         for (int i = 0; i < names.size(); i++) {
-            players[i] = new Player(names.get(i));
+            players[i] = new Player(names.get(i), bag);
         }
 
-        grid = new Grid();
+        grid = new Grid(rules);
         currentPlayer = 0;
+        METRICS.gameStarted();
+        active = true;
     }
 
     /**
@@ -42,9 +80,53 @@ public class Game implements Serializable {
      */
     public Game() {
         grid = new Grid();
+        bag = new Bag(RuleSet.STANDARD);
         players = new Player[0];
     }
 
+    /**
+     * Creates a copy of a game, whose bag draws with its own generator.
+     *
+     * @param other the game to copy
+     * @param seed  the seed of the draws of the copy
+     */
+    private Game(Game other, long seed) {
+        grid = new Grid(other.grid);
+        bag = other.bag.fork(seed);
+        players = new Player[other.players.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(other.players[i]);
+        }
+        currentPlayer = other.currentPlayer;
+        overAnnounced = other.overAnnounced;
+        forked = true;
+    }
+
+    /**
+     * Returns an independent copy of this game: grid, hands, scores and bag are copied, and
+     * the events are not shared. The copy belongs to the thread that uses it, so each worker
+     * of a parallel search can play its own copy without any synchronization.
+     * <p>
+     * The bag of the copy draws different tiles than this game will: a search must not know
+     * the future draws.
+     *
+     * @param seed the seed of the draws of the copy
+     * @return the copy of the game
+     */
+    public Game fork(long seed) {
+        return new Game(this, seed);
+    }
+
+    /**
+     * Returns an independent copy of this game, with a random seed for its bag.
+     *
+     * @return the copy of the game
+     * @see #fork(long)
+     */
+    public Game fork() {
+        return fork(ThreadLocalRandom.current().nextLong());
+    }
+
     /**
      * Adds tiles to the grid for the first move of the game.
      *
@@ -57,11 +139,19 @@ public class Game implements Serializable {
             throw new QwirkleException("This is not the first play");
         }
         Tile[] line = getLine(is);
-        int points = grid.firstAdd(d, line);
+        long start = System.nanoTime();
+        int points;
+        try {
+            points = grid.firstAdd(d, line);
+        } catch (QwirkleException e) {
+            throw rejected(start, e);
+        }
+        accepted(start);
 
         players[currentPlayer].addScore(points);
         players[currentPlayer].remove(line);
-        players[currentPlayer].refill();
+        players[currentPlayer].refill(bag);
+        publishMove(positions(grid.getRules().getStartRow(), grid.getRules().getStartCol(), d, line));
     }
 
     /**
@@ -72,11 +162,20 @@ public class Game implements Serializable {
      * @param index The index of the tile in the current player's hand.
      */
     public void play(int row, int col, int index) {
-        int points = grid.add(row, col, players[currentPlayer].getHand().get(index));
+        Tile tile = players[currentPlayer].getHand().get(index);
+        long start = System.nanoTime();
+        int points;
+        try {
+            points = grid.add(row, col, tile);
+        } catch (QwirkleException e) {
+            throw rejected(start, e);
+        }
+        accepted(start);
 
         players[currentPlayer].addScore(points);
-        players[currentPlayer].remove(players[currentPlayer].getHand().get(index));
-        players[currentPlayer].refill();
+        players[currentPlayer].remove(tile);
+        players[currentPlayer].refill(bag);
+        publishMove(List.of(new TileAtPosition(row, col, tile)));
     }
     
 
@@ -90,11 +189,19 @@ public class Game implements Serializable {
      */
     public void play(int row, int col, Direction d, int... indexes) {
         Tile[] line = getLine(indexes);
-        int points = grid.add(row, col, d, line);
+        long start = System.nanoTime();
+        int points;
+        try {
+            points = grid.add(row, col, d, line);
+        } catch (QwirkleException e) {
+            throw rejected(start, e);
+        }
+        accepted(start);
 
         players[currentPlayer].addScore(points);
         players[currentPlayer].remove(line);
-        players[currentPlayer].refill();
+        players[currentPlayer].refill(bag);
+        publishMove(positions(row, col, d, line));
     }
 
     /**
@@ -110,7 +217,14 @@ public class Game implements Serializable {
             j++;
         }
 
-        int points = grid.add(tiles);
+        long start = System.nanoTime();
+        int points;
+        try {
+            points = grid.add(tiles);
+        } catch (QwirkleException e) {
+            throw rejected(start, e);
+        }
+        accepted(start);
 
         players[currentPlayer].addScore(points);
 
@@ -122,7 +236,75 @@ public class Game implements Serializable {
         }
         players[currentPlayer].remove(tilesToRemove);
 
-        players[currentPlayer].refill();
+        players[currentPlayer].refill(bag);
+        publishMove(List.of(tiles));
+    }
+
+    /**
+     * Plays a move packed by {@link Move}: the first move of the game, a single tile,
+     * a line of adjacent tiles, or tiles spread along a row or a column.
+     *
+     * @param move the packed move
+     * @throws QwirkleException if the move is not allowed
+     */
+    public void play(long move) {
+        int count = Move.count(move);
+        if (count == 0) {
+            throw new QwirkleException("The move has no tile");
+        }
+        List<Tile> hand = players[currentPlayer].getHand();
+        Tile[] line = new Tile[count];
+        for (int i = 0; i < count; i++) {
+            int index = Move.index(move, i);
+            if (index >= hand.size()) {
+                // même code que MoveEvaluator pour une tuile absente de la main
+                throw new QwirkleException(Rejection.getMessage(Rejection.EMPTY_LINE), Rejection.EMPTY_LINE);
+            }
+            line[i] = hand.get(index);
+        }
+
+        Direction d = Move.direction(move);
+        long start = System.nanoTime();
+        int points;
+        try {
+            if (Move.isFirst(move)) {
+                if (!grid.isEmpty()) {
+                    throw new QwirkleException("This is not the first play");
+                }
+                points = grid.firstAdd(d, line);
+            } else if (count == 1) {
+                points = grid.add(Move.rowOf(move, 0), Move.colOf(move, 0), line[0]);
+            } else if (Move.isLine(move)) {
+                points = grid.add(Move.row(move), Move.col(move), d, line);
+            } else {
+                TileAtPosition[] tiles = new TileAtPosition[count];
+                for (int i = 0; i < count; i++) {
+                    tiles[i] = new TileAtPosition(Move.rowOf(move, i), Move.colOf(move, i), line[i]);
+                }
+                points = grid.add(tiles);
+            }
+        } catch (QwirkleException e) {
+            throw rejected(start, e);
+        }
+        accepted(start);
+
+        players[currentPlayer].addScore(points);
+        players[currentPlayer].remove(line);
+        players[currentPlayer].refill(bag);
+        if (getEvents().hasSubscribers()) {
+            List<TileAtPosition> placed = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (Move.isFirst(move)) {
+                    // le premier coup part de la case de départ, pas de l'ancre du coup
+                    int offset = Move.offset(move, i);
+                    placed.add(new TileAtPosition(grid.getRules().getStartRow() + offset * d.getDeltaRow(),
+                            grid.getRules().getStartCol() + offset * d.getDeltaCol(), line[i]));
+                } else {
+                    placed.add(new TileAtPosition(Move.rowOf(move, i), Move.colOf(move, i), line[i]));
+                }
+            }
+            publishMove(placed);
+        }
     }
 
     /**
@@ -152,6 +334,41 @@ public class Game implements Serializable {
         return players[currentPlayer].getScore();
     }
 
+    /**
+     * Returns the names of the players, in the order of play.
+     *
+     * @return the names of the players
+     */
+    public List<String> getPlayerNames() {
+        List<String> names = new ArrayList<>(players.length);
+        for (Player player : players) {
+            names.add(player.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Returns the scores of the players, in the order of play.
+     *
+     * @return the scores of the players
+     */
+    public int[] getScores() {
+        int[] scores = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            scores[i] = players[i].getScore();
+        }
+        return scores;
+    }
+
+    /**
+     * Returns the number of tiles left in the bag of the game.
+     *
+     * @return the size of the bag
+     */
+    public int getBagSize() {
+        return bag.size();
+    }
+
     /**
      * Returns a GridView object representing the grid of the game.
      *
@@ -162,9 +379,57 @@ public class Game implements Serializable {
     }
 
     /**
-     * Passes the turn to the next player.
+     * Returns a copy of the grid, that can be searched or modified without changing the game.
+     *
+     * @return a copy of the grid of the game
+     */
+    public Grid copyGrid() {
+        return new Grid(grid);
+    }
+
+    /**
+     * Returns the rules followed by this game.
+     *
+     * @return the rules of the game
+     */
+    public RuleSet getRules() {
+        return grid.getRules();
+    }
+
+    /**
+     * Returns an immutable snapshot of the grid, taken at the end of the last move.
+     * Unlike {@link #getGrid()}, the snapshot never changes and can safely be read
+     * by other threads (spectators, hints, autosave) while the game goes on.
+     *
+     * @return the last published snapshot of the grid
+     */
+    public GridSnapshot getSnapshot() {
+        return grid.snapshot();
+    }
+
+    /**
+     * Passes the turn to the next player without playing, announcing it to the subscribers.
      */
     public void pass() {
+        if (getEvents().hasSubscribers()) {
+            events.publish(new GameEvent(GameEvent.Type.TURN_PASSED, getCurrentPlayerName(), List.of(),
+                    getCurrentPlayerScore()));
+        }
+        nextPlayer();
+    }
+
+    /**
+     * Ends the turn of the current player after a move; the move has already been announced,
+     * so nothing is published.
+     */
+    public void endTurn() {
+        nextPlayer();
+    }
+
+    /**
+     * Gives the turn to the next player.
+     */
+    private void nextPlayer() {
         if (currentPlayer == players.length - 1) {
             currentPlayer = 0;
         } else {
@@ -178,13 +443,25 @@ public class Game implements Serializable {
      * @return true if the current player has no tiles in hand and the bag is empty with no possible plays, false otherwise
      */
     public boolean isOver() {
+        GameOverCheckEvent event = GameOverCheckEvent.start(bag.size());
+        return event.result(checkOver());
+    }
 
+    /**
+     * Does the work of {@link #isOver()}, without recording a game over check event.
+     */
+    private boolean checkOver() {
         if (players[currentPlayer].getHand().size()==0) {
             players[currentPlayer].addScore(6);
+            announceGameOver();
             return true;
         }
 
-        return Bag.getInstance().size() == 0 && canNotPlay();
+        if (bag.size() == 0 && canNotPlay()) {
+            announceGameOver();
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -198,16 +475,13 @@ public class Game implements Serializable {
             return false;
         }
 
-        for (int i = 0; i < 91; i++) {
-            for (int j = 0; j < 91; j++) {
+        for (int i = 0; i < grid.size(); i++) {
+            for (int j = 0; j < grid.size(); j++) {
                 for (Player player : players) {
                     for (Tile tile : player.getHand()) {
-                        try {
-                            grid.verifyCanAdd(i, j, tile);
+                        if (!Rejection.isRejected(grid.check(i, j, tile))) {
                             return false;
                         }
-                        catch (QwirkleException ignored) {
-                        }
                     }
                 }
             }
@@ -234,6 +508,105 @@ public class Game implements Serializable {
         return winner;
     }
 
+    /**
+     * Returns the event bus of this game, on which spectators can subscribe.
+     * The bus is not saved with the game: a restored game starts without subscribers.
+     *
+     * @return the event bus of this game
+     */
+    public GameEventBus getEvents() {
+        if (events == null) {
+            events = new GameEventBus();
+        }
+        return events;
+    }
+
+    /**
+     * Records a move refused by the rules in the metrics of the host.
+     *
+     * @param start the time the validation started, from {@link System#nanoTime()}
+     * @param e     the exception refusing the move
+     * @return the exception, to be thrown again
+     */
+    private QwirkleException rejected(long start, QwirkleException e) {
+        if (!forked) {
+            METRICS.moveRejected(start, e.getCode() < 0 ? Rejection.getName(e.getCode()) : e.getMessage());
+        }
+        return e;
+    }
+
+    /**
+     * Records a move accepted by the rules in the metrics of the host, unless the game is a fork.
+     *
+     * @param start the time the validation started, from {@link System#nanoTime()}
+     */
+    private void accepted(long start) {
+        if (!forked) {
+            METRICS.moveAccepted(start);
+        }
+    }
+
+    /**
+     * Ends the game for the metrics of the host, whether it is over or abandoned: it is no
+     * longer counted in the active games. Only the first call counts; forks are never counted.
+     */
+    public void close() {
+        if (active) {
+            active = false;
+            METRICS.gameOver();
+        }
+    }
+
+    /**
+     * Publishes the events of a move played by the current player.
+     *
+     * @param tiles the tiles placed by the move
+     */
+    private void publishMove(List<TileAtPosition> tiles) {
+        if (!getEvents().hasSubscribers()) {
+            return;
+        }
+        String name = getCurrentPlayerName();
+        int score = getCurrentPlayerScore();
+        events.publish(new GameEvent(GameEvent.Type.TILE_PLACED, name, tiles, score));
+        events.publish(new GameEvent(GameEvent.Type.SCORE_CHANGED, name, List.of(), score));
+    }
+
+    /**
+     * Publishes the end of the game, only the first time it is detected.
+     */
+    private void announceGameOver() {
+        if (overAnnounced) {
+            return;
+        }
+        overAnnounced = true;
+        close();
+        int maxPoints = 0;
+        for (Player player : players) {
+            maxPoints = Math.max(maxPoints, player.getScore());
+        }
+        getEvents().publish(new GameEvent(GameEvent.Type.GAME_OVER, getWinner(), List.of(), maxPoints));
+    }
+
+    /**
+     * Returns the positions of a line of tiles starting at a position and going in a direction.
+     *
+     * @param row  the row of the first tile
+     * @param col  the column of the first tile
+     * @param d    the direction of the line
+     * @param line the tiles of the line
+     * @return the tiles with their positions
+     */
+    private List<TileAtPosition> positions(int row, int col, Direction d, Tile... line) {
+        List<TileAtPosition> result = new ArrayList<>(line.length);
+        for (Tile tile : line) {
+            result.add(new TileAtPosition(row, col, tile));
+            row += d.getDeltaRow();
+            col += d.getDeltaCol();
+        }
+        return result;
+    }
+
     /**
      * Returns an array of Tile objects representing a line of tiles in the player's hand.
      *
@@ -257,12 +630,16 @@ public class Game implements Serializable {
      */
     public void write(String fileName) {
         fileName += ".ser";
+        SaveLoadEvent event = SaveLoadEvent.start("save", fileName);
         try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(fileName))) {
             out.writeObject(this);
             out.close();
+            event.done("ok");
+            METRICS.gameSaved();
             System.out.println("Party saved !");
         }
         catch (IOException e) {
+            event.done(e.toString());
             throw new QwirkleException("Erreur de sauvegarde de la partie");
         }
     }
@@ -277,11 +654,18 @@ public class Game implements Serializable {
     public Game getFromFile(String fileName) {
         Game game;
         fileName += ".ser";
+        SaveLoadEvent event = SaveLoadEvent.start("load", fileName);
         try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(fileName))) {
             game = (Game) in.readObject();
             in.close();
+            event.done("ok");
+            if (!game.overAnnounced) {
+                METRICS.gameStarted();
+                game.active = true;
+            }
             System.out.println("la partie sauvegardé" + fileName);
         } catch (IOException | ClassNotFoundException e) {
+            event.done(e.toString());
             throw new QwirkleException("Erreur de restauration de la partie");
         }
         return game;
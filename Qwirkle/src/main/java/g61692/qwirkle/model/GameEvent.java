@@ -0,0 +1,35 @@
+package g61692.qwirkle.model;
+
+import java.util.List;
+
+/**
+ * A record describing something that happened during a game of Qwirkle.
+ * Events are immutable so that they can be handed to any number of observers
+ * without copying.
+ *
+ * @param type       the kind of event
+ * @param playerName the name of the player concerned (the winner for {@link Type#GAME_OVER})
+ * @param tiles      the tiles placed by the move, empty for other events
+ * @param score      the score of the player after the event
+ */
+public record GameEvent(Type type, String playerName, List<TileAtPosition> tiles, int score) {
+
+    /**
+     * The different kinds of events published by a game.
+     */
+    public enum Type {
+        TILE_PLACED, SCORE_CHANGED, TURN_PASSED, GAME_OVER
+    }
+
+    /**
+     * Creates a new event, keeping an unmodifiable copy of the tiles.
+     *
+     * @param type       the kind of event
+     * @param playerName the name of the player concerned
+     * @param tiles      the tiles placed by the move
+     * @param score      the score of the player after the event
+     */
+    public GameEvent {
+        tiles = List.copyOf(tiles);
+    }
+}
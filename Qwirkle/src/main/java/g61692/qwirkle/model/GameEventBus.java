@@ -0,0 +1,201 @@
+package g61692.qwirkle.model;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The GameEventBus broadcasts the events of a game to its subscribers.
+ * <p>
+ * Publishing never waits for a subscriber: each subscription owns a bounded buffer,
+ * and its events are delivered by a shared pool of daemon threads. When the buffer
+ * of a slow subscriber is full, its {@link OverflowPolicy} decides which event is lost,
+ * so the game thread only pays for a few buffer operations per subscriber.
+ */
+public class GameEventBus {
+
+    /**
+     * What to do with an event when the buffer of a subscriber is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The new event is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest buffered event is dropped to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * A buffered event of the same type and player is replaced by the new one,
+         * otherwise the oldest buffered event is dropped.
+         */
+        COALESCE
+    }
+
+    private static final ExecutorService DELIVERY = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "qwirkle-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Subscribes a listener with its own buffer.
+     *
+     * @param listener the listener to notify
+     * @param capacity the maximum number of events waiting for this listener
+     * @param policy   what to do when the buffer is full
+     * @return the subscription, used to unsubscribe and to monitor dropped events
+     * @throws QwirkleException if the capacity is not positive
+     */
+    public Subscription subscribe(GameListener listener, int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new QwirkleException("The capacity of a subscription must be positive");
+        }
+        Subscription subscription = new Subscription(listener, capacity, policy);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Subscribes a listener with a buffer of 256 events that drops the oldest ones.
+     *
+     * @param listener the listener to notify
+     * @return the subscription
+     */
+    public Subscription subscribe(GameListener listener) {
+        return subscribe(listener, 256, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Hands an event to every subscriber without waiting for any of them.
+     *
+     * @param event the event to broadcast
+     */
+    public void publish(GameEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Returns whether at least one listener is subscribed, so that the game
+     * can skip building events nobody will read.
+     *
+     * @return true if there is at least one subscriber
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * A listener registered on the bus, with its buffer of pending events.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final GameListener listener;
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final ArrayDeque<GameEvent> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean closed;
+
+        private Subscription(GameListener listener, int capacity, OverflowPolicy policy) {
+            this.listener = listener;
+            this.capacity = capacity;
+            this.policy = policy;
+            buffer = new ArrayDeque<>(Math.min(capacity, 64));
+        }
+
+        /**
+         * Returns the number of events this subscriber lost because it was too slow.
+         *
+         * @return the number of dropped events
+         */
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        /**
+         * Unsubscribes the listener. Events already buffered are discarded.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+            synchronized (buffer) {
+                buffer.clear();
+            }
+        }
+
+        private void offer(GameEvent event) {
+            if (closed) {
+                return;
+            }
+            synchronized (buffer) {
+                if (policy == OverflowPolicy.COALESCE && replace(event)) {
+                    dropped.incrementAndGet();
+                } else if (buffer.size() < capacity) {
+                    buffer.addLast(event);
+                } else if (policy == OverflowPolicy.DROP_NEWEST) {
+                    dropped.incrementAndGet();
+                    return;
+                } else {
+                    buffer.pollFirst();
+                    buffer.addLast(event);
+                    dropped.incrementAndGet();
+                }
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                DELIVERY.execute(this::drain);
+            }
+        }
+
+        /**
+         * Replaces the pending event of the same type and player, if any.
+         *
+         * @param event the new event
+         * @return true if an event has been replaced
+         */
+        private boolean replace(GameEvent event) {
+            Iterator<GameEvent> it = buffer.descendingIterator();
+            while (it.hasNext()) {
+                GameEvent pending = it.next();
+                if (pending.type() == event.type() && pending.playerName().equals(event.playerName())) {
+                    it.remove();
+                    buffer.addLast(event);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void drain() {
+            while (true) {
+                GameEvent event;
+                synchronized (buffer) {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        scheduled.set(false);
+                        break;
+                    }
+                }
+                if (!closed) {
+                    try {
+                        listener.onEvent(event);
+                    } catch (RuntimeException ignored) {
+                        // un spectateur défaillant ne doit pas arrêter la diffusion
+                    }
+                }
+            }
+        }
+    }
+}
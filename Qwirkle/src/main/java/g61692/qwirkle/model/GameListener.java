@@ -0,0 +1,15 @@
+package g61692.qwirkle.model;
+
+/**
+ * A spectator of a game, notified of every event it receives from a {@link GameEventBus}.
+ */
+@FunctionalInterface
+public interface GameListener {
+
+    /**
+     * Called on a delivery thread of the event bus, never on the game thread.
+     *
+     * @param event the event that happened
+     */
+    void onEvent(GameEvent event);
+}
@@ -1,24 +1,93 @@
 package g61692.qwirkle.model;
 
+import g61692.qwirkle.jfr.ScoringEvent;
+import g61692.qwirkle.jfr.ValidationEvent;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * The Grid class represents a Qwirkle game board consisting of a 91x91 grid of tiles.
+ * The Grid class represents a Qwirkle game board consisting of a 91x91 grid of tiles,
+ * or of the size chosen by its {@link RuleSet}.
  * It allows adding and validating tile placements on the board according to Qwirkle game rules.
  */
 public class Grid implements Serializable {
 
     private final Tile[][] tiles;
+    private final RuleSet rules;
     private boolean isEmpty;
 
+    private transient long[] dirtyChunks;
+    private transient volatile GridSnapshot snapshot;
+
     /**
      * Creates a new empty grid with all tiles set to null.
      */
     public Grid() {
-        tiles = new Tile[91][91];
+        this(RuleSet.STANDARD);
+    }
+
+    /**
+     * Creates a new empty grid following the given rules.
+     *
+     * @param rules the rules of the game
+     */
+    public Grid(RuleSet rules) {
+        this.rules = rules;
+        tiles = new Tile[rules.getSize()][rules.getSize()];
         isEmpty = true;
+        publishAll();
+    }
+
+    /**
+     * Creates a copy of another grid, typically to try moves without touching the original.
+     * The copy shares the last snapshot of the original, which has the same content.
+     *
+     * @param other the grid to copy
+     */
+    public Grid(Grid other) {
+        rules = other.rules;
+        tiles = new Tile[other.tiles.length][];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = other.tiles[i].clone();
+        }
+        isEmpty = other.isEmpty;
+        dirtyChunks = other.dirtyChunks.clone();
+        snapshot = other.snapshot;
+    }
+
+    /**
+     * Returns the rules followed by this grid.
+     *
+     * @return the rules of the game
+     */
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    /**
+     * Returns the number of rows and columns of the grid.
+     *
+     * @return the size of the grid
+     */
+    public int size() {
+        return tiles.length;
+    }
+
+    /**
+     * Returns the last published snapshot of the grid.
+     * A snapshot is published at the end of every successful move, so this method
+     * never locks and can be called from any thread while a move is being played.
+     *
+     * @return an immutable snapshot of the grid
+     */
+    public GridSnapshot snapshot() {
+        return snapshot;
     }
 
     /**
@@ -46,20 +115,41 @@ public class Grid implements Serializable {
      *                          tile line does not satisfy Qwirkle game rules
      */
     public int firstAdd(Direction d, Tile... line) {
+        ValidationEvent event = ValidationEvent.start("first", line);
+        try {
+            return event.accepted(Rejection.orThrow(tryFirstAdd(d, line)));
+        } catch (QwirkleException e) {
+            throw event.rejected(e);
+        }
+    }
+
+    /**
+     * Adds the specified tile line to the grid in the first move of the game, if the rules allow it,
+     * without throwing nor recording a validation event.
+     *
+     * @param d    the direction in which the tile line is to be placed
+     * @param line the tile line to add to the grid
+     * @return the points earned, or a negative {@link Rejection} code if the line was refused
+     */
+    public int tryFirstAdd(Direction d, Tile... line) {
         if (!isEmpty) {
-            throw new QwirkleException("The board already contains tiles");
+            return Rejection.NOT_EMPTY;
         }
 
-        checkTileLineRules(line);
+        int code = lineCode(line);
+        if (code < 0) {
+            return code;
+        }
 
-        int row = 45;
-        int col = 45;
+        int row = rules.getStartRow();
+        int col = rules.getStartCol();
         for (Tile tile : line) {
-            tiles[row][col] = tile;
+            set(row, col, tile);
             row += d.getDeltaRow();
             col += d.getDeltaCol();
         }
         isEmpty = false;
+        publish();
         //todo si qwirkle
 
         return line.length;
@@ -74,11 +164,32 @@ public class Grid implements Serializable {
      * @return the points earned
      */
     public int add(int row, int col, Tile tile) {
-        int points = verifyCanAdd(row, col, tile);
+        ValidationEvent event = ValidationEvent.start("single", tile);
+        try {
+            return event.accepted(Rejection.orThrow(tryAdd(row, col, tile)));
+        } catch (QwirkleException e) {
+            throw event.rejected(e);
+        }
+    }
 
-        tiles[row][col] = tile;
+    /**
+     * Adds a tile to a certain position if the rules allow it, without throwing
+     * nor recording a validation event.
+     *
+     * @param row  the row index of the Tile object to place
+     * @param col  the column index of the Tile object to place
+     * @param tile the tile to place
+     * @return the points earned, or a negative {@link Rejection} code if the tile was refused
+     */
+    public int tryAdd(int row, int col, Tile tile) {
+        int points = check(row, col, tile);
+        if (points < 0) {
+            return points;
+        }
+
+        set(row, col, tile);
 
-        deleteQwirkle(row, col);
+        publish();
 
         return points;
     }
@@ -93,16 +204,42 @@ public class Grid implements Serializable {
      * @throws QwirkleException if the position is not free or there are no tiles around
      */
     public int verifyCanAdd(int row, int col, Tile tile) {
-        int points = 0;
+        ValidationEvent event = ValidationEvent.start("check", tile);
+        try {
+            return event.accepted(Rejection.orThrow(check(row, col, tile)));
+        } catch (QwirkleException e) {
+            throw event.rejected(e);
+        }
+    }
 
-        isPlaceFree(row, col);
+    /**
+     * Verifies if a tile can be added at the specified position, without throwing nor
+     * recording a validation event. This is the check the bots run on every free cell.
+     *
+     * @param row  the row index of the position
+     * @param col  the column index of the position
+     * @param tile the tile to be added
+     * @return the points gained by adding the tile, or a negative {@link Rejection} code
+     * if the tile cannot be added there
+     */
+    public int check(int row, int col, Tile tile) {
+        int code = freeCode(row, col);
+        if (code < 0) {
+            return code;
+        }
         if (!isTileAround(row, col)) {
-            throw new QwirkleException("There is no tile around.");
+            return Rejection.NO_NEIGHBOUR;
+        }
+        int rowPoints = rowScore(row, col, tile);
+        if (rowPoints < 0) {
+            return rowPoints;
+        }
+        int colPoints = colScore(row, col, tile);
+        if (colPoints < 0) {
+            return colPoints;
         }
-        points += 1 + checkBoardRow(row, col, tile);
-        points += 1 + checkBoardCol(row, col, tile);
 
-        return points;
+        return 1 + rowPoints + 1 + colPoints;
     }
 
     /**
@@ -116,51 +253,80 @@ public class Grid implements Serializable {
      * @throws QwirkleException if the tile line violates any of the Qwirkle game rules or if there are no tiles around the line
      */
     public int add(int row, int col, Direction d, Tile... line) {
-        checkTileLineRules(line);
+        ValidationEvent event = ValidationEvent.start("line", line);
+        try {
+            return event.accepted(Rejection.orThrow(tryAdd(row, col, d, line)));
+        } catch (QwirkleException e) {
+            throw event.rejected(e);
+        }
+    }
+
+    /**
+     * Adds a line of tiles to the board if the rules allow it, without throwing nor recording
+     * a validation event. Nothing is placed when the line is refused.
+     *
+     * @param row  the row index where the line of tiles starts
+     * @param col  the column index where the line of tiles starts
+     * @param d    the direction in which the line of tiles extends
+     * @param line the tiles to be added to the line
+     * @return the points earned, or a negative {@link Rejection} code if the line was refused
+     */
+    public int tryAdd(int row, int col, Direction d, Tile... line) {
+        int code = lineCode(line);
+        if (code < 0) {
+            return code;
+        }
         if (!isTileAround(row, col, d, line)) {
-            throw new QwirkleException("There is no tile around this line");
+            return Rejection.NO_NEIGHBOUR;
         }
 
         int posRow = row;
         int posCol = col;
 
         for (Tile tile : line) {
-            isPlaceFree(posRow, posCol);
-            checkBoardRow(posRow, posCol, tile);
-            checkBoardCol(posRow, posCol, tile);
+            code = placeCode(posRow, posCol, tile);
+            if (code < 0) {
+                return code;
+            }
             posRow += d.getDeltaRow();
             posCol += d.getDeltaCol();
         }
 
         if (d == Direction.UP || d == Direction.DOWN) {
             for (Tile tile : line) {
-                checkBoardCol(row, col, tile);
+                code = colScore(row, col, tile);
+                if (code < 0) {
+                    return code;
+                }
             }
         }
 
         if (d == Direction.RIGHT || d == Direction.LEFT) {
             for (Tile tile : line) {
-                checkBoardRow(row, col, tile);
+                code = rowScore(row, col, tile);
+                if (code < 0) {
+                    return code;
+                }
             }
         }
 
+        TileAtPosition[] placed = new TileAtPosition[line.length];
         posRow = row;
         posCol = col;
-        for (Tile tile : line) {
-            tiles[posRow][posCol] = tile;
+        for (int i = 0; i < line.length; i++) {
+            placed[i] = new TileAtPosition(posRow, posCol, line[i]);
             posRow += d.getDeltaRow();
             posCol += d.getDeltaCol();
         }
-
-        posRow = row;
-        posCol = col;
-        for (Tile tile : line) {
-            deleteQwirkle(posRow, posCol);
-            posRow += d.getDeltaRow();
-            posCol += d.getDeltaCol();
+        code = setAll(placed);
+        if (code < 0) {
+            return code;
         }
 
-        return countPoints(row, col, d, line);
+        publish();
+
+        ScoringEvent scoring = ScoringEvent.start(line.length);
+        return scoring.scored(countPoints(row, col, d, line));
     }
 
     /**
@@ -171,35 +337,57 @@ public class Grid implements Serializable {
      * @throws QwirkleException if the tile line violates any of the Qwirkle game rules or if there are no tiles around the line
      */
     public int add(TileAtPosition... line) {
+        ValidationEvent event = ValidationEvent.start("tiles", line);
+        try {
+            return event.accepted(Rejection.orThrow(tryAdd(line)));
+        } catch (QwirkleException e) {
+            throw event.rejected(e);
+        }
+    }
+
+    /**
+     * Adds a line of tiles to the board if the rules allow it, without throwing nor recording
+     * a validation event. Nothing is placed when the line is refused.
+     *
+     * @param line the array of TileAtPosition objects representing the tiles and their positions in the line
+     * @return the points earned, or a negative {@link Rejection} code if the line was refused
+     */
+    public int tryAdd(TileAtPosition... line) {
         int points = 0;
 
         if (line == null || line.length == 0) {
-            throw new QwirkleException("The line isEmpty.");
+            return Rejection.EMPTY_LINE;
         }
-        if (line.length > 6) {
-            throw new QwirkleException("The maximum allowed length for a Qwirkle line is six.");
+        if (line.length > rules.getLineLength()) {
+            return Rejection.TOO_LONG;
         }
         if (line.length == 1) {
-            points = add(line[0].row(), line[0].col(), line[0].tile());
+            points = tryAdd(line[0].row(), line[0].col(), line[0].tile());
+            if (points < 0) {
+                return points;
+            }
         }
         if (line.length >= 2) {
             Tile[] lineOfTile = new Tile[line.length];
             for (int i = 0; i < line.length; i++) {
                 lineOfTile[i] = line[i].tile();
             }
-            checkTileLineRules(lineOfTile);
+            int code = lineCode(lineOfTile);
+            if (code < 0) {
+                return code;
+            }
             boolean sameCol = line[0].col() == line[1].col();
             boolean sameRow = line[0].row() == line[1].row();
 
             if (sameCol == sameRow) {
-                throw new QwirkleException("Les tuiles doivent appartenir à la meme ligne ou colonne");
+                return Rejection.NOT_ALIGNED;
             }
 
 
             if (sameCol) {
                 for (TileAtPosition tile : line) {
                     if (tile.col() != line[0].col()) {
-                        throw new QwirkleException("");
+                        return Rejection.NOT_ALIGNED;
                     }
                 }
             }
@@ -207,36 +395,117 @@ public class Grid implements Serializable {
             if (sameRow) {
                 for (TileAtPosition tile : line) {
                     if (tile.row() != line[0].row()) {
-                        throw new QwirkleException("");
+                        return Rejection.NOT_ALIGNED;
                     }
                 }
             }
 
             for (TileAtPosition tilePos : line) {
-                isPlaceFree(tilePos.row(), tilePos.col());
-                checkBoardRow(tilePos.row(), tilePos.col(), tilePos.tile());
-                checkBoardCol(tilePos.row(), tilePos.col(), tilePos.tile());
+                code = placeCode(tilePos.row(), tilePos.col(), tilePos.tile());
+                if (code < 0) {
+                    return code;
+                }
                 //ajoute directement a la ligne
             }
 
             if (!isTileAround(line)) {
-                throw new QwirkleException("There is no tile around.");
+                return Rejection.NO_NEIGHBOUR;
             }
 
-            for (TileAtPosition tilePos : line) {
-                tiles[tilePos.row()][tilePos.col()] = tilePos.tile();
+            code = setAll(line);
+            if (code < 0) {
+                return code;
             }
 
-            points = countPoints(line);
+            ScoringEvent scoring = ScoringEvent.start(line.length);
+            points = scoring.scored(countPoints(line));
         }
 
-        for (TileAtPosition tile : line) {
-            deleteQwirkle(tile.row(), tile.col());
-        }
+        publish();
 
         return points;
     }
 
+    /**
+     * Validates and scores a batch of moves packed by {@link Move}, without changing the grid.
+     * Each move is evaluated as {@link Game#play(long)} would play it on this grid.
+     *
+     * @param moves   the packed moves
+     * @param hand    the hand the indexes of the moves refer to
+     * @param results receives, for each move, the points earned or a negative {@link Rejection} code;
+     *                it must be at least as long as the moves
+     */
+    public void evaluate(long[] moves, List<Tile> hand, int[] results) {
+        checkBatch(moves, results);
+        new MoveEvaluator(this, moves, hand, results, 0, moves.length).run();
+    }
+
+    /**
+     * Validates and scores a batch of moves like {@link #evaluate(long[], List, int[])}, splitting
+     * large batches between the threads of a pool. The grid must not change until this method returns.
+     *
+     * @param moves   the packed moves
+     * @param hand    the hand the indexes of the moves refer to
+     * @param results receives, for each move, the points earned or a negative {@link Rejection} code;
+     *                it must be at least as long as the moves
+     * @param pool    the pool evaluating the parts of the batch
+     */
+    public void evaluate(long[] moves, List<Tile> hand, int[] results, ForkJoinPool pool) {
+        checkBatch(moves, results);
+        pool.invoke(new MoveEvaluator(this, moves, hand, results, 0, moves.length));
+    }
+
+    private static void checkBatch(long[] moves, int[] results) {
+        if (results.length < moves.length) {
+            throw new IllegalArgumentException("Room for " + results.length + " results, "
+                    + moves.length + " moves");
+        }
+    }
+
+    /**
+     * Copies back a row and a column of another grid, undoing a move tried on a copy of it.
+     *
+     * @param source the grid this grid is a copy of
+     * @param row    the row to restore
+     * @param col    the column to restore
+     */
+    void restore(Grid source, int row, int col) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[row][i] != source.tiles[row][i]) {
+                set(row, i, source.tiles[row][i]);
+            }
+            if (tiles[i][col] != source.tiles[i][col]) {
+                set(i, col, source.tiles[i][col]);
+            }
+        }
+        isEmpty = source.isEmpty;
+    }
+
+    /**
+     * Sets the tiles of a move on the board, then checks the lines crossing them: the checks made
+     * before miss the lines where the new tiles meet each other. If one of those lines is invalid,
+     * the tiles are taken back.
+     *
+     * @param placed the tiles of the move, on free positions
+     * @return 0 if the tiles stay on the board, or the {@link Rejection} code of the invalid line
+     */
+    private int setAll(TileAtPosition... placed) {
+        for (TileAtPosition tile : placed) {
+            set(tile.row(), tile.col(), tile.tile());
+        }
+        for (TileAtPosition tile : placed) {
+            int code = Math.min(rowScore(tile.row(), tile.col(), tile.tile()),
+                    colScore(tile.row(), tile.col(), tile.tile()));
+            if (code < 0) {
+                for (TileAtPosition taken : placed) {
+                    set(taken.row(), taken.col(), null);
+                }
+                return code;
+            }
+        }
+        return 0;
+    }
+
     /**
      * Checks if the board is empty.
      *
@@ -416,69 +685,71 @@ public class Grid implements Serializable {
      * Validates the specified tile line according to Qwirkle game rules.
      *
      * @param line the tile line to validate
-     * @throws QwirkleException if the tile line contains more than 6 tiles
-     *                          or if the tiles in the line do not satisfy Qwirkle game rules
+     * @return 0 if the line is valid, or the {@link Rejection} code if the line is empty,
+     * longer than a complete line or if its tiles do not satisfy Qwirkle game rules
      */
-    private void checkTileLineRules(Tile... line) {
+    int lineCode(Tile... line) {
         if (line == null || line.length == 0) {
-            throw new QwirkleException("The line is empty");
+            return Rejection.EMPTY_LINE;
         }
 
-        if (line.length > 6) {
-            throw new QwirkleException("The number of tiles must not exceed 6");
+        if (line.length > rules.getLineLength()) {
+            return Rejection.TOO_LONG;
         }
 
+        int colorMask = 0;
+        int shapeMask = 0;
         for (Tile tile : line) {
             if (tile == null) {
-                throw new QwirkleException("Null Tile in the line");
+                return Rejection.EMPTY_LINE;
             }
+            colorMask |= 1 << tile.color().ordinal();
+            shapeMask |= 1 << tile.shape().ordinal();
         }
 
-        for (int i = 0; i < line.length - 1; i++) {
-            for (int j = i + 1; j < line.length; j++) {
-                if (tileNotMatch(line[i], line[j])) {
-                    throw new QwirkleException("The tile line is invalid");
-                }
-            }
+        if (!RuleSet.isLine(colorMask, shapeMask, line.length)) {
+            return Rejection.CONFLICT;
         }
+        return 0;
     }
 
     /**
-     * Compares two Tile objects to check if they can't be placed adjacent
-     * to each other according to Qwirkle game rules.
+     * Check that a certain position is free in order to place a tile there
      *
-     * @param tile1 the first Tile object to compare
-     * @param tile2 the second Tile object to compare
-     * @return false if the two Tile objects can be placed adjacent to each
-     * other, true otherwise
+     * @param row the row index
+     * @param col the column index
+     * @return 0 if the position is free, or the {@link Rejection} code if it is out of the grid or taken
      */
-    private boolean tileNotMatch(Tile tile1, Tile tile2) {
-        boolean isSameColor = tile1.color().equals(tile2.color());
-        boolean isSameShape = tile1.shape().equals(tile2.shape());
-        boolean isSameColorOrShape = isSameColor || isSameShape;
-        boolean isSameColorAndShape = tile1.equals(tile2);
+    private int freeCode(int row, int col) {
+        if (row < 0 || col < 0 || row >= tiles.length || col >= tiles[0].length) {
+            return Rejection.OUT_OF_BOUNDS;
+        }
 
-        if (isSameColorAndShape) {
-            return true;
+        if (tiles[row][col] != null) {
+            return Rejection.OCCUPIED;
         }
-        return !isSameColorOrShape;
+        return 0;
     }
 
     /**
-     * Check that a certain position is free in order to place a tile there
+     * Checks that a tile of a line can go at a position, against the tiles already on the board.
      *
-     * @param row the row index
-     * @param col the column index
-     * @throws QwirkleException if the position is not free
+     * @param row  the row index
+     * @param col  the column index
+     * @param tile the tile to place
+     * @return 0 if the tile can go there, or the {@link Rejection} code otherwise
      */
-    private void isPlaceFree(int row, int col) {
-        if (row < 0 || col < 0 || row >= tiles.length || col >= tiles[0].length) {
-            throw new QwirkleException("Tile out of the grid");
+    private int placeCode(int row, int col, Tile tile) {
+        int code = freeCode(row, col);
+        if (code < 0) {
+            return code;
         }
-
-        if (tiles[row][col] != null) {
-            throw new QwirkleException("The position is not free.");
+        code = rowScore(row, col, tile);
+        if (code < 0) {
+            return code;
         }
+        code = colScore(row, col, tile);
+        return Math.min(code, 0);
     }
 
     /**
@@ -486,11 +757,11 @@ public class Grid implements Serializable {
      *
      * @param row the row of the position to check
      * @param col the column of the position to check
-     * @return false if there are no adjacent tiles, return otherwise.
+     * @return false if there are no adjacent tiles or if the position is out of the grid, true otherwise.
      */
     private boolean isTileAround(int row, int col) {
         if (row < 0 || col < 0 || row >= tiles.length || col >= tiles[0].length) {
-            throw new QwirkleException("Tile out of the grid");
+            return false;
         }
 
         int numRows = tiles.length;
@@ -574,57 +845,39 @@ public class Grid implements Serializable {
      * @throws QwirkleException if the row does not form a valid Qwirkle with the given tile
      */
     private int checkBoardRow(int row, int col, Tile tile) {
+        return Rejection.orThrow(rowScore(row, col, tile));
+    }
+
+    /**
+     * Checks if adding a given tile to a row on the board would form a valid Qwirkle
+     * and return the points earned, without throwing.
+     *
+     * @param row  the row to check
+     * @param col  the column of the position to add the tile
+     * @param tile the tile to add
+     * @return the number of points for the row, or the {@link Rejection} code if the row
+     * does not form a valid Qwirkle with the given tile
+     */
+    private int rowScore(int row, int col, Tile tile) {
         List<Tile> boardRow = new ArrayList<>();
         boardRow.addAll(getTilesInDirection(row, col, 0, -1));
         boardRow.addAll(getTilesInDirection(row, col, 0, 1));
 
-        isQuirkle(boardRow, tile);
+        int code = qwirkleCode(boardRow, tile);
+        if (code < 0) {
+            return code;
+        }
 
         int points = boardRow.size();
 
-        // if it's a qwirkle add 6 points
-        if (points == 5) {
-            points += 6;
+        // if it's a qwirkle add the bonus
+        if (points == rules.getLineLength() - 1) {
+            points += rules.getQwirkleBonus();
         }
 
         return points;
     }
 
-    private void deleteQwirkle(int row, int col) {
-        List<Integer> boardRow = new ArrayList<>();
-        boardRow.addAll(getTilesInDirection2(row, col, 0, -1));
-        boardRow.addAll(getTilesInDirection2(row, col, 0, 1));
-
-        List<Integer> boardCol = new ArrayList<>();
-        boardCol.addAll(getTilesInDirection2(row, col, -1, 0));
-        boardCol.addAll(getTilesInDirection2(row, col, 1, 0));
-
-        if (boardCol.size() + 1 == 6) {
-            for (int i = 0; i < (boardCol.size()/2) - 1; i+=2) {
-                tiles[boardCol.get(i)][boardCol.get(i+1)] = null;
-            }
-        }
-
-        if (boardRow.size() + 1 == 6) {
-            for (int i = 0; i < (boardRow.size()/2) - 1; i+=2) {
-                tiles[boardRow.get(i)][boardRow.get(i+1)] = null;
-            }
-        }
-    }
-
-    private List<Integer> getTilesInDirection2(int startRow, int startCol, int rowIncrement, int colIncrement) {
-        List<Integer> tilesInDirection = new ArrayList<>();
-        int row = startRow + rowIncrement;
-        int col = startCol + colIncrement;
-        while (row >= 0 && row < tiles.length && col >= 0 && col < tiles[0].length && tiles[row][col] != null) {
-            tilesInDirection.add(row);
-            tilesInDirection.add(col);
-            row += rowIncrement;
-            col += colIncrement;
-        }
-        return tilesInDirection;
-    }
-
     /**
      * Checks if adding a given tile to a column on the board would form a valid Qwirkle
      * and return the number of points earned
@@ -636,17 +889,34 @@ public class Grid implements Serializable {
      * @throws QwirkleException if the column does not form a valid Qwirkle with the given tile
      */
     private int checkBoardCol(int row, int col, Tile tile) {
+        return Rejection.orThrow(colScore(row, col, tile));
+    }
+
+    /**
+     * Checks if adding a given tile to a column on the board would form a valid Qwirkle
+     * and return the points earned, without throwing.
+     *
+     * @param row  the row to check
+     * @param col  the column of the position to add the tile
+     * @param tile the tile to add
+     * @return the number of points for the col, or the {@link Rejection} code if the column
+     * does not form a valid Qwirkle with the given tile
+     */
+    private int colScore(int row, int col, Tile tile) {
         List<Tile> boardCol = new ArrayList<>();
         boardCol.addAll(getTilesInDirection(row, col, -1, 0));
         boardCol.addAll(getTilesInDirection(row, col, 1, 0));
 
-        isQuirkle(boardCol, tile);
+        int code = qwirkleCode(boardCol, tile);
+        if (code < 0) {
+            return code;
+        }
 
         int points = boardCol.size();
 
-        // if it's a qwirkle add 6 points
-        if (points == 5) {
-            points += 6;
+        // if it's a qwirkle add the bonus
+        if (points == rules.getLineLength() - 1) {
+            points += rules.getQwirkleBonus();
         }
 
         return points;
@@ -678,26 +948,110 @@ public class Grid implements Serializable {
      *
      * @param qwirkle the list of tiles to check
      * @param tile    the tile to add to the list
-     * @throws QwirkleException if the list is longer than 6 or contains tiles that do not form a valid Qwirkle
+     * @return 0 if the tiles form a valid Qwirkle, or the {@link Rejection} code if the line would be
+     * longer than a complete line or contains tiles that do not form a valid Qwirkle
      */
-    private void isQuirkle(List<Tile> qwirkle, Tile tile) {
-        if (qwirkle.size() > 6) {
-            throw new QwirkleException("The number of tiles must not exceed 6");
+    private int qwirkleCode(List<Tile> qwirkle, Tile tile) {
+        if (qwirkle.size() >= rules.getLineLength()) {
+            return Rejection.TOO_LONG;
         }
 
-        for (int i = 0; i < qwirkle.size() - 1; i++) {
-            for (int j = i + 1; j < qwirkle.size(); j++) {
-                if (tileNotMatch(qwirkle.get(i), qwirkle.get(j))) {
-                    throw new QwirkleException("The tile line is invalid");
-                }
-            }
+        int colorMask = 1 << tile.color().ordinal();
+        int shapeMask = 1 << tile.shape().ordinal();
+        for (Tile tileRow : qwirkle) {
+            colorMask |= 1 << tileRow.color().ordinal();
+            shapeMask |= 1 << tileRow.shape().ordinal();
         }
 
-        for (Tile tileRow : qwirkle) {
-            if (tileNotMatch(tileRow, tile)) {
-                throw new QwirkleException("The tile line is invalid");
+        if (!RuleSet.isLine(colorMask, shapeMask, qwirkle.size() + 1)) {
+            return Rejection.CONFLICT;
+        }
+        return 0;
+    }
+
+    /**
+     * Writes a cell of the board and remembers that its chunk must be copied
+     * into the next snapshot.
+     *
+     * @param row  the row of the cell
+     * @param col  the column of the cell
+     * @param tile the tile to put in the cell, or null to free it
+     */
+    private void set(int row, int col, Tile tile) {
+        tiles[row][col] = tile;
+        int chunk = GridSnapshot.chunkIndex(row, col, chunksPerRow());
+        dirtyChunks[chunk >>> 6] |= 1L << chunk;
+    }
+
+    /**
+     * Publishes a new snapshot, copying only the chunks written since the previous one.
+     */
+    private void publish() {
+        GridSnapshot previous = snapshot;
+        int perRow = chunksPerRow();
+        Tile[][] chunks = new Tile[perRow * perRow][];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            if ((dirtyChunks[chunk >>> 6] & (1L << chunk)) != 0) {
+                chunks[chunk] = copyChunk(chunk, perRow);
+            } else {
+                chunks[chunk] = previous.chunkAt(chunk);
             }
         }
+        Arrays.fill(dirtyChunks, 0);
+        snapshot = new GridSnapshot(chunks, perRow, tiles.length, isEmpty, previous.getVersion() + 1);
+    }
+
+    /**
+     * Publishes a snapshot copying every chunk, used when no previous snapshot exists.
+     */
+    private void publishAll() {
+        int perRow = chunksPerRow();
+        Tile[][] chunks = new Tile[perRow * perRow][];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            chunks[chunk] = copyChunk(chunk, perRow);
+        }
+        dirtyChunks = new long[(chunks.length + 63) / 64];
+        snapshot = new GridSnapshot(chunks, perRow, tiles.length, isEmpty, 0);
+    }
+
+    /**
+     * Copies the cells of a chunk into a new array.
+     *
+     * @param chunk  the index of the chunk
+     * @param perRow the number of chunks on a row of the board
+     * @return the cells of the chunk, row by row
+     */
+    private Tile[] copyChunk(int chunk, int perRow) {
+        int size = GridSnapshot.CHUNK_SIZE;
+        Tile[] cells = new Tile[size * size];
+        int startRow = (chunk / perRow) * size;
+        int startCol = (chunk % perRow) * size;
+        for (int i = 0; i < size && startRow + i < tiles.length; i++) {
+            int length = Math.min(size, tiles.length - startCol);
+            System.arraycopy(tiles[startRow + i], startCol, cells, i * size, length);
+        }
+        return cells;
+    }
+
+    /**
+     * Returns the number of chunks on a row of the board.
+     *
+     * @return the number of chunks on a row
+     */
+    private int chunksPerRow() {
+        return (tiles.length + GridSnapshot.CHUNK_SIZE - 1) / GridSnapshot.CHUNK_SIZE;
+    }
+
+    /**
+     * Restores a saved grid and publishes its first snapshot.
+     *
+     * @param in the stream to read from
+     * @throws IOException            if the stream cannot be read
+     * @throws ClassNotFoundException if a class of the saved grid cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        publishAll();
     }
 
 }
@@ -0,0 +1,117 @@
+package g61692.qwirkle.model;
+
+/**
+ * An immutable picture of a {@link Grid} at a given moment.
+ * <p>
+ * The board is cut into square chunks of {@link #CHUNK_SIZE} cells. A new snapshot only
+ * copies the chunks modified since the previous one and shares all the others, so
+ * publishing a snapshot after a move costs a few small arrays instead of a full copy
+ * of the board. Snapshots can be read from any thread without locking.
+ */
+public final class GridSnapshot {
+
+    /**
+     * The number of rows and columns of a chunk.
+     */
+    public static final int CHUNK_SIZE = 7;
+
+    private final Tile[][] chunks;
+    private final int chunksPerRow;
+    private final int size;
+    private final boolean empty;
+    private final long version;
+
+    /**
+     * Creates a snapshot from chunks that will never be modified again.
+     *
+     * @param chunks       the chunks of the board, row by row
+     * @param chunksPerRow the number of chunks on a row of the board
+     * @param size         the number of rows and columns of the board
+     * @param empty        whether the board is empty
+     * @param version      the number of snapshots published before this one
+     */
+    GridSnapshot(Tile[][] chunks, int chunksPerRow, int size, boolean empty, long version) {
+        this.chunks = chunks;
+        this.chunksPerRow = chunksPerRow;
+        this.size = size;
+        this.empty = empty;
+        this.version = version;
+    }
+
+    /**
+     * Returns the tile at the specified row and column.
+     *
+     * @param row the row of the tile
+     * @param col the column of the tile
+     * @return the tile, or null if the cell is free or outside the board
+     */
+    public Tile get(int row, int col) {
+        if (row < 0 || col < 0 || row >= size || col >= size) {
+            return null;
+        }
+        Tile[] chunk = chunks[chunkIndex(row, col, chunksPerRow)];
+        return chunk[(row % CHUNK_SIZE) * CHUNK_SIZE + col % CHUNK_SIZE];
+    }
+
+    /**
+     * Returns whether the board was empty.
+     *
+     * @return true if no tile had been placed
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Returns the number of rows and columns of the board.
+     *
+     * @return the size of the board
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the version of this snapshot. Versions increase with every published snapshot
+     * of the same grid, so a reader can cheaply tell whether the board changed.
+     *
+     * @return the version of this snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the cells of a chunk, which must not be modified.
+     *
+     * @param chunk the index of the chunk
+     * @return the cells of the chunk, row by row
+     */
+    Tile[] chunkAt(int chunk) {
+        return chunks[chunk];
+    }
+
+    /**
+     * Returns whether this snapshot shares the given chunk with another one, meaning
+     * that the cells of this chunk did not change between them.
+     *
+     * @param other the other snapshot
+     * @param chunk the index of the chunk
+     * @return true if the chunk is shared
+     */
+    boolean sharesChunk(GridSnapshot other, int chunk) {
+        return chunks[chunk] == other.chunks[chunk];
+    }
+
+    /**
+     * Returns the index of the chunk containing a cell.
+     *
+     * @param row          the row of the cell
+     * @param col          the column of the cell
+     * @param chunksPerRow the number of chunks on a row of the board
+     * @return the index of the chunk
+     */
+    static int chunkIndex(int row, int col, int chunksPerRow) {
+        return (row / CHUNK_SIZE) * chunksPerRow + col / CHUNK_SIZE;
+    }
+}
@@ -31,6 +31,15 @@ public class GridView {
         return grid.get(row, col);
     }
 
+    /**
+     * Returns the number of rows and columns of the associated grid.
+     *
+     * @return the size of the grid
+     */
+    public int size() {
+        return grid.size();
+    }
+
     /**
      * Returns whether or not the associated grid is empty.
      *
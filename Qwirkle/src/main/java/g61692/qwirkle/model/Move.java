@@ -0,0 +1,276 @@
+package g61692.qwirkle.model;
+
+/**
+ * Move packs a whole Qwirkle move into a single {@code long}, so that search, journals and
+ * the network can pass moves around without allocating any object.
+ * <p>
+ * The tiles of a move are always on the same row or column. A move is therefore stored as
+ * an anchor cell, a direction, and for each tile its distance from the anchor in that
+ * direction and its index in the hand of the player:
+ * <pre>
+ * bits  0-9   row of the anchor
+ * bits 10-19  column of the anchor
+ * bits 20-22  number of tiles (1 to 6)
+ * bits 23-24  direction (ordinal of {@link Direction})
+ * bit  25     first move of the game (the anchor is the start cell of the grid)
+ * bits 26-61  for each tile, 3 bits of offset from the anchor then 3 bits of hand index
+ * </pre>
+ * The tiles are designated by their index in the hand rather than by their identifier in the
+ * {@link RuleSet}: a hand may hold two identical tiles, and six indexes fit in the long where
+ * six identifiers would not.
+ */
+public final class Move {
+
+    /**
+     * The maximum number of tiles in a move, that is the size of a hand.
+     */
+    public static final int MAX_TILES = 6;
+
+    /**
+     * The largest row or column an anchor can have.
+     */
+    public static final int MAX_COORDINATE = (1 << 10) - 1;
+
+    private static final int COL_SHIFT = 10;
+    private static final int COUNT_SHIFT = 20;
+    private static final int DIRECTION_SHIFT = 23;
+    private static final int FIRST_SHIFT = 25;
+    private static final int TILES_SHIFT = 26;
+    private static final int TILE_BITS = 6;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private Move() {
+    }
+
+    /**
+     * Encodes a move whose tiles are at any distance from the anchor along a direction.
+     *
+     * @param row     the row of the anchor
+     * @param col     the column of the anchor
+     * @param d       the direction from the anchor to the tiles
+     * @param offsets the distance of each tile from the anchor, between 0 and 7
+     * @param indexes the index of each tile in the hand, between 0 and 5
+     * @return the packed move
+     * @throws QwirkleException if a value does not fit in the packed format
+     */
+    public static long of(int row, int col, Direction d, int[] offsets, int[] indexes) {
+        if (row < 0 || row > MAX_COORDINATE || col < 0 || col > MAX_COORDINATE) {
+            throw new QwirkleException("The position " + row + ", " + col + " cannot be packed");
+        }
+        if (indexes.length == 0 || indexes.length > MAX_TILES || offsets.length != indexes.length) {
+            throw new QwirkleException("A move has between 1 and " + MAX_TILES + " tiles");
+        }
+        long move = row
+                | (long) col << COL_SHIFT
+                | (long) indexes.length << COUNT_SHIFT
+                | (long) d.ordinal() << DIRECTION_SHIFT;
+        for (int i = 0; i < indexes.length; i++) {
+            if (offsets[i] < 0 || offsets[i] > 7 || indexes[i] < 0 || indexes[i] >= MAX_TILES) {
+                throw new QwirkleException("The tile " + i + " of the move cannot be packed");
+            }
+            move |= (long) (offsets[i] << 3 | indexes[i]) << (TILES_SHIFT + i * TILE_BITS);
+        }
+        return move;
+    }
+
+    /**
+     * Encodes a single tile placed on the grid.
+     *
+     * @param row   the row of the tile
+     * @param col   the column of the tile
+     * @param index the index of the tile in the hand
+     * @return the packed move
+     */
+    public static long single(int row, int col, int index) {
+        return of(row, col, Direction.RIGHT, new int[]{0}, new int[]{index});
+    }
+
+    /**
+     * Encodes a line of adjacent tiles starting at a position.
+     *
+     * @param row     the row of the first tile
+     * @param col     the column of the first tile
+     * @param d       the direction of the line
+     * @param indexes the indexes of the tiles in the hand, in the order of the line
+     * @return the packed move
+     */
+    public static long line(int row, int col, Direction d, int... indexes) {
+        int[] offsets = new int[indexes.length];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = i;
+        }
+        return of(row, col, d, offsets, indexes);
+    }
+
+    /**
+     * Encodes the first move of the game, played from the start cell of the grid.
+     *
+     * @param d       the direction of the line
+     * @param indexes the indexes of the tiles in the hand, in the order of the line
+     * @return the packed move
+     */
+    public static long first(Direction d, int... indexes) {
+        return line(0, 0, d, indexes) | 1L << FIRST_SHIFT;
+    }
+
+    /**
+     * Returns the row of the anchor of a move.
+     *
+     * @param move the packed move
+     * @return the row of the anchor
+     */
+    public static int row(long move) {
+        return (int) (move & MAX_COORDINATE);
+    }
+
+    /**
+     * Returns the column of the anchor of a move.
+     *
+     * @param move the packed move
+     * @return the column of the anchor
+     */
+    public static int col(long move) {
+        return (int) (move >>> COL_SHIFT & MAX_COORDINATE);
+    }
+
+    /**
+     * Returns the number of tiles of a move.
+     *
+     * @param move the packed move
+     * @return the number of tiles
+     */
+    public static int count(long move) {
+        return (int) (move >>> COUNT_SHIFT & 7);
+    }
+
+    /**
+     * Returns the direction from the anchor to the tiles of a move.
+     *
+     * @param move the packed move
+     * @return the direction of the move
+     */
+    public static Direction direction(long move) {
+        return DIRECTIONS[(int) (move >>> DIRECTION_SHIFT & 3)];
+    }
+
+    /**
+     * Returns whether a move is the first move of the game.
+     *
+     * @param move the packed move
+     * @return true if the move is played from the start cell of the grid
+     */
+    public static boolean isFirst(long move) {
+        return (move >>> FIRST_SHIFT & 1) != 0;
+    }
+
+    /**
+     * Returns the distance from the anchor of a tile of a move.
+     *
+     * @param move the packed move
+     * @param i    the number of the tile in the move
+     * @return the offset of the tile
+     */
+    public static int offset(long move, int i) {
+        return (int) (move >>> (TILES_SHIFT + i * TILE_BITS + 3) & 7);
+    }
+
+    /**
+     * Returns the index in the hand of a tile of a move.
+     *
+     * @param move the packed move
+     * @param i    the number of the tile in the move
+     * @return the index of the tile in the hand
+     */
+    public static int index(long move, int i) {
+        return (int) (move >>> (TILES_SHIFT + i * TILE_BITS) & 7);
+    }
+
+    /**
+     * Returns the row of a tile of a move.
+     *
+     * @param move the packed move
+     * @param i    the number of the tile in the move
+     * @return the row of the tile
+     */
+    public static int rowOf(long move, int i) {
+        return row(move) + offset(move, i) * direction(move).getDeltaRow();
+    }
+
+    /**
+     * Returns the column of a tile of a move.
+     *
+     * @param move the packed move
+     * @param i    the number of the tile in the move
+     * @return the column of the tile
+     */
+    public static int colOf(long move, int i) {
+        return col(move) + offset(move, i) * direction(move).getDeltaCol();
+    }
+
+    /**
+     * Returns whether the tiles of a move are adjacent, in the order of the line.
+     *
+     * @param move the packed move
+     * @return true if the i-th tile is at offset i for every tile
+     */
+    public static boolean isLine(long move) {
+        for (int i = 0; i < count(move); i++) {
+            if (offset(move, i) != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hand indexes of the tiles of a move.
+     *
+     * @param move the packed move
+     * @return the indexes, in the order of the move
+     */
+    public static int[] indexes(long move) {
+        int[] indexes = new int[count(move)];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = index(move, i);
+        }
+        return indexes;
+    }
+
+    /**
+     * Returns the move written as the console command that plays it,
+     * for example {@code l 44 45 d 0 1} or {@code o 46 45 3}.
+     *
+     * @param move the packed move
+     * @return the command of the move
+     */
+    public static String toString(long move) {
+        StringBuilder sb = new StringBuilder();
+        int count = count(move);
+        if (isFirst(move)) {
+            sb.append("f ").append(letter(direction(move)));
+        } else if (count == 1) {
+            sb.append("o ").append(row(move)).append(' ').append(col(move));
+        } else if (isLine(move)) {
+            sb.append("l ").append(row(move)).append(' ').append(col(move)).append(' ').append(letter(direction(move)));
+        } else {
+            sb.append('m');
+            for (int i = 0; i < count; i++) {
+                sb.append(' ').append(rowOf(move, i)).append(' ').append(colOf(move, i)).append(' ').append(index(move, i));
+            }
+            return sb.toString();
+        }
+        for (int i = 0; i < count; i++) {
+            sb.append(' ').append(index(move, i));
+        }
+        return sb.toString();
+    }
+
+    private static char letter(Direction d) {
+        return switch (d) {
+            case UP -> 'u';
+            case DOWN -> 'd';
+            case LEFT -> 'l';
+            case RIGHT -> 'r';
+        };
+    }
+}
@@ -0,0 +1,270 @@
+package g61692.qwirkle.model;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * MoveEvaluator validates and scores a batch of moves packed by {@link Move} against the same
+ * grid, without touching it. It does the work of {@link Grid#evaluate(long[], List, int[])}.
+ * <p>
+ * Most candidates of a bot are single tiles, and many of them are tried on the same cell.
+ * The tiles already around a cell are the same whatever the tile tried there, so the runs of
+ * tiles crossing a cell are walked once and summed up as a count, one bit per color and one
+ * bit per shape: every other tile tried on that cell is then checked in constant time.
+ * The summaries are kept in a small open-addressed table keyed by cell, sized to the cells
+ * actually tried rather than to the whole grid.
+ * Moves of several tiles are played on a copy of the grid, whose rows and columns touched
+ * by the move are restored afterwards instead of copying the whole grid again.
+ * <p>
+ * Large batches are split in halves, each half having its own copy and its own summaries.
+ */
+final class MoveEvaluator extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Below this number of moves, a batch is evaluated by a single task.
+     */
+    static final int THRESHOLD = 2048;
+
+    private static final int SIZE_BITS = 8;
+    private static final int MASK_BITS = 16;
+    private static final int INITIAL_CELLS = 64;
+
+    private final Grid grid;
+    private final long[] moves;
+    private final List<Tile> hand;
+    private final int[] results;
+    private final int from;
+    private final int to;
+
+    private int[] cells;
+    private long[] runs;
+    private int summarized;
+    private Grid scratch;
+
+    /**
+     * Creates the evaluation of a part of a batch.
+     *
+     * @param grid    the grid to evaluate the moves on, which must not change meanwhile
+     * @param moves   the packed moves
+     * @param hand    the hand the indexes of the moves refer to
+     * @param results where the points or the {@link Rejection} code of each move are written
+     * @param from    the index of the first move to evaluate
+     * @param to      the index after the last move to evaluate
+     */
+    MoveEvaluator(Grid grid, long[] moves, List<Tile> hand, int[] results, int from, int to) {
+        this.grid = grid;
+        this.moves = moves;
+        this.hand = hand;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            run();
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new MoveEvaluator(grid, moves, hand, results, from, middle),
+                new MoveEvaluator(grid, moves, hand, results, middle, to));
+    }
+
+    /**
+     * Evaluates the moves of this part in the calling thread.
+     */
+    void run() {
+        for (int i = from; i < to; i++) {
+            results[i] = evaluate(moves[i]);
+        }
+    }
+
+    /**
+     * Validates and scores a single move, the way {@link Game#play(long)} would play it.
+     *
+     * @param move the packed move
+     * @return the points earned, or the {@link Rejection} code of the move
+     */
+    private int evaluate(long move) {
+        int count = Move.count(move);
+        if (count == 0) {
+            return Rejection.EMPTY_LINE;
+        }
+        Tile[] line = new Tile[count];
+        for (int i = 0; i < count; i++) {
+            int index = Move.index(move, i);
+            if (index >= hand.size()) {
+                return Rejection.EMPTY_LINE;
+            }
+            line[i] = hand.get(index);
+        }
+
+        if (Move.isFirst(move)) {
+            if (!grid.isEmpty()) {
+                return Rejection.NOT_EMPTY;
+            }
+            int code = grid.lineCode(line);
+            return code < 0 ? code : count;
+        }
+        if (count == 1) {
+            return evaluateTile(Move.rowOf(move, 0), Move.colOf(move, 0), line[0]);
+        }
+        return evaluateLine(move, line);
+    }
+
+    /**
+     * Does the work of {@link Grid#check(int, int, Tile)} with the summaries of the runs around the cell.
+     */
+    private int evaluateTile(int row, int col, Tile tile) {
+        int size = grid.size();
+        if (row < 0 || col < 0 || row >= size || col >= size) {
+            return Rejection.OUT_OF_BOUNDS;
+        }
+        if (grid.get(row, col) != null) {
+            return Rejection.OCCUPIED;
+        }
+        int slot = summaries(row * size + col, row, col);
+        long across = runs[2 * slot];
+        long down = runs[2 * slot + 1];
+        if (count(across) == 0 && count(down) == 0) {
+            return Rejection.NO_NEIGHBOUR;
+        }
+        int rowPoints = score(across, tile);
+        if (rowPoints < 0) {
+            return rowPoints;
+        }
+        int colPoints = score(down, tile);
+        if (colPoints < 0) {
+            return colPoints;
+        }
+        return 1 + rowPoints + 1 + colPoints;
+    }
+
+    /**
+     * Returns the slot of the summaries of a cell, walking its runs the first time it is tried.
+     */
+    private int summaries(int cell, int row, int col) {
+        if (cells == null) {
+            cells = new int[INITIAL_CELLS];
+            runs = new long[2 * INITIAL_CELLS];
+        }
+        int slot = slot(cell);
+        if (cells[slot] == 0) {
+            if (2 * (summarized + 1) > cells.length) {
+                grow();
+                slot = slot(cell);
+            }
+            // 0 marque une place libre, les cases sont donc décalées de 1
+            cells[slot] = cell + 1;
+            runs[2 * slot] = summarize(row, col, 0, 1);
+            runs[2 * slot + 1] = summarize(row, col, 1, 0);
+            summarized++;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the slot holding a cell, or the free slot where it goes, probing linearly.
+     */
+    private int slot(int cell) {
+        int mask = cells.length - 1;
+        int hash = cell * 0x9E3779B9;
+        int slot = (hash ^ hash >>> 16) & mask;
+        while (cells[slot] != 0 && cells[slot] != cell + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the table of the summaries, keeping them.
+     */
+    private void grow() {
+        int[] oldCells = cells;
+        long[] oldRuns = runs;
+        cells = new int[2 * oldCells.length];
+        runs = new long[2 * cells.length];
+        for (int i = 0; i < oldCells.length; i++) {
+            if (oldCells[i] != 0) {
+                int slot = slot(oldCells[i] - 1);
+                cells[slot] = oldCells[i];
+                runs[2 * slot] = oldRuns[2 * i];
+                runs[2 * slot + 1] = oldRuns[2 * i + 1];
+            }
+        }
+    }
+
+    /**
+     * Plays a move of several tiles on the copy of the grid, then restores the copy.
+     */
+    private int evaluateLine(long move, Tile[] line) {
+        if (scratch == null) {
+            scratch = new Grid(grid);
+        }
+        int count = line.length;
+        int points;
+        if (Move.isLine(move)) {
+            points = scratch.tryAdd(Move.row(move), Move.col(move), Move.direction(move), line);
+        } else {
+            TileAtPosition[] tiles = new TileAtPosition[count];
+            for (int i = 0; i < count; i++) {
+                tiles[i] = new TileAtPosition(Move.rowOf(move, i), Move.colOf(move, i), line[i]);
+            }
+            points = scratch.tryAdd(tiles);
+        }
+        if (points >= 0) {
+            for (int i = 0; i < count; i++) {
+                scratch.restore(grid, Move.rowOf(move, i), Move.colOf(move, i));
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Walks the tiles on both sides of a cell along an axis.
+     *
+     * @return the number of tiles, their colors and their shapes, packed in a long
+     */
+    private long summarize(int row, int col, int dRow, int dCol) {
+        long count = 0;
+        long colors = 0;
+        long shapes = 0;
+        for (int side = -1; side <= 1; side += 2) {
+            int r = row + side * dRow;
+            int c = col + side * dCol;
+            Tile tile;
+            while ((tile = grid.get(r, c)) != null) {
+                count++;
+                colors |= 1L << tile.color().ordinal();
+                shapes |= 1L << tile.shape().ordinal();
+                r += side * dRow;
+                c += side * dCol;
+            }
+        }
+        return count | colors << SIZE_BITS | shapes << (SIZE_BITS + MASK_BITS);
+    }
+
+    private static int count(long run) {
+        return (int) (run & ((1 << SIZE_BITS) - 1));
+    }
+
+    /**
+     * Does the work of the private row and column checks of the grid, from the summary of a run.
+     */
+    private int score(long run, Tile tile) {
+        RuleSet rules = grid.getRules();
+        int count = count(run);
+        if (count >= rules.getLineLength()) {
+            return Rejection.TOO_LONG;
+        }
+        int colors = (int) (run >>> SIZE_BITS) & ((1 << MASK_BITS) - 1) | 1 << tile.color().ordinal();
+        int shapes = (int) (run >>> (SIZE_BITS + MASK_BITS)) & ((1 << MASK_BITS) - 1) | 1 << tile.shape().ordinal();
+        if (!RuleSet.isLine(colors, shapes, count + 1)) {
+            return Rejection.CONFLICT;
+        }
+        return count == rules.getLineLength() - 1 ? count + rules.getQwirkleBonus() : count;
+    }
+}
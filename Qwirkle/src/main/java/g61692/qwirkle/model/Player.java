@@ -29,11 +29,23 @@ public class Player implements Serializable {
      * Creates a new player with the specified name and randomly generated hand of 6 tiles.
      *
      * @param name the name of the player
+     * @param bag  the bag of the game, from which the hand is drawn
      */
-    public Player(String name) {
+    public Player(String name, Bag bag) {
         this.name = name;
         hand = new ArrayList<>();
-        hand.addAll(List.of(Bag.getInstance().getRandomTiles(6)));
+        hand.addAll(List.of(bag.getRandomTiles(6)));
+    }
+
+    /**
+     * Creates a copy of a player, with its own hand.
+     *
+     * @param other the player to copy
+     */
+    public Player(Player other) {
+        name = other.name;
+        hand = new ArrayList<>(other.hand);
+        score = other.score;
     }
 
     /**
@@ -74,10 +86,12 @@ public class Player implements Serializable {
 
     /**
      * Refills the player's hand with random tiles from the bag, up to a maximum of 6 tiles.
+     *
+     * @param bag the bag of the game
      */
-    public void refill() {
-        if (Bag.getInstance().size() != 0) {
-            hand.addAll(List.of(Bag.getInstance().getRandomTiles(6 - hand.size())));
+    public void refill(Bag bag) {
+        if (bag.size() != 0 && hand.size() < 6) {
+            hand.addAll(List.of(bag.getRandomTiles(6 - hand.size())));
         }
     }
 
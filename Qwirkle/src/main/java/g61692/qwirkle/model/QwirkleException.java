@@ -5,12 +5,34 @@ package g61692.qwirkle.model;
  */
 public class QwirkleException extends RuntimeException {
 
+    private final int code;
+
     /**
      * Constructs a new QwirkleException with the specified detail message.
      *
      * @param message the detail message of the exception.
      */
     public QwirkleException(String message) {
+        this(message, 0);
+    }
+
+    /**
+     * Constructs a new QwirkleException for a move refused by the grid.
+     *
+     * @param message the detail message of the exception.
+     * @param code    the {@link Rejection} code of the refusal
+     */
+    public QwirkleException(String message, int code) {
         super(message);
+        this.code = code;
+    }
+
+    /**
+     * Returns the {@link Rejection} code of the refusal.
+     *
+     * @return the code, or 0 if the exception was not thrown by a refusal of the grid
+     */
+    public int getCode() {
+        return code;
     }
 }
@@ -0,0 +1,125 @@
+package g61692.qwirkle.model;
+
+/**
+ * The codes returned by the validation methods of {@link Grid} that do not throw, such as
+ * {@link Grid#check(int, int, Tile)} or {@link Grid#tryAdd(int, int, Direction, Tile...)}.
+ * <p>
+ * Those methods return the points earned when the tiles can be placed, which are never
+ * negative, or one of the negative codes below when the rules refuse them. Checking a
+ * position costs an int comparison instead of building an exception and its stack trace,
+ * which matters to the bots, who check thousands of positions for each move.
+ */
+public final class Rejection {
+
+    /**
+     * A tile would be out of the grid.
+     */
+    public static final int OUT_OF_BOUNDS = -1;
+
+    /**
+     * A position is not free.
+     */
+    public static final int OCCUPIED = -2;
+
+    /**
+     * No tile of the grid touches the tiles placed.
+     */
+    public static final int NO_NEIGHBOUR = -3;
+
+    /**
+     * The tiles do not share a color or a shape with their line, or repeat one of its tiles.
+     */
+    public static final int CONFLICT = -4;
+
+    /**
+     * A line would be longer than a complete line.
+     */
+    public static final int TOO_LONG = -5;
+
+    /**
+     * There are no tiles to place, or one of them is missing.
+     */
+    public static final int EMPTY_LINE = -6;
+
+    /**
+     * The first move is played on a grid that already contains tiles.
+     */
+    public static final int NOT_EMPTY = -7;
+
+    /**
+     * The tiles placed are not on the same row or the same column.
+     */
+    public static final int NOT_ALIGNED = -8;
+
+    private static final String[] NAMES = {
+            "OUT_OF_BOUNDS", "OCCUPIED", "NO_NEIGHBOUR", "CONFLICT",
+            "TOO_LONG", "EMPTY_LINE", "NOT_EMPTY", "NOT_ALIGNED"
+    };
+
+    private static final String[] MESSAGES = {
+            "Tile out of the grid",
+            "The position is not free.",
+            "There is no tile around.",
+            "The tile line is invalid",
+            "The number of tiles must not exceed the length of a line",
+            "The line is empty",
+            "The board already contains tiles",
+            "Les tuiles doivent appartenir à la meme ligne ou colonne"
+    };
+
+    private Rejection() {
+    }
+
+    /**
+     * Returns whether the result of a validation is a refusal.
+     *
+     * @param result the points or the code returned by the grid
+     * @return true if the rules refused the tiles
+     */
+    public static boolean isRejected(int result) {
+        return result < 0;
+    }
+
+    /**
+     * Returns the name of a code, such as "OCCUPIED".
+     *
+     * @param code the code
+     * @return the name of the code
+     * @throws IllegalArgumentException if the value is not a code
+     */
+    public static String getName(int code) {
+        return NAMES[indexOf(code)];
+    }
+
+    /**
+     * Returns the message shown to the players for a code.
+     *
+     * @param code the code
+     * @return the message
+     * @throws IllegalArgumentException if the value is not a code
+     */
+    public static String getMessage(int code) {
+        return MESSAGES[indexOf(code)];
+    }
+
+    /**
+     * Returns the points of a validation, or throws the exception of its code.
+     *
+     * @param result the points or the code returned by the grid
+     * @return the points
+     * @throws QwirkleException if the result is a code
+     */
+    static int orThrow(int result) {
+        if (result < 0) {
+            throw new QwirkleException(getMessage(result), result);
+        }
+        return result;
+    }
+
+    private static int indexOf(int code) {
+        if (code >= 0 || -code > NAMES.length) {
+            throw new IllegalArgumentException("Not a rejection code: " + code);
+        }
+        return -code - 1;
+    }
+}
@@ -0,0 +1,225 @@
+package g61692.qwirkle.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The RuleSet class gathers the parameters of a variant of Qwirkle: the number of colors
+ * and shapes in play, the number of copies of each tile, the length of a complete line,
+ * the bonus earned for completing it and the size of the board.
+ * <p>
+ * Everything the rules need on the hot path is computed once here: tiles are numbered
+ * from 0 to {@link #getTileTypes()} - 1, and a line of tiles is checked with one bit per
+ * color and one bit per shape, so the checks cost the same whatever the variant.
+ */
+public final class RuleSet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The rules of the original game: 6 colors, 6 shapes, 3 copies, lines of 6 tiles,
+     * 6 bonus points for a qwirkle, on a board of 91x91 cells.
+     */
+    public static final RuleSet STANDARD = new RuleSet(6, 6, 3, 6, 6, 91);
+
+    private final int colors;
+    private final int shapes;
+    private final int copies;
+    private final int lineLength;
+    private final int qwirkleBonus;
+    private final int size;
+
+    private final Color[] colorValues;
+    private final Shape[] shapeValues;
+
+    /**
+     * Creates a rule set.
+     *
+     * @param colors       the number of colors in play, taken in the order of {@link Color}
+     * @param shapes       the number of shapes in play, taken in the order of {@link Shape}
+     * @param copies       the number of copies of each tile in the bag
+     * @param lineLength   the number of tiles of a complete line (a qwirkle)
+     * @param qwirkleBonus the bonus earned when a line is completed
+     * @param size         the number of rows and columns of the board
+     * @throws QwirkleException if a parameter is out of range
+     */
+    public RuleSet(int colors, int shapes, int copies, int lineLength, int qwirkleBonus, int size) {
+        if (colors < 1 || colors > Color.values().length || shapes < 1 || shapes > Shape.values().length) {
+            throw new QwirkleException("Unsupported number of colors or shapes");
+        }
+        if (copies < 1) {
+            throw new QwirkleException("There must be at least one copy of each tile");
+        }
+        if (lineLength < 2 || lineLength > Math.max(colors, shapes)) {
+            throw new QwirkleException("The length of a line must be between 2 and the number of colors or shapes");
+        }
+        if (qwirkleBonus < 0) {
+            throw new QwirkleException("The qwirkle bonus must not be negative");
+        }
+        if (size < 2 * lineLength) {
+            throw new QwirkleException("The board is too small for these rules");
+        }
+        this.colors = colors;
+        this.shapes = shapes;
+        this.copies = copies;
+        this.lineLength = lineLength;
+        this.qwirkleBonus = qwirkleBonus;
+        this.size = size;
+        colorValues = Arrays.copyOf(Color.values(), colors);
+        shapeValues = Arrays.copyOf(Shape.values(), shapes);
+    }
+
+    /**
+     * Returns the number of colors in play.
+     *
+     * @return the number of colors
+     */
+    public int getColors() {
+        return colors;
+    }
+
+    /**
+     * Returns the number of shapes in play.
+     *
+     * @return the number of shapes
+     */
+    public int getShapes() {
+        return shapes;
+    }
+
+    /**
+     * Returns the number of copies of each tile in the bag.
+     *
+     * @return the number of copies
+     */
+    public int getCopies() {
+        return copies;
+    }
+
+    /**
+     * Returns the number of tiles of a complete line.
+     *
+     * @return the length of a qwirkle
+     */
+    public int getLineLength() {
+        return lineLength;
+    }
+
+    /**
+     * Returns the bonus earned when a line is completed.
+     *
+     * @return the qwirkle bonus
+     */
+    public int getQwirkleBonus() {
+        return qwirkleBonus;
+    }
+
+    /**
+     * Returns the number of rows and columns of the board.
+     *
+     * @return the size of the board
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the row of the first tile of the game, at the center of the board.
+     *
+     * @return the starting row
+     */
+    public int getStartRow() {
+        return size / 2;
+    }
+
+    /**
+     * Returns the column of the first tile of the game, at the center of the board.
+     *
+     * @return the starting column
+     */
+    public int getStartCol() {
+        return size / 2;
+    }
+
+    /**
+     * Returns the number of different tiles, which is the size of any table indexed by tile id.
+     *
+     * @return the number of tile types
+     */
+    public int getTileTypes() {
+        return colors * shapes;
+    }
+
+    /**
+     * Returns the total number of tiles in the bag at the start of a game.
+     *
+     * @return the number of tiles
+     */
+    public int getTileCount() {
+        return colors * shapes * copies;
+    }
+
+    /**
+     * Returns the id of a tile, between 0 and {@link #getTileTypes()} - 1.
+     *
+     * @param tile the tile
+     * @return the id of the tile
+     */
+    public int tileId(Tile tile) {
+        return tile.color().ordinal() * shapes + tile.shape().ordinal();
+    }
+
+    /**
+     * Returns the tile with the given id.
+     *
+     * @param id the id of the tile
+     * @return the tile
+     */
+    public Tile tile(int id) {
+        return new Tile(colorValues[id / shapes], shapeValues[id % shapes]);
+    }
+
+    /**
+     * Returns whether a tile belongs to this variant.
+     *
+     * @param tile the tile
+     * @return true if its color and its shape are in play
+     */
+    public boolean contains(Tile tile) {
+        return tile.color().ordinal() < colors && tile.shape().ordinal() < shapes;
+    }
+
+    /**
+     * Returns whether a set of tiles can form a line, given one bit per color and one bit
+     * per shape of its tiles: they must all share a color and have different shapes,
+     * or all share a shape and have different colors.
+     *
+     * @param colorMask the colors of the tiles, one bit per color
+     * @param shapeMask the shapes of the tiles, one bit per shape
+     * @param count     the number of tiles
+     * @return true if the tiles can form a line
+     */
+    public static boolean isLine(int colorMask, int shapeMask, int count) {
+        int colorCount = Integer.bitCount(colorMask);
+        int shapeCount = Integer.bitCount(shapeMask);
+        return (colorCount == 1 && shapeCount == count) || (shapeCount == 1 && colorCount == count);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RuleSet other)) {
+            return false;
+        }
+        return colors == other.colors && shapes == other.shapes && copies == other.copies
+                && lineLength == other.lineLength && qwirkleBonus == other.qwirkleBonus && size == other.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(colors, shapes, copies, lineLength, qwirkleBonus, size);
+    }
+}
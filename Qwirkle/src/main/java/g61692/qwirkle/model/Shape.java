@@ -2,7 +2,8 @@ package g61692.qwirkle.model;
 
 /**
  * Shape represents shape of tile.
+ * The standard game uses the first six shapes, the others are only used by variants.
  */
 public enum Shape {
-    CROSS, SQUARE, ROUND, STAR, PLUS, DIAMOND;
+    CROSS, SQUARE, ROUND, STAR, PLUS, DIAMOND, TRIANGLE, HEXAGON;
 }
@@ -9,19 +9,31 @@ import java.util.List;
  */
 public class View {
 
+    /**
+     * Displays the game board in the console, followed by the number of tiles left in the bag.
+     *
+     * @param grid    the game board to display.
+     * @param bagSize the number of tiles left in the bag.
+     */
+    public static void display(GridView grid, int bagSize) {
+        display(grid);
+        System.out.println("Taille du Sac de Tuiles : " + bagSize);
+    }
+
     /**
      * Displays the game board in the console.
      *
      * @param grid the game board to display.
      */
     public static void display(GridView grid) {
-        int minRow = 45;
-        int maxRow = 45;
-        int minCol = 45;
-        int maxCol = 45;
-
-        for (int i = 0; i < 91; i++) {
-            for (int j = 0; j < 91; j++) {
+        int center = grid.size() / 2;
+        int minRow = center;
+        int maxRow = center;
+        int minCol = center;
+        int maxCol = center;
+
+        for (int i = 0; i < grid.size(); i++) {
+            for (int j = 0; j < grid.size(); j++) {
                 if (grid.get(i, j) != null) {
                     if (i < minRow) {
                         minRow = i;
@@ -57,8 +69,6 @@ public class View {
             System.out.print(i + " ");
         }
         System.out.println();
-
-        System.out.println("Taille du Sac de Tuiles : " + Bag.getInstance().size());
     }
 
     /**
@@ -93,6 +103,8 @@ public class View {
             case GREEN -> "\u001B[32m";
             case ORANGE -> "\u001B[38;5;208m";
             case PURPLE -> "\u001B[38;5;165m";
+            case CYAN -> "\u001B[36m";
+            case WHITE -> "\u001B[37m";
         };
 
         String shapeDrawn = switch (shape) {
@@ -102,6 +114,8 @@ public class View {
             case STAR -> " * ";
             case SQUARE -> "[ ]";
             case DIAMOND -> "< >";
+            case TRIANGLE -> " ^ ";
+            case HEXAGON -> "{ }";
         };
 
         System.out.print(colorCode + shapeDrawn + "\u001B[0m");
@@ -118,6 +132,7 @@ public class View {
         System.out.println("- play plic-ploc : m <row1> <col1> <i1> [<row2> <col2> <i2>]");
         System.out.println("- play first : f [<direction>] <f1> [<f2> …]");
         System.out.println("- pass : p");
+        System.out.println("- hint : t");
         System.out.println("- quit : q");
         System.out.println("- save : s");
         System.out.println("   i : index in list of tiles");
@@ -125,6 +140,22 @@ public class View {
 
     }
 
+    /**
+     * Displays the move suggested by a hint, as the command that plays it.
+     *
+     * @param command the command of the suggested move, or null if no move was found.
+     * @param points  the points earned by the move.
+     */
+    public static void displayHint(String command, int points) {
+        System.out.println();
+        if (command == null) {
+            System.out.println("\u001B[33mConseil : aucun coup possible, passez votre tour (p)\u001B[0m");
+        } else {
+            System.out.println("\u001B[33mConseil : " + command + " (" + points + " points)\u001B[0m");
+        }
+        System.out.println();
+    }
+
     /**
      * Displays an error message in the console.
      *
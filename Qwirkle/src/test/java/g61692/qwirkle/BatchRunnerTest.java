@@ -0,0 +1,102 @@
+package g61692.qwirkle;
+
+import g61692.qwirkle.ai.Candidate;
+import g61692.qwirkle.ai.MoveGenerator;
+import g61692.qwirkle.model.Bag;
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Game;
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.RuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+
+    private static String[] run(String script) throws IOException {
+        StringWriter report = new StringWriter();
+        try (PrintWriter out = new PrintWriter(report)) {
+            new BatchRunner(out).run(new StringReader(script));
+        }
+        return report.toString().split("\\R");
+    }
+
+    @Test
+    void same_seed_same_game() throws IOException {
+        String script = "seed 7\nnew alice bob\nf r 0\np\np\n";
+        String[] first = run(script);
+        String[] second = run(script);
+
+        assertEquals(first[0], second[0]);
+        assertTrue(first[0].startsWith("game 1 (unfinished) alice=1 bob=0"));
+    }
+
+    @Test
+    void errors_are_reported_with_their_line() throws IOException {
+        String[] report = run("# no game yet\n\np\nnew a b\nzz\n");
+
+        assertEquals("line 3: p -> No game in progress, start one with new", report[0]);
+        assertEquals("line 5: zz -> Unknown command zz", report[1]);
+        assertTrue(report[3].startsWith("1 games, 3 commands, 2 rejected"));
+    }
+
+    @Test
+    void a_pass_after_the_last_tile_ends_the_game() throws IOException {
+        // même tirage que le runner: "seed 1" puis "new a b"
+        Bag bag = new Bag(RuleSet.STANDARD);
+        bag.setSeed(new Random(1).nextLong());
+        Game game = new Game(List.of("a", "b"), RuleSet.STANDARD, bag);
+        StringBuilder script = new StringBuilder("seed 1\nnew a b\n");
+        boolean out = false;
+        while (!out) {
+            Grid grid = game.copyGrid();
+            Candidate best = MoveGenerator.best(grid, game.getCurrentPlayerHand());
+            assertNotNull(best);
+            script.append(command(grid, best)).append('\n');
+            game.play(best.toMove(grid));
+            out = game.getCurrentPlayerHand().isEmpty();
+            game.endTurn();
+            assertFalse(game.isOver());
+        }
+        game.close();
+        // le joueur suivant passe alors qu'il pourrait encore jouer
+        script.append("p\n");
+
+        String[] report = run(script.toString());
+
+        assertTrue(report[0].startsWith("game 1 (over)"), report[0]);
+        assertTrue(report[1].startsWith("1 games"), report[1]);
+        assertTrue(report[1].contains(" 0 rejected"), report[1]);
+    }
+
+    private static String command(Grid grid, Candidate move) {
+        StringBuilder command = new StringBuilder();
+        if (grid.isEmpty()) {
+            command.append("f ").append(letter(move.direction() == null ? Direction.RIGHT : move.direction()));
+        } else if (move.direction() == null) {
+            command.append("o ").append(move.row()).append(' ').append(move.col());
+        } else {
+            command.append("l ").append(move.row()).append(' ').append(move.col()).append(' ').append(letter(move.direction()));
+        }
+        for (int index : move.indexes()) {
+            command.append(' ').append(index);
+        }
+        return command.toString();
+    }
+
+    private static String letter(Direction direction) {
+        return switch (direction) {
+            case UP -> "u";
+            case DOWN -> "d";
+            case RIGHT -> "r";
+            case LEFT -> "l";
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.Move;
+import g61692.qwirkle.model.Rejection;
+import g61692.qwirkle.model.Tile;
+import g61692.qwirkle.model.TileAtPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkEvaluationTest {
+
+    /**
+     * Plays a move on a copy of the grid, the way Game.play(long) does.
+     */
+    private static int reference(Grid grid, List<Tile> hand, long move) {
+        int count = Move.count(move);
+        Tile[] line = new Tile[count];
+        for (int i = 0; i < count; i++) {
+            if (Move.index(move, i) >= hand.size()) {
+                return Rejection.EMPTY_LINE;
+            }
+            line[i] = hand.get(Move.index(move, i));
+        }
+        Grid copy = new Grid(grid);
+        if (Move.isFirst(move)) {
+            return copy.tryFirstAdd(Move.direction(move), line);
+        }
+        if (count == 1) {
+            return copy.tryAdd(Move.row(move), Move.col(move), line[0]);
+        }
+        if (Move.isLine(move)) {
+            return copy.tryAdd(Move.row(move), Move.col(move), Move.direction(move), line);
+        }
+        TileAtPosition[] tiles = new TileAtPosition[count];
+        for (int i = 0; i < count; i++) {
+            tiles[i] = new TileAtPosition(Move.rowOf(move, i), Move.colOf(move, i), line[i]);
+        }
+        return copy.tryAdd(tiles);
+    }
+
+    private static long[] candidates(Grid grid, List<Tile> hand, Random random) {
+        List<Long> moves = new ArrayList<>();
+        for (Candidate candidate : MoveGenerator.generate(grid, hand)) {
+            moves.add(candidate.toMove(grid));
+        }
+        int center = grid.getRules().getStartRow();
+        Direction[] directions = Direction.values();
+        for (int i = 0; i < 400; i++) {
+            int row = center - 6 + random.nextInt(13);
+            int col = center - 6 + random.nextInt(13);
+            if (i % 2 == 0) {
+                moves.add(Move.single(row, col, random.nextInt(hand.size())));
+            } else {
+                int count = 2 + random.nextInt(Math.min(3, hand.size() - 1));
+                int[] indexes = new int[count];
+                for (int j = 0; j < count; j++) {
+                    indexes[j] = random.nextInt(hand.size());
+                }
+                moves.add(Move.line(row, col, directions[random.nextInt(4)], indexes));
+            }
+        }
+        return moves.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Test
+    void batch_matches_moves_played_one_by_one() {
+        Random random = new Random(3);
+        Simulation simulation = new Simulation(2, 11);
+        for (int turn = 0; turn < 12 && !simulation.isOver(); turn++) {
+            Grid grid = simulation.getGrid();
+            List<Tile> hand = simulation.getHand(simulation.getCurrentPlayer());
+            long[] moves = candidates(grid, hand, random);
+            long version = grid.snapshot().getVersion();
+
+            int[] results = new int[moves.length];
+            grid.evaluate(moves, hand, results);
+
+            for (int i = 0; i < moves.length; i++) {
+                assertEquals(reference(grid, hand, moves[i]), results[i], Move.toString(moves[i]));
+            }
+            assertEquals(version, grid.snapshot().getVersion());
+            simulation.playGreedy();
+        }
+    }
+
+    @Test
+    void large_batches_are_split_between_threads() {
+        Simulation simulation = new Simulation(2, 5);
+        for (int turn = 0; turn < 6; turn++) {
+            simulation.playGreedy();
+        }
+        Grid grid = simulation.getGrid();
+        List<Tile> hand = simulation.getHand(simulation.getCurrentPlayer());
+        long[] some = candidates(grid, hand, new Random(8));
+        long[] moves = new long[5000];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = some[i % some.length];
+        }
+
+        int[] alone = new int[moves.length];
+        int[] split = new int[moves.length];
+        grid.evaluate(moves, hand, alone);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            grid.evaluate(moves, hand, split, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertArrayEquals(alone, split);
+        assertThrows(IllegalArgumentException.class, () -> grid.evaluate(moves, hand, new int[10]));
+    }
+}
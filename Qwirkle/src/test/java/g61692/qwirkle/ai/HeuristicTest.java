@@ -0,0 +1,66 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.QwirkleException;
+import g61692.qwirkle.model.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static g61692.qwirkle.model.Color.*;
+import static g61692.qwirkle.model.Direction.*;
+import static g61692.qwirkle.model.Shape.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeuristicTest {
+
+    @Test
+    void features_of_a_move() {
+        Grid grid = new Grid();
+        grid.firstAdd(RIGHT, new Tile(RED, STAR), new Tile(RED, SQUARE), new Tile(RED, ROUND),
+                new Tile(RED, DIAMOND));
+        List<Tile> hand = List.of(new Tile(RED, CROSS), new Tile(BLUE, CROSS), new Tile(BLUE, CROSS),
+                new Tile(GREEN, CROSS));
+        Candidate move = new Candidate(45, 49, null, new int[]{0}, 5);
+        Grid after = new Grid(grid);
+        move.apply(after, hand);
+
+        double[] features = Heuristic.features(after, hand, move);
+
+        assertArrayEquals(new double[]{2, 2, 1, 3}, features);
+    }
+
+    @Test
+    void greedy_plays_the_most_points() {
+        Grid grid = new Grid();
+        grid.firstAdd(RIGHT, new Tile(RED, STAR), new Tile(RED, SQUARE));
+        List<Tile> hand = List.of(new Tile(RED, CROSS), new Tile(RED, ROUND), new Tile(BLUE, PLUS));
+
+        assertEquals(MoveGenerator.best(grid, hand).points(), Heuristic.GREEDY.best(grid, hand).points());
+    }
+
+    @Test
+    void weights_round_trip() throws IOException {
+        Heuristic heuristic = new Heuristic(1.5, -2, 0.25, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        heuristic.write(out, null);
+
+        Heuristic read = Heuristic.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertArrayEquals(heuristic.getWeights(), read.getWeights());
+        assertThrows(QwirkleException.class,
+                () -> Heuristic.read(new ByteArrayInputStream("exposure=1".getBytes(StandardCharsets.ISO_8859_1))));
+    }
+
+    @Test
+    void mirrored_match_is_even() {
+        WeightTuner tuner = new WeightTuner(5, 1, ForkJoinPool.commonPool());
+
+        assertEquals(0.0, tuner.match(Heuristic.GREEDY, Heuristic.GREEDY, 0));
+    }
+}
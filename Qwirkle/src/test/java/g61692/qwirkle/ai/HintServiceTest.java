@@ -0,0 +1,84 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static g61692.qwirkle.model.Color.*;
+import static g61692.qwirkle.model.Direction.*;
+import static g61692.qwirkle.model.Shape.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HintServiceTest {
+
+    private static final List<Tile> HAND = List.of(
+            new Tile(RED, CROSS), new Tile(RED, ROUND), new Tile(BLUE, SQUARE),
+            new Tile(GREEN, STAR), new Tile(RED, DIAMOND), new Tile(YELLOW, PLUS));
+
+    @Test
+    void first_move_comes_from_the_book() throws InterruptedException {
+        try (HintService service = new HintService(1000)) {
+            Candidate best = service.request(new Grid(), HAND, 2, null).await();
+
+            assertArrayEquals(OpeningBook.getInstance().lookup(HAND), best.indexes());
+        }
+    }
+
+    @Test
+    void best_move_found_within_budget() throws InterruptedException {
+        Grid grid = new Grid();
+        grid.firstAdd(RIGHT, new Tile(RED, STAR), new Tile(RED, SQUARE));
+        try (HintService service = new HintService(300)) {
+            long start = System.nanoTime();
+            HintService.Hint hint = service.request(grid, HAND, 2, null);
+            Candidate best = hint.await();
+
+            assertNotNull(best);
+            assertTrue(System.nanoTime() - start < 3_000_000_000L);
+            Grid copy = new Grid(grid);
+            assertEquals(best.points(), best.apply(copy, HAND));
+        }
+    }
+
+    @Test
+    void cancelled_hint_does_not_answer() throws InterruptedException {
+        Grid grid = new Grid();
+        grid.firstAdd(RIGHT, new Tile(RED, STAR), new Tile(RED, SQUARE));
+        AtomicBoolean answered = new AtomicBoolean();
+        try (HintService service = new HintService(5000)) {
+            HintService.Hint hint = service.request(grid, HAND, 2, best -> answered.set(true));
+            service.cancel();
+            hint.await();
+
+            assertTrue(hint.isDone());
+            assertFalse(answered.get());
+        }
+    }
+
+    @Test
+    void loaded_weights_change_the_hint() throws IOException, InterruptedException {
+        Grid grid = new Grid();
+        grid.firstAdd(RIGHT, new Tile(RED, STAR), new Tile(RED, SQUARE));
+        assertTrue(MoveGenerator.best(grid, HAND).indexes().length > 1);
+
+        // des poids qui préfèrent garder une main variée : une seule tuile est posée
+        Path weights = Files.createTempFile("weights", ".properties");
+        try (OutputStream out = Files.newOutputStream(weights)) {
+            new Heuristic(0, 100, 0, 0).write(out, null);
+        }
+        System.setProperty(Heuristic.WEIGHTS_PROPERTY, weights.toString());
+        try (HintService service = new HintService(300)) {
+            assertEquals(1, service.request(grid, HAND, 2, null).await().indexes().length);
+        } finally {
+            System.clearProperty(Heuristic.WEIGHTS_PROPERTY);
+            Files.delete(weights);
+        }
+    }
+}
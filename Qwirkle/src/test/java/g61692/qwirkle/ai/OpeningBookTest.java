@@ -0,0 +1,64 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static g61692.qwirkle.model.Color.*;
+import static g61692.qwirkle.model.Shape.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpeningBookTest {
+
+    @Test
+    void book_covers_every_hand_class() {
+        assertEquals(OpeningBookGenerator.enumerateClasses().size(), OpeningBook.getInstance().size());
+    }
+
+    @Test
+    void renamed_hands_have_the_same_class() {
+        List<Tile> hand = List.of(new Tile(RED, CROSS), new Tile(RED, STAR), new Tile(BLUE, STAR),
+                new Tile(GREEN, ROUND), new Tile(RED, CROSS), new Tile(YELLOW, PLUS));
+        List<Tile> renamed = List.of(new Tile(PURPLE, DIAMOND), new Tile(PURPLE, SQUARE), new Tile(ORANGE, SQUARE),
+                new Tile(BLUE, PLUS), new Tile(PURPLE, DIAMOND), new Tile(RED, ROUND));
+
+        assertEquals(OpeningBook.HandClass.of(hand).key, OpeningBook.HandClass.of(renamed).key);
+    }
+
+    @Test
+    void lookup_returns_a_longest_playable_line() {
+        Random random = new Random(7);
+        for (int n = 0; n < 200; n++) {
+            List<Tile> hand = new ArrayList<>();
+            while (hand.size() < 6) {
+                hand.add(RuleSet.STANDARD.tile(random.nextInt(36)));
+            }
+            int[] line = OpeningBook.getInstance().lookup(hand);
+            assertNotNull(line);
+
+            int longest = 0;
+            for (int[] other : MoveGenerator.lines(hand, 6)) {
+                longest = Math.max(longest, other.length);
+            }
+            assertTrue(line.length >= longest - 1);
+
+            Tile[] tiles = new Tile[line.length];
+            for (int i = 0; i < line.length; i++) {
+                tiles[i] = hand.get(line[i]);
+            }
+            assertDoesNotThrow(() -> new Grid().firstAdd(Direction.RIGHT, tiles));
+        }
+    }
+
+    @Test
+    void lookup_ignores_hands_outside_the_standard_rules() {
+        List<Tile> hand = List.of(new Tile(CYAN, CROSS));
+        assertNull(OpeningBook.getInstance().lookup(hand));
+    }
+}
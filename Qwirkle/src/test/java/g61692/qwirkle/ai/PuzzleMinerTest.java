@@ -0,0 +1,46 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.Move;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PuzzleMinerTest {
+
+    @Test
+    void puzzles_have_a_clear_best_move() {
+        PuzzleMiner miner = new PuzzleMiner(1, 4);
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (long game = 0; game < 3; game++) {
+            puzzles.addAll(miner.mine(game));
+        }
+
+        assertFalse(puzzles.isEmpty());
+        for (Puzzle puzzle : puzzles) {
+            assertTrue(puzzle.points() - puzzle.secondPoints() >= 4);
+            assertFalse(puzzle.board().isEmpty());
+            assertFalse(Move.isFirst(puzzle.solution()));
+        }
+        assertEquals(miner.mine(0), new PuzzleMiner(1, 4).mine(0));
+    }
+
+    @Test
+    void compact_round_trip() throws IOException {
+        Puzzle puzzle = new PuzzleMiner(2, 1).mine(0).get(0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        puzzle.write(new DataOutputStream(bytes));
+
+        Puzzle read = Puzzle.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(puzzle, read);
+        assertEquals(2 + 3 * puzzle.board().size() + 1 + puzzle.hand().size() + 8 + 4, bytes.size());
+    }
+}
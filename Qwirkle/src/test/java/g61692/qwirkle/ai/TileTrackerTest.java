@@ -0,0 +1,70 @@
+package g61692.qwirkle.ai;
+
+import g61692.qwirkle.model.RuleSet;
+import g61692.qwirkle.model.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static g61692.qwirkle.model.Color.*;
+import static g61692.qwirkle.model.Shape.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileTrackerTest {
+
+    private static final Tile RED_CROSS = new Tile(RED, CROSS);
+
+    @Test
+    void counts_follow_draws_and_placements() {
+        TileTracker tracker = new TileTracker(RuleSet.STANDARD, 2, 0);
+        tracker.ownDraw(RED_CROSS);
+        tracker.draw(1, 6);
+
+        assertEquals(2, tracker.getUnseen(RED_CROSS));
+        assertEquals(107, tracker.getUnseenTotal());
+        assertEquals(101, tracker.getBagSize());
+
+        tracker.place(1, RED_CROSS);
+        tracker.place(0, RED_CROSS);
+
+        assertEquals(1, tracker.getUnseen(RED_CROSS));
+        assertEquals(106, tracker.getUnseenTotal());
+        assertEquals(5, tracker.getHandSize(1));
+        assertEquals(0, tracker.getHandSize(0));
+    }
+
+    @Test
+    void hold_probability() {
+        TileTracker tracker = new TileTracker(RuleSet.STANDARD, 2, 0);
+        tracker.draw(1, 6);
+        int id = RuleSet.STANDARD.tileId(RED_CROSS);
+
+        double expected = 1 - (105.0 / 108) * (104.0 / 107) * (103.0 / 106) * (102.0 / 105) * (101.0 / 104) * (100.0 / 103);
+        assertEquals(expected, tracker.getHoldProbability(1, id, List.of()), 1e-12);
+        assertEquals(1.0, tracker.getHoldProbability(0, id, List.of(RED_CROSS)));
+        assertEquals(6.0 * 3 / 108, tracker.getExpectedCount(1, id), 1e-12);
+
+        tracker.place(1, RED_CROSS);
+        tracker.place(1, RED_CROSS);
+        tracker.place(1, RED_CROSS);
+        assertEquals(0.0, tracker.getHoldProbability(1, id, List.of()));
+    }
+
+    @Test
+    void samples_only_unseen_tiles() {
+        TileTracker tracker = new TileTracker(RuleSet.STANDARD, 2, 0);
+        for (int i = 0; i < 3; i++) {
+            tracker.ownDraw(RED_CROSS);
+        }
+        tracker.draw(1, 6);
+        Random random = new Random(3);
+        int[] counts = tracker.copyCounts();
+
+        for (int i = 0; i < 17; i++) {
+            List<Tile> hand = tracker.sample(counts, 6, random);
+            assertFalse(hand.contains(RED_CROSS));
+        }
+        assertTrue(tracker.sample(counts, 6, random).size() <= 3);
+    }
+}
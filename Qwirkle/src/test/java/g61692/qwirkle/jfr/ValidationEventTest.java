@@ -0,0 +1,46 @@
+package g61692.qwirkle.jfr;
+
+import g61692.qwirkle.model.Grid;
+import g61692.qwirkle.model.QwirkleException;
+import g61692.qwirkle.model.Tile;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static g61692.qwirkle.model.Color.*;
+import static g61692.qwirkle.model.Direction.*;
+import static g61692.qwirkle.model.Shape.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidationEventTest {
+
+    @Test
+    void validations_are_recorded() throws IOException {
+        Grid grid = new Grid();
+        Path file = Files.createTempFile("qwirkle", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ValidationEvent.class);
+            recording.start();
+            grid.firstAdd(RIGHT, new Tile(RED, CROSS), new Tile(RED, ROUND));
+            assertThrows(QwirkleException.class, () -> grid.add(45, 45, new Tile(BLUE, STAR)));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(2, events.size());
+        assertEquals("first", events.get(0).getString("kind"));
+        assertEquals(2, events.get(0).getInt("score"));
+        assertEquals("accepted", events.get(0).getString("outcome"));
+        assertEquals("single", events.get(1).getString("kind"));
+        assertNotEquals("accepted", events.get(1).getString("outcome"));
+    }
+}
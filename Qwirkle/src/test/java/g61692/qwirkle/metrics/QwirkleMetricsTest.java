@@ -0,0 +1,129 @@
+package g61692.qwirkle.metrics;
+
+import g61692.qwirkle.model.Direction;
+import g61692.qwirkle.model.Game;
+import g61692.qwirkle.model.QwirkleException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QwirkleMetricsTest {
+
+    @Test
+    void percentiles_are_close_to_the_recorded_durations() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(500_500, histogram.mean(), 1);
+        assertEquals(500_000, histogram.percentile(50), 500_000 * 0.2);
+        assertEquals(990_000, histogram.percentile(99), 990_000 * 0.2);
+        histogram.reset();
+        assertEquals(0.0, histogram.percentile(50));
+    }
+
+    @Test
+    void buckets_grow_with_the_values() {
+        int previous = -1;
+        for (long value = 1; value < 1_000_000; value = value * 3 / 2 + 1) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(bucket >= previous);
+            previous = bucket;
+        }
+    }
+
+    @Test
+    void rejections_are_counted_by_cause() {
+        QwirkleMetrics metrics = new QwirkleMetrics();
+        long start = System.nanoTime();
+        metrics.moveAccepted(start);
+        metrics.moveRejected(start, "Position is not free");
+        metrics.moveRejected(start, "Position is not free");
+        metrics.moveRejected(start, null);
+
+        assertEquals(1, metrics.getMoves());
+        assertEquals(3, metrics.getRejectedMoves());
+        assertEquals(0.75, metrics.getRejectedRate());
+        assertEquals(Map.of("Position is not free", 2L, "other", 1L), metrics.getRejectionsByCause());
+        metrics.reset();
+        assertEquals(0, metrics.getMoves());
+        assertTrue(metrics.getRejectionsByCause().isEmpty());
+    }
+
+    @Test
+    void causes_are_bounded() {
+        QwirkleMetrics metrics = new QwirkleMetrics();
+        for (int i = 0; i < 1000; i++) {
+            metrics.moveRejected(System.nanoTime(), "cause " + i);
+        }
+        assertTrue(metrics.getRejectionsByCause().size() <= 65);
+        assertEquals(1000, metrics.getRejectionsByCause().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void games_are_published_over_jmx() throws Exception {
+        QwirkleMetrics metrics = QwirkleMetrics.getInstance();
+        long games = metrics.getActiveGames();
+        long rejected = metrics.getRejectedMoves();
+        Game game = new Game(List.of("a", "b"));
+        assertEquals(games + 1, metrics.getActiveGames());
+        assertThrows(QwirkleException.class, () -> game.play(0, 0, 0));
+        assertEquals(rejected + 1, metrics.getRejectedMoves());
+
+        ObjectName name = new ObjectName(QwirkleMetrics.OBJECT_NAME);
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        Object moves = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "RejectedMoves");
+        assertEquals(metrics.getRejectedMoves(), moves);
+    }
+
+    @Test
+    void closed_games_are_counted_down_once() {
+        QwirkleMetrics metrics = QwirkleMetrics.getInstance();
+        long games = metrics.getActiveGames();
+        Game game = new Game(List.of("a", "b"));
+        Game fork = game.fork(1);
+        assertEquals(games + 1, metrics.getActiveGames());
+
+        fork.close();
+        assertEquals(games + 1, metrics.getActiveGames());
+        game.close();
+        game.close();
+        assertEquals(games, metrics.getActiveGames());
+    }
+
+    @Test
+    void forks_do_not_count_their_moves() {
+        QwirkleMetrics metrics = QwirkleMetrics.getInstance();
+        Game fork = new Game(List.of("a", "b")).fork(1);
+        long moves = metrics.getMoves();
+        long rejected = metrics.getRejectedMoves();
+
+        assertThrows(QwirkleException.class, () -> fork.play(0, 0, 0));
+        fork.first(Direction.RIGHT, 0);
+
+        assertEquals(moves, metrics.getMoves());
+        assertEquals(rejected, metrics.getRejectedMoves());
+    }
+
+    @Test
+    void rate_is_the_same_for_every_reader() throws InterruptedException {
+        QwirkleMetrics metrics = new QwirkleMetrics();
+        for (int i = 0; i < 100; i++) {
+            metrics.moveAccepted(System.nanoTime());
+        }
+        assertEquals(0.0, metrics.getMovesPerSecond());
+        Thread.sleep(10);
+
+        metrics.sample();
+        double rate = metrics.getMovesPerSecond();
+        assertTrue(rate > 0);
+        assertEquals(rate, metrics.getMovesPerSecond());
+        metrics.sample();
+        assertTrue(metrics.getMovesPerSecond() < rate);
+    }
+}
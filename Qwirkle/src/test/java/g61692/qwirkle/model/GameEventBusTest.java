@@ -0,0 +1,119 @@
+package g61692.qwirkle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static g61692.qwirkle.model.Direction.RIGHT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameEventBusTest {
+
+    private static GameEvent score(String name, int score) {
+        return new GameEvent(GameEvent.Type.SCORE_CHANGED, name, List.of(), score);
+    }
+
+    @Test
+    void publish_delivers_events_in_order() throws InterruptedException {
+        GameEventBus bus = new GameEventBus();
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        bus.subscribe(event -> {
+            received.add(event.score());
+            done.countDown();
+        });
+
+        bus.publish(score("alice", 1));
+        bus.publish(score("alice", 2));
+        bus.publish(score("alice", 3));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3), received);
+    }
+
+    @Test
+    void slow_subscriber_does_not_block_publisher() throws InterruptedException {
+        GameEventBus bus = new GameEventBus();
+        CountDownLatch release = new CountDownLatch(1);
+        GameEventBus.Subscription slow = bus.subscribe(event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 2, GameEventBus.OverflowPolicy.DROP_NEWEST);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            bus.publish(score("bob", i));
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertTrue(elapsed < 1000);
+        assertTrue(slow.getDropped() >= 97);
+        slow.close();
+    }
+
+    @Test
+    void coalesce_keeps_the_latest_event_of_a_player() throws InterruptedException {
+        GameEventBus bus = new GameEventBus();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        bus.subscribe(event -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event.score());
+            done.countDown();
+        }, 4, GameEventBus.OverflowPolicy.COALESCE);
+
+        bus.publish(score("alice", 1));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i <= 10; i++) {
+            bus.publish(score("alice", i));
+        }
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 10), received);
+    }
+
+    @Test
+    void subscribe_with_invalid_capacity() {
+        GameEventBus bus = new GameEventBus();
+        assertThrows(QwirkleException.class, () -> bus.subscribe(event -> {
+        }, 0, GameEventBus.OverflowPolicy.DROP_OLDEST));
+    }
+
+    @Test
+    void only_pass_announces_a_passed_turn() throws InterruptedException {
+        Game game = new Game(List.of("alice", "bob"));
+        List<GameEvent.Type> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        game.getEvents().subscribe(event -> {
+            received.add(event.type());
+            if (event.type() == GameEvent.Type.TURN_PASSED) {
+                done.countDown();
+            }
+        });
+
+        game.first(RIGHT, 0);
+        game.endTurn();
+        assertEquals("bob", game.getCurrentPlayerName());
+        game.pass();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("alice", game.getCurrentPlayerName());
+        assertEquals(List.of(GameEvent.Type.TILE_PLACED, GameEvent.Type.SCORE_CHANGED, GameEvent.Type.TURN_PASSED),
+                received);
+    }
+}
@@ -0,0 +1,66 @@
+package g61692.qwirkle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static g61692.qwirkle.model.Direction.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameForkTest {
+
+    @Test
+    void fork_copies_the_state() {
+        Game game = new Game(List.of("alice", "bob"));
+        game.first(RIGHT, 0);
+        game.endTurn();
+
+        Game fork = game.fork(1);
+
+        assertEquals(game.getCurrentPlayerName(), fork.getCurrentPlayerName());
+        assertEquals(game.getCurrentPlayerHand(), fork.getCurrentPlayerHand());
+        assertArrayEquals(game.getScores(), fork.getScores());
+        assertEquals(game.getBagSize(), fork.getBagSize());
+        assertEquals(game.getGrid().get(45, 45), fork.getGrid().get(45, 45));
+    }
+
+    @Test
+    void fork_is_independent() {
+        Game game = new Game(List.of("alice", "bob"));
+        List<Tile> hand = List.copyOf(game.getCurrentPlayerHand());
+        int bagSize = game.getBagSize();
+
+        Game fork = game.fork(1);
+        fork.first(RIGHT, 0);
+
+        assertTrue(game.getGrid().isEmpty());
+        assertEquals(hand, game.getCurrentPlayerHand());
+        assertEquals(0, game.getCurrentPlayerScore());
+        assertEquals(bagSize, game.getBagSize());
+        assertEquals(bagSize - 1, fork.getBagSize());
+    }
+
+    @Test
+    void games_have_their_own_bag() {
+        Game first = new Game(List.of("alice", "bob"));
+        Game second = new Game(List.of("carol", "dave", "eve"));
+
+        assertEquals(96, first.getBagSize());
+        assertEquals(90, second.getBagSize());
+    }
+
+    @Test
+    void forks_played_in_parallel() {
+        Game game = new Game(List.of("alice", "bob"));
+
+        int total = IntStream.range(0, 8).parallel().map(i -> {
+            Game fork = game.fork(i);
+            fork.first(DOWN, 0);
+            return fork.getCurrentPlayerScore();
+        }).sum();
+
+        assertEquals(8, total);
+        assertTrue(game.getGrid().isEmpty());
+    }
+}
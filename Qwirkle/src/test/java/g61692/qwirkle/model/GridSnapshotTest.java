@@ -0,0 +1,60 @@
+package g61692.qwirkle.model;
+
+import org.junit.jupiter.api.Test;
+
+import static g61692.qwirkle.model.Direction.*;
+import static g61692.qwirkle.model.QwirkleTestUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridSnapshotTest {
+
+    @Test
+    void snapshot_of_new_grid_is_empty() {
+        Grid grid = new Grid();
+        GridSnapshot snapshot = grid.snapshot();
+
+        assertTrue(snapshot.isEmpty());
+        assertEquals(91, snapshot.size());
+        assertNull(snapshot.get(45, 45));
+        assertNull(snapshot.get(-1, 500));
+    }
+
+    @Test
+    void snapshot_does_not_change_after_a_move() {
+        Grid grid = new Grid();
+        grid.firstAdd(RIGHT, TILE_RED_CROSS, TILE_RED_DIAMOND);
+        GridSnapshot before = grid.snapshot();
+
+        add(grid, 1, 0, TILE_YELLOW_CROSS);
+        GridSnapshot after = grid.snapshot();
+
+        assertNull(before.get(INITIAL_ROW + 1, INITIAL_COLUMN));
+        assertEquals(TILE_YELLOW_CROSS, after.get(INITIAL_ROW + 1, INITIAL_COLUMN));
+        assertEquals(TILE_RED_DIAMOND, after.get(INITIAL_ROW, INITIAL_COLUMN + 1));
+        assertFalse(before.isEmpty());
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    @Test
+    void snapshot_shares_untouched_chunks() {
+        Grid grid = new Grid();
+        GridSnapshot empty = grid.snapshot();
+        grid.firstAdd(RIGHT, TILE_RED_CROSS);
+        GridSnapshot first = grid.snapshot();
+
+        int touched = GridSnapshot.chunkIndex(INITIAL_ROW, INITIAL_COLUMN, 13);
+        assertFalse(first.sharesChunk(empty, touched));
+        assertTrue(first.sharesChunk(empty, 0));
+        assertTrue(first.sharesChunk(empty, 168));
+    }
+
+    @Test
+    void failed_move_keeps_previous_snapshot() {
+        Grid grid = new Grid();
+        grid.firstAdd(RIGHT, TILE_RED_CROSS);
+        GridSnapshot before = grid.snapshot();
+
+        assertThrows(QwirkleException.class, () -> add(grid, 0, 1, TILE_YELLOW_DIAMOND));
+        assertSame(before, grid.snapshot());
+    }
+}
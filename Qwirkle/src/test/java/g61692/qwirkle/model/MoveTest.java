@@ -0,0 +1,91 @@
+package g61692.qwirkle.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static g61692.qwirkle.model.Direction.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveTest {
+
+    @Test
+    void encode_decode() {
+        long move = Move.of(1023, 17, LEFT, new int[]{0, 2, 7}, new int[]{5, 0, 3});
+
+        assertEquals(1023, Move.row(move));
+        assertEquals(17, Move.col(move));
+        assertEquals(LEFT, Move.direction(move));
+        assertEquals(3, Move.count(move));
+        assertFalse(Move.isFirst(move));
+        assertFalse(Move.isLine(move));
+        assertArrayEquals(new int[]{5, 0, 3}, Move.indexes(move));
+        assertEquals(1023, Move.rowOf(move, 2));
+        assertEquals(10, Move.colOf(move, 2));
+    }
+
+    @Test
+    void commands() {
+        assertEquals("f d 0 1", Move.toString(Move.first(DOWN, 0, 1)));
+        assertEquals("o 46 45 3", Move.toString(Move.single(46, 45, 3)));
+        assertEquals("l 44 45 u 0 1 2", Move.toString(Move.line(44, 45, UP, 0, 1, 2)));
+        assertEquals("m 45 44 1 45 46 4", Move.toString(Move.of(45, 44, RIGHT, new int[]{0, 2}, new int[]{1, 4})));
+    }
+
+    @Test
+    void values_out_of_range() {
+        assertThrows(QwirkleException.class, () -> Move.single(1024, 0, 0));
+        assertThrows(QwirkleException.class, () -> Move.single(0, 0, 6));
+        assertThrows(QwirkleException.class, () -> Move.line(0, 0, RIGHT));
+        assertThrows(QwirkleException.class, () -> Move.of(0, 0, RIGHT, new int[]{8}, new int[]{0}));
+    }
+
+    @Test
+    void game_plays_packed_moves() {
+        Game game = new Game(List.of("alice", "bob"));
+        Tile tile = game.getCurrentPlayerHand().get(2);
+
+        game.play(Move.first(RIGHT, 2));
+
+        assertEquals(tile, game.getGrid().get(45, 45));
+        assertEquals(1, game.getCurrentPlayerScore());
+        assertEquals(6, game.getCurrentPlayerHand().size());
+        assertThrows(QwirkleException.class, () -> game.play(Move.first(RIGHT, 0)));
+    }
+
+    @Test
+    void game_plays_a_single_tile_at_its_offset() {
+        // une seule couleur : deux tuiles de formes différentes forment toujours une ligne
+        RuleSet rules = new RuleSet(1, 2, 4, 2, 2, 9);
+        Game game = new Game(List.of("alice", "bob"), rules, new Bag(rules));
+        int row = rules.getStartRow();
+        int col = rules.getStartCol();
+        Tile first = game.getCurrentPlayerHand().get(0);
+        game.play(Move.first(RIGHT, 0));
+        List<Tile> hand = game.getCurrentPlayerHand();
+        int index = 0;
+        while (hand.get(index).shape() == first.shape()) {
+            index++;
+        }
+        Tile tile = hand.get(index);
+
+        game.play(Move.of(row, col, RIGHT, new int[]{1}, new int[]{index}));
+
+        assertEquals(first, game.getGrid().get(row, col));
+        assertEquals(tile, game.getGrid().get(row, col + 1));
+    }
+
+    @Test
+    void game_refuses_an_index_outside_the_hand() {
+        RuleSet rules = new RuleSet(1, 2, 4, 2, 2, 9);
+        Game game = new Game(List.of("alice", "bob"), rules, new Bag(rules));
+        game.play(Move.first(RIGHT, 0));
+        int size = game.getCurrentPlayerHand().size();
+        assertTrue(size < 6);
+
+        QwirkleException e = assertThrows(QwirkleException.class,
+                () -> game.play(Move.single(rules.getStartRow(), rules.getStartCol() + 1, size)));
+        assertEquals(Rejection.EMPTY_LINE, e.getCode());
+        assertEquals(size, game.getCurrentPlayerHand().size());
+    }
+}
@@ -0,0 +1,59 @@
+package g61692.qwirkle.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static g61692.qwirkle.model.Color.*;
+import static g61692.qwirkle.model.Direction.*;
+import static g61692.qwirkle.model.Shape.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RejectionTest {
+
+    private Grid grid;
+    private int row;
+    private int col;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Grid();
+        row = grid.getRules().getStartRow();
+        col = grid.getRules().getStartCol();
+        grid.firstAdd(RIGHT, new Tile(RED, CROSS), new Tile(RED, ROUND));
+    }
+
+    @Test
+    void check_returns_the_points_of_a_legal_tile() {
+        assertEquals(grid.verifyCanAdd(row, col + 2, new Tile(RED, STAR)), grid.check(row, col + 2, new Tile(RED, STAR)));
+        assertNull(grid.get(row, col + 2));
+    }
+
+    @Test
+    void check_returns_the_cause_of_a_refusal() {
+        assertEquals(Rejection.OUT_OF_BOUNDS, grid.check(-1, col, new Tile(RED, STAR)));
+        assertEquals(Rejection.OCCUPIED, grid.check(row, col, new Tile(RED, STAR)));
+        assertEquals(Rejection.NO_NEIGHBOUR, grid.check(row + 5, col, new Tile(RED, STAR)));
+        assertEquals(Rejection.CONFLICT, grid.check(row, col + 2, new Tile(BLUE, STAR)));
+        assertEquals(Rejection.CONFLICT, grid.check(row, col + 2, new Tile(RED, CROSS)));
+    }
+
+    @Test
+    void tryAdd_places_nothing_when_refused() {
+        assertEquals(Rejection.CONFLICT, grid.tryAdd(row + 1, col, DOWN, new Tile(BLUE, CROSS), new Tile(BLUE, CROSS)));
+        assertNull(grid.get(row + 1, col));
+        assertEquals(Rejection.NOT_EMPTY, grid.tryFirstAdd(RIGHT, new Tile(BLUE, CROSS)));
+        assertEquals(Rejection.NOT_ALIGNED, grid.tryAdd(
+                new TileAtPosition(row + 1, col, new Tile(RED, STAR)),
+                new TileAtPosition(row + 2, col + 1, new Tile(RED, SQUARE))));
+        assertTrue(grid.tryAdd(row + 1, col, DOWN, new Tile(BLUE, CROSS), new Tile(GREEN, CROSS)) > 0);
+    }
+
+    @Test
+    void the_throwing_methods_carry_the_code() {
+        QwirkleException e = assertThrows(QwirkleException.class, () -> grid.add(row, col, new Tile(RED, STAR)));
+        assertEquals(Rejection.OCCUPIED, e.getCode());
+        assertEquals(Rejection.getMessage(Rejection.OCCUPIED), e.getMessage());
+        assertEquals("OCCUPIED", Rejection.getName(e.getCode()));
+        assertThrows(IllegalArgumentException.class, () -> Rejection.getName(0));
+    }
+}
@@ -0,0 +1,60 @@
+package g61692.qwirkle.model;
+
+import org.junit.jupiter.api.Test;
+
+import static g61692.qwirkle.model.Color.*;
+import static g61692.qwirkle.model.Direction.*;
+import static g61692.qwirkle.model.Shape.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleSetTest {
+
+    @Test
+    void standard_rules() {
+        RuleSet rules = RuleSet.STANDARD;
+
+        assertEquals(36, rules.getTileTypes());
+        assertEquals(108, rules.getTileCount());
+        assertEquals(45, rules.getStartRow());
+        assertEquals(45, rules.getStartCol());
+        assertFalse(rules.contains(new Tile(CYAN, CROSS)));
+    }
+
+    @Test
+    void tile_ids_are_a_bijection() {
+        RuleSet rules = new RuleSet(8, 8, 2, 8, 8, 101);
+        for (int id = 0; id < rules.getTileTypes(); id++) {
+            assertEquals(id, rules.tileId(rules.tile(id)));
+        }
+    }
+
+    @Test
+    void invalid_rules() {
+        assertThrows(QwirkleException.class, () -> new RuleSet(9, 6, 3, 6, 6, 91));
+        assertThrows(QwirkleException.class, () -> new RuleSet(6, 6, 0, 6, 6, 91));
+        assertThrows(QwirkleException.class, () -> new RuleSet(6, 6, 3, 7, 6, 91));
+        assertThrows(QwirkleException.class, () -> new RuleSet(6, 6, 3, 6, 6, 11));
+    }
+
+    @Test
+    void is_line() {
+        assertTrue(RuleSet.isLine(0b1, 0b111, 3));
+        assertTrue(RuleSet.isLine(0b1011, 0b100, 3));
+        assertFalse(RuleSet.isLine(0b11, 0b11, 2));
+        assertFalse(RuleSet.isLine(0b1, 0b11, 3));
+    }
+
+    @Test
+    void grid_uses_start_and_bonus_of_the_rules() {
+        Grid grid = new Grid(new RuleSet(4, 4, 2, 4, 10, 41));
+        Grid noBonus = new Grid(new RuleSet(4, 4, 2, 4, 0, 41));
+        Tile[] line = {new Tile(RED, CROSS), new Tile(RED, SQUARE), new Tile(RED, ROUND)};
+        grid.firstAdd(RIGHT, line);
+        noBonus.firstAdd(RIGHT, line);
+
+        assertEquals(new Tile(RED, CROSS), grid.get(20, 20));
+        int points = grid.add(20, 23, new Tile(RED, STAR));
+        assertEquals(10, points - noBonus.add(20, 23, new Tile(RED, STAR)));
+        assertThrows(QwirkleException.class, () -> grid.add(20, 24, new Tile(RED, PLUS)));
+    }
+}
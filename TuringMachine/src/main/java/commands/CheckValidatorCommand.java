@@ -1,5 +1,6 @@
 package commands;
 
+import model.Deduction;
 import model.GameFacade;
 
 /**
@@ -19,6 +20,11 @@ public class CheckValidatorCommand implements Command {
      */
     private final int nbValidator;
 
+    /**
+     * The candidate codes before the execution of the command.
+     */
+    private Deduction.State deduction;
+
     /**
      * Constructs a new {@code CheckValidatorCommand} with the specified game facade
      * and validator number.
@@ -33,17 +39,21 @@ public class CheckValidatorCommand implements Command {
 
     /**
      * Executes the command by verifying the specified validator in the game.
+     * It also saves the candidate codes before the execution for possible unexecution.
      */
     @Override
     public void execute() {
+        deduction = gameFacade.getDeductionState();
         gameFacade.verifyValidator(nbValidator);
     }
 
     /**
-     * Unexecutes the command by unselecting the specified validator in the game.
+     * Unexecutes the command by unselecting the specified validator in the game
+     * and restoring the candidate codes saved before the execution.
      */
     @Override
     public void unexecute() {
+        gameFacade.restoreDeduction(deduction);
         gameFacade.unselectValidator(nbValidator);
     }
 }
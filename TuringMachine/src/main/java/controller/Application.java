@@ -1,6 +1,7 @@
 package controller;
 
 import model.GameFacade;
+import model.ProblemRepository;
 import model.TurningMachineException;
 import viewConsole.View;
 
@@ -21,6 +22,7 @@ public class Application {
     private static final String REDO_REGEX= "redo";
     private static final String UNDO_REGEX= "undo";
     private static final String SHOW_VALIDATORS_REGEX = "show";
+    private static final String HINT_REGEX = "hint";
 
     private static final Pattern CODE_PATTERN = Pattern.compile(CODE_REGEX);
     private static final Pattern VALIDATOR_PATTERN = Pattern.compile(VALIDATOR_REGEX);
@@ -35,6 +37,8 @@ public class Application {
      * Starts the game application.
      */
     public void start() {
+        // les problèmes sont lus pendant que le joueur répond
+        ProblemRepository.preload();
         Scanner scanner = new Scanner(System.in);
 
         boolean chooseProblem = askForSpecifiedProblem(scanner);
@@ -106,6 +110,8 @@ public class Application {
                 handleVerifyCodeCommand(command);
             } else if (command.matches(SHOW_VALIDATORS_REGEX)) {
                 view.displayValidators(gameFacade.validatorsList());
+            } else if (command.matches(HINT_REGEX)) {
+                view.displayHint(gameFacade.getBestQuery(), gameFacade.getCandidateCount());
             } else if (command.matches(NEXT_ROUND_REGEX)) {
                 gameFacade.nextRound();
                 view.displayEnterCode();
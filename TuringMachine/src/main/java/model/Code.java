@@ -3,17 +3,40 @@ package model;
 /**
  * The {@code Code} class represents a three-digit code used in the game.
  * It consists of three digits, each ranging from 1 to 5.
+ * <p>
+ * There are only 125 codes, so each one has an index, {@code (first - 1) * 25 + (second - 1) * 5
+ * + (third - 1)}, from 0 for 111 to 124 for 555, and one shared instance returned by
+ * {@link #of(int)} and {@link #ofIndex(int)}. A code is immutable, so the shared instances can be
+ * passed around freely, and validators or solvers can work on indexes and bitsets instead.
  */
-public class Code {
+public final class Code {
+
+    /** The number of different codes. */
+    public static final int COUNT = 125;
+
+    /** The mask of the codes of index 64 to 124, in the second {@code long} of a set of codes. */
+    public static final long HIGH_MASK = (1L << (COUNT - 64)) - 1;
+
+    /** The shared instances, by index. */
+    private static final Code[] CODES = new Code[COUNT];
+
+    static {
+        for (int i = 0; i < COUNT; i++) {
+            CODES[i] = new Code(i / 25 + 1, i / 5 % 5 + 1, i % 5 + 1);
+        }
+    }
 
     /** The first digit of the code. */
-    protected final int first;
+    private final int first;
 
     /** The second digit of the code. */
-    protected final int second;
+    private final int second;
 
     /** The third digit of the code. */
-    protected final int third;
+    private final int third;
+
+    /** The index of the code, from 0 to 124. */
+    private final int index;
 
     /**
      * Constructs a {@code Code} object with the specified three-digit code.
@@ -21,7 +44,9 @@ public class Code {
      *
      * @param code The three-digit code.
      * @throws TurningMachineException If the code is invalid.
+     * @deprecated The instance is not the shared one, use {@link #of(int)} instead.
      */
+    @Deprecated
     public Code(int code) {
         int centaine = (code / 100) % 10;
         int dizaine = (code / 10) % 10;
@@ -34,17 +59,74 @@ public class Code {
         first = centaine;
         second = dizaine;
         third = unite;
+        index = indexOf(first, second, third);
     }
 
     /**
      * Constructs a {@code Code} object with the same digits as the specified code.
      *
      * @param code The code to copy.
+     * @deprecated A code is immutable, use the code itself or {@link #ofIndex(int)} instead.
      */
+    @Deprecated
     public Code(Code code) {
         first = code.getFirst();
         second = code.getSecond();
         third = code.getThird();
+        index = code.index;
+    }
+
+    /**
+     * Constructs a shared code from valid digits.
+     */
+    private Code(int first, int second, int third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+        this.index = indexOf(first, second, third);
+    }
+
+    /**
+     * Returns the shared instance of a three-digit code.
+     *
+     * @param code The three-digit code.
+     * @return The code.
+     * @throws TurningMachineException If the code is invalid.
+     */
+    public static Code of(int code) {
+        int centaine = (code / 100) % 10;
+        int dizaine = (code / 10) % 10;
+        int unite = code % 10;
+        if (!verifyCode(centaine, dizaine, unite)) {
+            throw new TurningMachineException("The code proposed is invalid.");
+        }
+        return CODES[indexOf(centaine, dizaine, unite)];
+    }
+
+    /**
+     * Returns the shared instance of the code with the given index.
+     *
+     * @param index The index of the code, from 0 to 124.
+     * @return The code.
+     * @throws TurningMachineException If the index is invalid.
+     */
+    public static Code ofIndex(int index) {
+        if (index < 0 || index >= COUNT) {
+            throw new TurningMachineException("The code proposed is invalid.");
+        }
+        return CODES[index];
+    }
+
+    /**
+     * Returns the index of a code given by its digits.
+     *
+     * @param first  The first digit, from 1 to 5.
+     * @param second The second digit, from 1 to 5.
+     * @param third  The third digit, from 1 to 5.
+     * @return The index of the code, from 0 to 124.
+     */
+    public static int indexOf(int first, int second, int third) {
+        return (first - 1) * 25 + (second - 1) * 5 + (third - 1);
     }
 
     /**
@@ -55,7 +137,7 @@ public class Code {
      * @param unite    The units digit.
      * @return {@code true} if the code is valid, {@code false} otherwise.
      */
-    private boolean verifyCode(int centaine, int dizaine, int unite) {
+    private static boolean verifyCode(int centaine, int dizaine, int unite) {
         return centaine >= 1 && dizaine >= 1 && unite >= 1 && centaine <= 5 && dizaine <= 5 && unite <= 5;
     }
 
@@ -87,12 +169,42 @@ public class Code {
     }
 
     /**
-     * Checks if the specified code is equal to this code.
+     * Gets the index of the code.
      *
-     * @param code The code to compare.
+     * @return The index, from 0 for 111 to 124 for 555.
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Checks if the specified object is a code equal to this code.
+     *
+     * @param o The object to compare.
      * @return {@code true} if the codes are equal, {@code false} otherwise.
      */
-    public boolean equals(Code code) {
-        return code.getFirst() == first && code.getSecond() == second && code.getThird() == third;
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Code code && code.index == index;
+    }
+
+    /**
+     * Returns the hash code of the code, which is its index.
+     *
+     * @return The index of the code.
+     */
+    @Override
+    public int hashCode() {
+        return index;
+    }
+
+    /**
+     * Returns the three digits of the code.
+     *
+     * @return The code, such as "243".
+     */
+    @Override
+    public String toString() {
+        return "" + first + second + third;
     }
 }
@@ -0,0 +1,208 @@
+package model;
+
+import model.validators.ValidatorTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code Deduction} class keeps the secret codes that are still consistent with every
+ * validator result of the game so far.
+ * <p>
+ * The candidates are a mask of 125 bits, one per {@link Code#index() code index}, held in two
+ * {@code long}s. Each validator result narrows it with a single intersection with a mask of the
+ * {@link ValidatorTable}, and the whole set is saved and restored as a {@link State}, so undoing
+ * a result costs the same whatever the length of the game.
+ */
+public class Deduction {
+
+    /**
+     * The {@code State} record is a saved set of candidate codes.
+     *
+     * @param low  The candidates of index 0 to 63.
+     * @param high The candidates of index 64 to 124.
+     */
+    public record State(long low, long high) {
+
+        /** Every code, the candidates at the start of a game. */
+        public static final State ALL = new State(-1L, Code.HIGH_MASK);
+
+        /**
+         * Keeps the codes of this set that are also in another one.
+         *
+         * @param other The other set.
+         * @return The intersection of the sets.
+         */
+        public State and(State other) {
+            return new State(low & other.low, high & other.high);
+        }
+
+        /**
+         * Keeps the codes of this set that are not in another one.
+         *
+         * @param other The other set.
+         * @return The codes of this set only.
+         */
+        public State minus(State other) {
+            return new State(low & ~other.low, high & ~other.high);
+        }
+
+        /**
+         * Checks if the set holds no code.
+         *
+         * @return {@code true} if the set is empty, {@code false} otherwise.
+         */
+        public boolean isEmpty() {
+            return low == 0 && high == 0;
+        }
+
+        /**
+         * Counts the codes of the set.
+         *
+         * @return The number of codes.
+         */
+        public int size() {
+            return Long.bitCount(low) + Long.bitCount(high);
+        }
+    }
+
+    /** The validators of the problem. */
+    private final List<Integer> validators;
+
+    /** The candidates of index 0 to 63. */
+    private long low;
+
+    /** The candidates of index 64 to 124. */
+    private long high;
+
+    /**
+     * Constructs a {@code Deduction} for the validators of a problem, where every code is still a candidate.
+     *
+     * @param validators The validators of the problem.
+     */
+    public Deduction(List<Integer> validators) {
+        this.validators = new ArrayList<>(validators);
+        low = -1L;
+        high = Code.HIGH_MASK;
+    }
+
+    /**
+     * Records the result of a validator and keeps only the secret codes giving the same result.
+     *
+     * @param nbValidator The number of the validator.
+     * @param code        The code checked by the validator.
+     * @param result      {@code true} if the validator accepted the code, {@code false} otherwise.
+     */
+    public void record(int nbValidator, Code code, boolean result) {
+        long secretsLow = ValidatorTable.secrets(nbValidator, code.index(), 0);
+        long secretsHigh = ValidatorTable.secrets(nbValidator, code.index(), 1);
+        if (result) {
+            low &= secretsLow;
+            high &= secretsHigh;
+        } else {
+            low &= ~secretsLow;
+            high &= ~secretsHigh & Code.HIGH_MASK;
+        }
+    }
+
+    /**
+     * Gets the current set of candidates, to restore it later.
+     *
+     * @return The state of the deduction.
+     */
+    public State getState() {
+        return new State(low, high);
+    }
+
+    /**
+     * Restores a set of candidates saved by {@link #getState()}.
+     *
+     * @param state The state to restore.
+     */
+    public void restore(State state) {
+        low = state.low();
+        high = state.high();
+    }
+
+    /**
+     * Gets the number of secret codes still consistent with the results.
+     *
+     * @return The number of candidates.
+     */
+    public int getCandidateCount() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /**
+     * Checks if a code is still a candidate.
+     *
+     * @param code The code.
+     * @return {@code true} if the code is consistent with every result, {@code false} otherwise.
+     */
+    public boolean isCandidate(Code code) {
+        int index = code.index();
+        long word = index < 64 ? low : high;
+        return (word & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the secret codes still consistent with the results.
+     *
+     * @return The candidates, by increasing code.
+     */
+    public List<Code> getCandidates() {
+        List<Code> candidates = new ArrayList<>();
+        for (long word = low; word != 0; word &= word - 1) {
+            candidates.add(Code.ofIndex(Long.numberOfTrailingZeros(word)));
+        }
+        for (long word = high; word != 0; word &= word - 1) {
+            candidates.add(Code.ofIndex(64 + Long.numberOfTrailingZeros(word)));
+        }
+        return candidates;
+    }
+
+    /**
+     * Gets the criteria a validator may still be checking. The criterion of a validator depends on
+     * the secret code: it is the set of codes it accepts.
+     *
+     * @param nbValidator The number of the validator.
+     * @return The different criteria among the candidates, as sets of accepted codes, in the order
+     * of the first candidate giving each one; a single one once the criterion is known.
+     * @throws TurningMachineException If the validator is not part of the problem.
+     */
+    public Set<State> getCriteria(int nbValidator) {
+        if (!validators.contains(nbValidator)) {
+            throw new TurningMachineException("Incorrect number of the validator.");
+        }
+        Set<State> criteria = new LinkedHashSet<>();
+        for (Code candidate : getCandidates()) {
+            criteria.add(new State(ValidatorTable.accepted(nbValidator, candidate.index(), 0),
+                    ValidatorTable.accepted(nbValidator, candidate.index(), 1)));
+        }
+        return Collections.unmodifiableSet(criteria);
+    }
+
+    /**
+     * Gets the number of criteria a validator may still be checking.
+     *
+     * @param nbValidator The number of the validator.
+     * @return The number of different criteria among the candidates; 1 once the criterion is known.
+     * @throws TurningMachineException If the validator is not part of the problem.
+     * @see #getCriteria(int)
+     */
+    public int getCriteriaCount(int nbValidator) {
+        return getCriteria(nbValidator).size();
+    }
+
+    /**
+     * Checks if the results leave a single possible secret code.
+     *
+     * @return {@code true} if the secret code is known, {@code false} otherwise.
+     */
+    public boolean isSolved() {
+        return getCandidateCount() == 1;
+    }
+}
@@ -1,7 +1,6 @@
 package model;
 
-import model.validators.Validator;
-import model.validators.ValidatorFactory;
+import model.validators.ValidatorTable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -23,6 +22,12 @@ public class Game {
     /** The problem associated with the game. */
     private final Problem problem;
 
+    /** The secret codes still consistent with the results of the validators. */
+    private final Deduction deduction;
+
+    /** The recommender of the next tests, for the validators of the problem. */
+    private final QueryRecommender recommender;
+
     /** The map to store the state of each validator (color: green, red, white). */
     private Map<Integer, String> validators = new HashMap<>();
 
@@ -30,12 +35,14 @@ public class Game {
      * Constructs a {@code Game} object with the specified problem number.
      *
      * @param nbProblem The problem number.
+     * @throws TurningMachineException If there is no problem with this number.
      */
     public Game(int nbProblem) {
         rounds = new ArrayList<>();
         totalScore = 0;
-        GameProblems problems = new GameProblems();
-        problem = problems.getProblems().get(nbProblem - 1);
+        problem = ProblemRepository.getInstance().getProblem(nbProblem);
+        deduction = new Deduction(problem.getValidators());
+        recommender = new QueryRecommender(problem.getValidators());
     }
 
     /**
@@ -44,10 +51,9 @@ public class Game {
     public Game() {
         rounds = new ArrayList<>();
         totalScore = 0;
-        GameProblems problems = new GameProblems();
-        List<Problem> problemsList = problems.getProblems();
-        int randomIndex = (int) (Math.random() * problemsList.size());
-        problem = problemsList.get(randomIndex);
+        problem = ProblemRepository.getInstance().getRandomProblem();
+        deduction = new Deduction(problem.getValidators());
+        recommender = new QueryRecommender(problem.getValidators());
     }
 
     /**
@@ -61,7 +67,7 @@ public class Game {
             rounds.add(new Round()); // if it's the first round of the game
         }
         if (getActualRound().isRoundStarted()) {
-            getActualRound().setProposedCode(new Code(code));
+            getActualRound().setProposedCode(Code.of(code));
         } else {
             throw new TurningMachineException("You have to move to the next round to choose a new code.");
         }
@@ -88,11 +94,12 @@ public class Game {
         if (getActualRound().getScore() == 3) {
             throw new TurningMachineException("You have already used three validators. Move to the next round.");
         }
-        Validator validator = chooseValidator(nbValidator);
+        boolean valid = checkValidator(nbValidator);
         rounds.get(rounds.size() - 1).incrementScore();
         totalScore++;
+        deduction.record(nbValidator, getActualRound().getProposedCode(), valid);
 
-        if (validator.checkCodeWithValidator()) {
+        if (valid) {
             validators.put(nbValidator, "green");
             return true;
         } else {
@@ -102,18 +109,18 @@ public class Game {
     }
 
     /**
-     * Chooses the appropriate validator based on its number.
+     * Checks the current code with a validator of the problem, using the {@link ValidatorTable}.
      *
-     * @param nbValidator The number of the validator to choose.
-     * @return The chosen validator.
+     * @param nbValidator The number of the validator to check.
+     * @return {@code true} if the code is valid according to the validator, {@code false} otherwise.
      * @throws TurningMachineException If the validator number is incorrect.
      */
-    private Validator chooseValidator(int nbValidator) {
+    private boolean checkValidator(int nbValidator) {
         List<Integer> validatorsList = problem.getValidators();
         for (Integer v : validatorsList) {
             if (nbValidator == v) {
                 Code code = rounds.get(rounds.size() - 1).getProposedCode();
-                return ValidatorFactory.createValidator(problem.getSecretCode(), code, nbValidator);
+                return ValidatorTable.check(nbValidator, problem.getSecretCode(), code);
             }
         }
         throw new TurningMachineException("Incorrect number of the validator.");
@@ -128,6 +135,24 @@ public class Game {
         return problem;
     }
 
+    /**
+     * Gets the secret codes still consistent with the results of the validators.
+     *
+     * @return The deduction of the game.
+     */
+    public Deduction getDeduction() {
+        return deduction;
+    }
+
+    /**
+     * Finds the test that narrows the candidate secret codes the most.
+     *
+     * @return The best next test, or {@code null} if no secret code is consistent with the results.
+     */
+    public QueryRecommender.Query getBestQuery() {
+        return recommender.best(deduction);
+    }
+
     /**
      * Gets the total score accumulated in the game.
      *
@@ -158,7 +183,7 @@ public class Game {
      * @return {@code true} if the codes are equal, {@code false} otherwise.
      */
     public boolean verifyCode(int code) {
-        return problem.getSecretCode().equals(new Code(code));
+        return problem.getSecretCode().equals(Code.of(code));
     }
 
     /**
@@ -163,6 +163,51 @@ public class GameFacade implements Observable {
         notifyObservers();
     }
 
+    /**
+     * Retrieves the number of secret codes still consistent with the results of the validators.
+     *
+     * @return The number of candidate codes.
+     */
+    public int getCandidateCount() {
+        return game.getDeduction().getCandidateCount();
+    }
+
+    /**
+     * Retrieves the set of candidate codes, to restore it when a command is undone.
+     *
+     * @return The state of the deduction.
+     */
+    public Deduction.State getDeductionState() {
+        return game.getDeduction().getState();
+    }
+
+    /**
+     * Restores a set of candidate codes saved by {@link #getDeductionState()}.
+     *
+     * @param state The state of the deduction to restore.
+     */
+    public void restoreDeduction(Deduction.State state) {
+        game.getDeduction().restore(state);
+    }
+
+    /**
+     * Retrieves the best next test: the code to propose and the validators to check it with.
+     *
+     * @return The best next test, or {@code null} if no secret code is consistent with the results.
+     */
+    public QueryRecommender.Query getBestQuery() {
+        return game.getBestQuery();
+    }
+
+    /**
+     * Retrieves the score of an optimal player for the problem of the game.
+     *
+     * @return The par of the problem, or {@code null} if it has not been computed.
+     */
+    public ParSolver.Par getPar() {
+        return game.getProblem().getPar();
+    }
+
     /**
      * Checks if a code has been entered for the current round.
      *
@@ -1,40 +1,76 @@
 package model;
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The {@code GameProblems} class reads known problems from a CSV file and provides a list of Problem objects.
+ * <p>
+ * The known problems themselves are read once from the classpath by the {@link ProblemRepository};
+ * this class also reads the problems of any other file in the same format.
  */
 public class GameProblems {
 
+    /** The file of the par of the problems, written by {@link ParSolver}. */
+    public static final String PAR_FILE = "src/main/resources/known_problems_par.csv";
+
     /** The list of problems. */
-    private List<Problem> problems;
+    private final List<Problem> problems;
 
     /**
-     * Constructs a {@code GameProblems} object and reads known problems from a CSV file.
+     * Constructs a {@code GameProblems} object with the known problems of the {@link ProblemRepository}.
      */
     public GameProblems() {
-        String csvFile = "src/main/resources/known_problems.csv";
+        problems = ProblemRepository.getInstance().getProblems();
+    }
 
-        try (CSVReader reader = new CSVReader(new FileReader(csvFile))) {
-            List<String[]> records = reader.readAll();
+    /**
+     * Constructs a {@code GameProblems} object and reads the problems of another CSV file, in the
+     * format of the known problems, for instance to verify it before using it.
+     *
+     * @param csvFile The CSV file of the problems.
+     * @throws UncheckedIOException If the file cannot be read.
+     * @throws TurningMachineException If a line of the file is not a valid problem.
+     */
+    public GameProblems(String csvFile) {
+        try (Reader reader = new FileReader(csvFile)) {
+            problems = readProblems(reader, new HashMap<>());
+        } catch (IOException e) {
+            throw new UncheckedIOException("The problems of " + csvFile + " cannot be read", e);
+        }
+    }
 
-            problems = new ArrayList<>();
+    /**
+     * Reads problems in the format of the known problems.
+     *
+     * @param input The CSV content.
+     * @param pars  The par of each problem, by problem number.
+     * @return The problems, in the order of the file.
+     * @throws IOException If the content cannot be read.
+     * @throws TurningMachineException If a line is not a valid problem.
+     */
+    static List<Problem> readProblems(Reader input, Map<Integer, ParSolver.Par> pars) throws IOException {
+        List<Problem> problems = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(input)) {
+            List<String[]> records = reader.readAll();
 
             for (int i = 1; i < records.size(); i++) {
                 String[] record = records.get(i);
+                if (record.length < 5) {
+                    throw new TurningMachineException("Line " + (i + 1) + " is not a problem.");
+                }
                 int problemNumber = Integer.parseInt(record[0]);
+                int difficulty = Integer.parseInt(record[1]);
+                int luck = Integer.parseInt(record[2]);
                 String codeSecret = record[3];
 
                 List<Integer> validators = new ArrayList<>();
@@ -42,13 +78,37 @@ public class GameProblems {
                     validators.add(Integer.parseInt(record[j]));
                 }
 
-                Problem problem = new Problem(problemNumber, codeSecret, validators);
-                problems.add(problem);
+                problems.add(new Problem(problemNumber, codeSecret, validators, difficulty, luck,
+                        pars.get(problemNumber)));
             }
+        } catch (NumberFormatException e) {
+            throw new TurningMachineException("Invalid number in the problems: " + e.getMessage());
+        } catch (CsvException e) {
+            throw new IOException(e);
+        }
+        return problems;
+    }
 
-        } catch (IOException | CsvException e) {
-            e.printStackTrace();
+    /**
+     * Reads the par of the problems, in the format written by {@link ParSolver}.
+     *
+     * @param input The CSV content.
+     * @return The par of each problem, by problem number.
+     * @throws IOException If the content cannot be read.
+     */
+    static Map<Integer, ParSolver.Par> readPars(Reader input) throws IOException {
+        Map<Integer, ParSolver.Par> pars = new HashMap<>();
+        try (CSVReader reader = new CSVReader(input)) {
+            List<String[]> records = reader.readAll();
+            for (int i = 1; i < records.size(); i++) {
+                String[] record = records.get(i);
+                pars.put(Integer.parseInt(record[0]),
+                        new ParSolver.Par(Integer.parseInt(record[1]), Double.parseDouble(record[2])));
+            }
+        } catch (CsvException e) {
+            throw new IOException(e);
         }
+        return pars;
     }
 
     /**
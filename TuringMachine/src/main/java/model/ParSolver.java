@@ -0,0 +1,363 @@
+package model;
+
+import model.validators.ValidatorTable;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code ParSolver} class computes the par of a problem: the fewest validator checks, the
+ * score of a {@link Game}, an optimal player needs to identify the secret code, in the worst
+ * case and on average over the 125 possible secret codes.
+ * <p>
+ * The validators of a problem cannot always tell every code apart: the codes giving the same
+ * result to every check form a group, and the secret is identified once the candidates are a
+ * single group. A check splits the candidates in two, so the par is found by an exhaustive
+ * search of the decision trees of checks, with three shortcuts:
+ * <ul>
+ *     <li>checks splitting the candidates the same way are tried once;</li>
+ *     <li>the value of every set of candidates, a mask like the {@link Deduction} ones, is kept;</li>
+ *     <li>a branch is dropped as soon as a lower bound shows it cannot beat the best one found,
+ *     the bound being the depth of a balanced tree for the worst case and the length of a
+ *     Huffman code of the groups for the average.</li>
+ * </ul>
+ * The first checks are tried in parallel on a fork-join pool, sharing the values found.
+ * <p>
+ * Usage: {@code ParSolver [file]}, writing the par of every known problem to the file
+ * read by {@link GameProblems}.
+ */
+public class ParSolver {
+
+    /**
+     * The {@code Par} record is the score of an optimal player.
+     *
+     * @param worst    The number of checks needed in the worst case.
+     * @param expected The average number of checks needed, every secret code being as likely.
+     */
+    public record Par(int worst, double expected) {
+    }
+
+    /** The different splits of the codes by a check, as the secret codes accepted. */
+    private final List<Deduction.State> tests = new ArrayList<>();
+
+    /** The groups of codes no check can tell apart. */
+    private final List<Deduction.State> groups = new ArrayList<>();
+
+    /** The worst case value of the sets of candidates solved. */
+    private final Map<Deduction.State, Integer> worstValues = new ConcurrentHashMap<>();
+
+    /** A lower bound of the worst case value of the sets of candidates cut off. */
+    private final Map<Deduction.State, Integer> worstBounds = new ConcurrentHashMap<>();
+
+    /** The total depth of the candidates of the sets solved. */
+    private final Map<Deduction.State, Integer> totalValues = new ConcurrentHashMap<>();
+
+    /** A lower bound of the total depth of the candidates of the sets cut off. */
+    private final Map<Deduction.State, Integer> totalBounds = new ConcurrentHashMap<>();
+
+    /** The pool trying the first checks. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a {@code ParSolver} for the validators of a problem, using the common pool.
+     *
+     * @param validators The validators of the problem.
+     */
+    public ParSolver(List<Integer> validators) {
+        this(validators, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a {@code ParSolver} for the validators of a problem.
+     *
+     * @param validators The validators of the problem.
+     * @param pool       The pool trying the first checks.
+     */
+    public ParSolver(List<Integer> validators, ForkJoinPool pool) {
+        this.pool = pool;
+        Set<Deduction.State> distinct = new HashSet<>();
+        groups.add(Deduction.State.ALL);
+        for (int nbValidator : validators) {
+            for (int code = 0; code < Code.COUNT; code++) {
+                Deduction.State test = new Deduction.State(ValidatorTable.secrets(nbValidator, code, 0),
+                        ValidatorTable.secrets(nbValidator, code, 1) & Code.HIGH_MASK);
+                if (distinct.add(test)) {
+                    tests.add(test);
+                    refineGroups(test);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the groups of codes by a check.
+     */
+    private void refineGroups(Deduction.State test) {
+        List<Deduction.State> refined = new ArrayList<>();
+        for (Deduction.State group : groups) {
+            Deduction.State in = group.and(test);
+            Deduction.State out = group.minus(test);
+            if (!in.isEmpty()) {
+                refined.add(in);
+            }
+            if (!out.isEmpty()) {
+                refined.add(out);
+            }
+        }
+        groups.clear();
+        groups.addAll(refined);
+    }
+
+    /**
+     * Computes the par of the problem.
+     *
+     * @return The worst case and average number of checks of an optimal player.
+     */
+    public Par solve() {
+        int worst = solveFirstCheck(true);
+        int total = solveFirstCheck(false);
+        return new Par(worst, (double) total / Code.COUNT);
+    }
+
+    /**
+     * Gets the number of groups of codes the validators of the problem can tell apart.
+     *
+     * @return The number of groups; 125 if every secret code can be identified.
+     */
+    public int getGroupCount() {
+        return groups.size();
+    }
+
+    /**
+     * Tries the first checks in parallel.
+     */
+    private int solveFirstCheck(boolean worstCase) {
+        List<Deduction.State> splits = splits(Deduction.State.ALL);
+        if (splits.isEmpty()) {
+            return 0;
+        }
+        AtomicInteger best = new AtomicInteger(Integer.MAX_VALUE);
+        pool.invoke(new FirstCheckTask(splits, 0, splits.size(), worstCase, best));
+        return best.get();
+    }
+
+    /**
+     * Tries a range of first checks, keeping the best value in a shared counter.
+     */
+    private class FirstCheckTask extends RangeTask<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Deduction.State> splits;
+        private final boolean worstCase;
+        private final AtomicInteger best;
+
+        FirstCheckTask(List<Deduction.State> splits, int from, int to, boolean worstCase, AtomicInteger best) {
+            super(from, to, 1);
+            this.splits = splits;
+            this.worstCase = worstCase;
+            this.best = best;
+        }
+
+        @Override
+        protected Void computeRange() {
+            for (int i = from; i < to; i++) {
+                Deduction.State accepted = splits.get(i);
+                int value = worstCase
+                        ? worstSplit(Deduction.State.ALL, accepted, best.get())
+                        : totalSplit(Deduction.State.ALL, accepted, best.get());
+                best.accumulateAndGet(value, Math::min);
+            }
+            return null;
+        }
+
+        @Override
+        protected FirstCheckTask part(int from, int to) {
+            return new FirstCheckTask(splits, from, to, worstCase, best);
+        }
+
+        @Override
+        protected Void merge(Void first, Void second) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the number of checks needed in the worst case to identify the group of the secret.
+     *
+     * @param candidates The candidate codes.
+     * @param limit      The value above which the exact value is not needed.
+     * @return The value if it is below the limit, a value at least equal to the limit otherwise.
+     */
+    private int worst(Deduction.State candidates, int limit) {
+        Integer value = worstValues.get(candidates);
+        if (value != null) {
+            return value;
+        }
+        int groupCount = groupSizes(candidates).size();
+        int lower = Math.max(32 - Integer.numberOfLeadingZeros(groupCount - 1),
+                worstBounds.getOrDefault(candidates, 0));
+        if (lower == 0 || lower >= limit) {
+            return lower;
+        }
+        int best = limit;
+        for (Deduction.State accepted : splits(candidates)) {
+            best = Math.min(best, worstSplit(candidates, accepted, best));
+            if (best == lower) {
+                break;
+            }
+        }
+        if (best < limit) {
+            worstValues.put(candidates, best);
+        } else {
+            worstBounds.merge(candidates, limit, Math::max);
+        }
+        return best;
+    }
+
+    /**
+     * Gets the worst case value of a check splitting the candidates.
+     *
+     * @return The value if it is below the limit, a value at least equal to the limit otherwise.
+     */
+    private int worstSplit(Deduction.State candidates, Deduction.State accepted, int limit) {
+        int left = worst(accepted, limit - 1);
+        if (left + 1 >= limit) {
+            return limit;
+        }
+        int right = worst(candidates.minus(accepted), limit - 1);
+        return 1 + Math.max(left, right);
+    }
+
+    /**
+     * Gets the sum, over the candidates, of the number of checks needed to identify their group.
+     *
+     * @param candidates The candidate codes.
+     * @param limit      The value above which the exact value is not needed.
+     * @return The value if it is below the limit, a value at least equal to the limit otherwise.
+     */
+    private int total(Deduction.State candidates, int limit) {
+        Integer value = totalValues.get(candidates);
+        if (value != null) {
+            return value;
+        }
+        int lower = Math.max(huffman(candidates), totalBounds.getOrDefault(candidates, 0));
+        if (lower == 0 || lower >= limit) {
+            return lower;
+        }
+        int best = limit;
+        for (Deduction.State accepted : splits(candidates)) {
+            best = Math.min(best, totalSplit(candidates, accepted, best));
+            if (best == lower) {
+                break;
+            }
+        }
+        if (best < limit) {
+            totalValues.put(candidates, best);
+        } else {
+            totalBounds.merge(candidates, limit, Math::max);
+        }
+        return best;
+    }
+
+    /**
+     * Gets the total depth of the candidates after a check splitting them.
+     *
+     * @return The value if it is below the limit, a value at least equal to the limit otherwise.
+     */
+    private int totalSplit(Deduction.State candidates, Deduction.State accepted, int limit) {
+        Deduction.State rejected = candidates.minus(accepted);
+        int size = candidates.size();
+        int rightBound = huffman(rejected);
+        if (size + rightBound >= limit) {
+            return limit;
+        }
+        int left = total(accepted, limit - size - rightBound);
+        if (size + left + rightBound >= limit) {
+            return limit;
+        }
+        return size + left + total(rejected, limit - size - left);
+    }
+
+    /**
+     * Gets the different ways the checks split the candidates, the most balanced first.
+     *
+     * @return The candidates accepted by each useful check.
+     */
+    private List<Deduction.State> splits(Deduction.State candidates) {
+        int size = candidates.size();
+        Set<Deduction.State> seen = new HashSet<>();
+        List<Deduction.State> splits = new ArrayList<>();
+        for (Deduction.State test : tests) {
+            Deduction.State accepted = candidates.and(test);
+            Deduction.State rejected = candidates.minus(test);
+            if (!accepted.isEmpty() && !rejected.isEmpty() && seen.add(accepted) && seen.add(rejected)) {
+                splits.add(accepted);
+            }
+        }
+        splits.sort(Comparator.comparingInt(accepted -> Math.abs(size - 2 * accepted.size())));
+        return splits;
+    }
+
+    /**
+     * Gets the sizes of the groups of codes among the candidates.
+     */
+    private List<Integer> groupSizes(Deduction.State candidates) {
+        List<Integer> sizes = new ArrayList<>();
+        for (Deduction.State group : groups) {
+            if (!group.and(candidates).isEmpty()) {
+                sizes.add(group.size());
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * Gets the least total depth of the candidates, that of a Huffman code of their groups.
+     */
+    private int huffman(Deduction.State candidates) {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(groupSizes(candidates));
+        int total = 0;
+        while (queue.size() > 1) {
+            int merged = queue.poll() + queue.poll();
+            total += merged;
+            queue.add(merged);
+        }
+        return total;
+    }
+
+    /**
+     * Computes the par of every known problem and writes it to a CSV file.
+     *
+     * @param args The file to write, {@code src/main/resources/known_problems_par.csv} by default.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        String file = args.length > 0 ? args[0] : GameProblems.PAR_FILE;
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("num,worstPar,expectedPar,groups");
+            for (Problem problem : new GameProblems().getProblems()) {
+                long start = System.nanoTime();
+                ParSolver solver = new ParSolver(problem.getValidators());
+                Par par = solver.solve();
+                out.printf(Locale.ROOT, "%d,%d,%.3f,%d%n", problem.getNumberProblem(), par.worst(),
+                        par.expected(), solver.getGroupCount());
+                System.out.printf(Locale.ROOT, "Problem %d : par %d, %.3f on average (%d ms)%n",
+                        problem.getNumberProblem(), par.worst(), par.expected(),
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+}
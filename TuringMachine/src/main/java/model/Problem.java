@@ -17,6 +17,15 @@ public class Problem {
     /** The list of validators associated with the problem. */
     private final List<Integer> validators;
 
+    /** The difficulty of the problem, from 1. */
+    private final int difficulty;
+
+    /** The luck of the problem. */
+    private final int luck;
+
+    /** The score of an optimal player, or {@code null} if it has not been computed. */
+    private final ParSolver.Par par;
+
     /**
      * Constructs a {@code Problem} object with the specified problem number, secret code, and validators.
      *
@@ -25,9 +34,28 @@ public class Problem {
      * @param validators The list of validators associated with the problem.
      */
     public Problem(int numberProblem, String secretCode, List<Integer> validators) {
+        this(numberProblem, secretCode, validators, 1, 3, null);
+    }
+
+    /**
+     * Constructs a {@code Problem} object with the specified problem number, secret code, validators,
+     * difficulty, luck and par.
+     *
+     * @param numberProblem The number of the problem.
+     * @param secretCode The secret code for the problem.
+     * @param validators The list of validators associated with the problem.
+     * @param difficulty The difficulty of the problem, from 1.
+     * @param luck The luck of the problem.
+     * @param par The score of an optimal player, or {@code null} if it is unknown.
+     */
+    public Problem(int numberProblem, String secretCode, List<Integer> validators, int difficulty, int luck,
+                   ParSolver.Par par) {
         this.numberProblem = numberProblem;
-        this.secretCode = new Code(Integer.parseInt(secretCode));
+        this.secretCode = Code.of(Integer.parseInt(secretCode));
         this.validators = new ArrayList<>(validators);
+        this.difficulty = difficulty;
+        this.luck = luck;
+        this.par = par;
     }
 
     /**
@@ -45,7 +73,7 @@ public class Problem {
      * @return The secret code for the problem.
      */
     public Code getSecretCode() {
-        return new Code(secretCode);
+        return secretCode;
     }
 
     /**
@@ -56,5 +84,31 @@ public class Problem {
     public List<Integer> getValidators() {
         return new ArrayList<>(validators);
     }
-}
 
+    /**
+     * Retrieves the difficulty of the problem.
+     *
+     * @return The difficulty, from 1.
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Retrieves the luck of the problem.
+     *
+     * @return The luck.
+     */
+    public int getLuck() {
+        return luck;
+    }
+
+    /**
+     * Retrieves the score of an optimal player for the problem.
+     *
+     * @return The par of the problem, or {@code null} if it has not been computed.
+     */
+    public ParSolver.Par getPar() {
+        return par;
+    }
+}
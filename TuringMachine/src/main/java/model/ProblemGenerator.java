@@ -0,0 +1,249 @@
+package model;
+
+import model.validators.ValidatorTable;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code ProblemGenerator} class finds every uniquely solvable problem for a number of validators.
+ * <p>
+ * A secret code is identified by the criteria the validators check, the sets of codes they accept:
+ * two secret codes giving every validator the same criterion cannot be told apart. A combination of
+ * validators and a secret code make a problem when no other secret code gives the same criteria,
+ * and when no validator can be removed while keeping it so.
+ * <p>
+ * For each validator and secret code, the secret codes giving the validator the same criterion
+ * are a mask of 125 bits of the {@link ValidatorTable}, so a problem is checked with a few
+ * intersections.
+ * The combinations are tried by chunks, in parallel on a fork-join pool, and the problems of a
+ * chunk are given in order to the caller as soon as the chunk is done.
+ * <p>
+ * Usage: {@code ProblemGenerator [file] [min] [max]}, writing the problems in the format of
+ * {@code known_problems.csv}, or as a {@link ProblemPack} if the file ends with {@code .bin}.
+ */
+public class ProblemGenerator {
+
+    /** The number of combinations of validators tried before the problems are given. */
+    private static final int CHUNK = 4096;
+
+    /** Below this number of combinations, they are tried by a single task. */
+    private static final int THRESHOLD = 64;
+
+    /** The first validator of the harder ones. */
+    private static final int HARD_VALIDATOR = 18;
+
+    /**
+     * The {@code Generated} record is a uniquely solvable problem.
+     *
+     * @param secretCode The secret code.
+     * @param validators The validators, by increasing number.
+     * @param difficulty The difficulty, 2 if one of the harder validators is used, 1 otherwise.
+     * @param luck       The luck, as the known problems give it for the difficulty.
+     */
+    public record Generated(Code secretCode, List<Integer> validators, int difficulty, int luck) {
+
+        /**
+         * Writes the problem as a line of {@code known_problems.csv}.
+         *
+         * @param number The number of the problem.
+         * @return The line, without its end.
+         */
+        public String toCsv(int number) {
+            return number + "," + difficulty + "," + luck + "," + secretCode + ","
+                    + validators.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+
+        /**
+         * Makes a problem of the generated one, without par.
+         *
+         * @param number The number of the problem.
+         * @return The problem.
+         */
+        public Problem toProblem(int number) {
+            return new Problem(number, secretCode.toString(), validators, difficulty, luck, null);
+        }
+    }
+
+    /** The pool trying the combinations. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a {@code ProblemGenerator} using the common pool.
+     */
+    public ProblemGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a {@code ProblemGenerator}.
+     *
+     * @param pool The pool trying the combinations.
+     */
+    public ProblemGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Finds every uniquely solvable problem with a number of validators in a range.
+     *
+     * @param min  The least number of validators.
+     * @param max  The greatest number of validators.
+     * @param sink The receiver of the problems, called from the calling thread, by increasing
+     *             combination of validators then secret code.
+     * @return The number of problems found.
+     * @throws TurningMachineException If the range of the number of validators is invalid.
+     */
+    public long generate(int min, int max, Consumer<Generated> sink) {
+        if (min < 1 || max > ValidatorTable.VALIDATORS || min > max) {
+            throw new TurningMachineException("Invalid number of validators.");
+        }
+        int[] combinations = combinations(min, max);
+        long found = 0;
+        for (int from = 0; from < combinations.length; from += CHUNK) {
+            int to = Math.min(combinations.length, from + CHUNK);
+            List<Generated> problems = pool.invoke(new GenerateTask(combinations, from, to));
+            for (Generated problem : problems) {
+                sink.accept(problem);
+            }
+            found += problems.size();
+        }
+        return found;
+    }
+
+    /**
+     * Lists the combinations of validators, one bit per validator, by increasing value.
+     */
+    private static int[] combinations(int min, int max) {
+        List<Integer> combinations = new ArrayList<>();
+        for (int set = 1; set < 1 << ValidatorTable.VALIDATORS; set++) {
+            int count = Integer.bitCount(set);
+            if (count >= min && count <= max) {
+                combinations.add(set);
+            }
+        }
+        return combinations.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Tries a range of combinations of validators.
+     */
+    private class GenerateTask extends RangeTask<List<Generated>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] combinations;
+
+        GenerateTask(int[] combinations, int from, int to) {
+            super(from, to, THRESHOLD);
+            this.combinations = combinations;
+        }
+
+        @Override
+        protected List<Generated> computeRange() {
+            List<Generated> problems = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                solve(combinations[i], problems);
+            }
+            return problems;
+        }
+
+        @Override
+        protected GenerateTask part(int from, int to) {
+            return new GenerateTask(combinations, from, to);
+        }
+
+        @Override
+        protected List<Generated> merge(List<Generated> first, List<Generated> second) {
+            return concat(first, second);
+        }
+    }
+
+    /**
+     * Finds the problems of a combination of validators.
+     *
+     * @param combination The validators, one bit per validator.
+     * @param problems    The list receiving the problems.
+     */
+    private void solve(int combination, List<Generated> problems) {
+        int count = Integer.bitCount(combination);
+        int[] validators = new int[count];
+        boolean hard = false;
+        for (int i = 0, set = combination; set != 0; set &= set - 1, i++) {
+            validators[i] = Integer.numberOfTrailingZeros(set) + 1;
+            hard |= validators[i] >= HARD_VALIDATOR;
+        }
+        // prefix[i] : codes semblables pour les validateurs avant i, suffix[i] : à partir de i
+        long[] prefix = new long[(count + 1) * 2];
+        long[] suffix = new long[(count + 1) * 2];
+        for (int secret = 0; secret < Code.COUNT; secret++) {
+            prefix[0] = -1L;
+            prefix[1] = Code.HIGH_MASK;
+            for (int i = 0; i < count; i++) {
+                prefix[2 * i + 2] = prefix[2 * i] & ValidatorTable.lookalikes(validators[i], secret, 0);
+                prefix[2 * i + 3] = prefix[2 * i + 1] & ValidatorTable.lookalikes(validators[i], secret, 1);
+            }
+            if (!isOnly(prefix[2 * count], prefix[2 * count + 1], secret)) {
+                continue;
+            }
+            suffix[2 * count] = -1L;
+            suffix[2 * count + 1] = Code.HIGH_MASK;
+            for (int i = count - 1; i >= 0; i--) {
+                suffix[2 * i] = suffix[2 * i + 2] & ValidatorTable.lookalikes(validators[i], secret, 0);
+                suffix[2 * i + 1] = suffix[2 * i + 3] & ValidatorTable.lookalikes(validators[i], secret, 1);
+            }
+            boolean redundant = false;
+            for (int i = 0; i < count && !redundant; i++) {
+                redundant = isOnly(prefix[2 * i] & suffix[2 * i + 2], prefix[2 * i + 1] & suffix[2 * i + 3], secret);
+            }
+            if (!redundant) {
+                List<Integer> list = new ArrayList<>(count);
+                for (int nbValidator : validators) {
+                    list.add(nbValidator);
+                }
+                problems.add(new Generated(Code.ofIndex(secret), List.copyOf(list), hard ? 2 : 1, hard ? 2 : 3));
+            }
+        }
+    }
+
+    /**
+     * Checks if a mask holds a single secret code.
+     */
+    private static boolean isOnly(long low, long high, int secret) {
+        return secret < 64 ? low == 1L << secret && high == 0 : low == 0 && high == 1L << secret;
+    }
+
+    /**
+     * Generates the problems and writes them in the format of {@code known_problems.csv} or as a pack.
+     *
+     * @param args The file to write, the least and the greatest number of validators; by default
+     *             {@code generated_problems.csv}, 4 and 6.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        String file = args.length > 0 ? args[0] : "generated_problems.csv";
+        int min = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int max = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        long start = System.nanoTime();
+        if (file.endsWith(ProblemPack.EXTENSION)) {
+            List<Problem> problems = new ArrayList<>();
+            new ProblemGenerator().generate(min, max, problem -> problems.add(problem.toProblem(problems.size() + 1)));
+            ProblemPack.write(Path.of(file), problems);
+            System.out.printf("%d problems in %d ms%n", problems.size(), (System.nanoTime() - start) / 1_000_000);
+            return;
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("num,difficulty,luck,code,validatorNos");
+            int[] number = {0};
+            long found = new ProblemGenerator().generate(min, max, problem -> out.println(problem.toCsv(++number[0])));
+            System.out.printf("%d problems in %d ms%n", found, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package model;
+
+import model.validators.ValidatorTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The {@code ProblemPack} class reads a binary pack of problems, mapped in memory so that opening
+ * it and looking up a problem take the same time whatever the number of problems.
+ * <p>
+ * A pack starts with a header of {@link #HEADER} bytes: {@link #MAGIC}, the number of problems and
+ * the number of the first one. Then come the problems, {@link #RECORD} bytes each, by increasing number:
+ * <ul>
+ *     <li>the number (int);</li>
+ *     <li>the validators (int), one bit per validator, bit 0 for validator 1;</li>
+ *     <li>the average par in thousandths (unsigned short), {@code 0xFFFF} if unknown;</li>
+ *     <li>the difficulty, the luck and the secret code {@link Code#index() index} (bytes);</li>
+ *     <li>the worst case par (byte), {@code -1} if unknown;</li>
+ *     <li>two unused bytes.</li>
+ * </ul>
+ * When the numbers follow each other, the problem of a number is read at a computed position;
+ * otherwise it is searched by dichotomy. The validators of a problem are read in increasing order.
+ * <p>
+ * Usage: {@code ProblemPack csvFile packFile}, converting a file in the format of the known problems;
+ * it exits with the status 2, writing nothing, if the file cannot be read or holds no problem.
+ */
+public final class ProblemPack implements AutoCloseable {
+
+    /** The first int of a pack, "TMP1". */
+    public static final int MAGIC = 0x544D5031;
+
+    /** The size of the header, in bytes. */
+    public static final int HEADER = 12;
+
+    /** The size of a problem, in bytes. */
+    public static final int RECORD = 16;
+
+    /** The usual extension of a pack. */
+    public static final String EXTENSION = ".bin";
+
+    private static final int NUMBER = 0;
+    private static final int VALIDATORS = 4;
+    private static final int EXPECTED_PAR = 8;
+    private static final int DIFFICULTY = 10;
+    private static final int LUCK = 11;
+    private static final int SECRET = 12;
+    private static final int WORST_PAR = 13;
+    private static final int UNKNOWN_EXPECTED = 0xFFFF;
+
+    /** The file channel, kept open while the pack is used. */
+    private final FileChannel channel;
+
+    /** The mapped problems. */
+    private final ByteBuffer buffer;
+
+    /** The number of problems. */
+    private final int count;
+
+    /** The number of the first problem. */
+    private final int firstNumber;
+
+    /**
+     * Opens a pack.
+     *
+     * @param file The pack.
+     * @throws IOException If the file cannot be read.
+     * @throws TurningMachineException If the file is not a valid pack.
+     */
+    public ProblemPack(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER || size > Integer.MAX_VALUE) {
+                throw new TurningMachineException("Invalid problem pack size.");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt(0) != MAGIC) {
+                throw new TurningMachineException("Not a problem pack.");
+            }
+            count = mapped.getInt(4);
+            firstNumber = mapped.getInt(8);
+            if (count < 0 || HEADER + (long) count * RECORD != size) {
+                throw new TurningMachineException("Truncated problem pack.");
+            }
+            buffer = mapped;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a pack.
+     *
+     * @param file     The pack.
+     * @param problems The problems, by increasing number.
+     * @throws IOException If the file cannot be written.
+     * @throws TurningMachineException If the problems are not by increasing number or do not fit in a pack.
+     */
+    public static void write(Path file, List<Problem> problems) throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(HEADER + problems.size() * RECORD);
+        out.putInt(MAGIC).putInt(problems.size()).putInt(problems.isEmpty() ? 0 : problems.get(0).getNumberProblem());
+        int previous = Integer.MIN_VALUE;
+        for (Problem problem : problems) {
+            if (problem.getNumberProblem() <= previous) {
+                throw new TurningMachineException("The problems must be by increasing number.");
+            }
+            previous = problem.getNumberProblem();
+            putRecord(out, problem);
+        }
+        out.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    /**
+     * Writes a problem at the position of a buffer.
+     */
+    private static void putRecord(ByteBuffer out, Problem problem) {
+        int validators = 0;
+        for (int nbValidator : problem.getValidators()) {
+            if (nbValidator < 1 || nbValidator > ValidatorTable.VALIDATORS) {
+                throw new TurningMachineException("Invalid validator " + nbValidator + ".");
+            }
+            validators |= 1 << (nbValidator - 1);
+        }
+        ParSolver.Par par = problem.getPar();
+        int expected = par == null ? UNKNOWN_EXPECTED : (int) Math.round(par.expected() * 1000);
+        if (problem.getDifficulty() > Byte.MAX_VALUE || problem.getLuck() > Byte.MAX_VALUE
+                || expected > UNKNOWN_EXPECTED || par != null && par.worst() > Byte.MAX_VALUE) {
+            throw new TurningMachineException("Problem " + problem.getNumberProblem() + " does not fit in a pack.");
+        }
+        out.putInt(problem.getNumberProblem());
+        out.putInt(validators);
+        out.putShort((short) expected);
+        out.put((byte) problem.getDifficulty());
+        out.put((byte) problem.getLuck());
+        out.put((byte) problem.getSecretCode().index());
+        out.put((byte) (par == null ? -1 : par.worst()));
+        out.putShort((short) 0);
+    }
+
+    /**
+     * Gets the number of problems.
+     *
+     * @return The number of problems.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Retrieves a problem by its number.
+     *
+     * @param number The number of the problem.
+     * @return The problem.
+     * @throws TurningMachineException If there is no problem with this number.
+     */
+    public Problem getProblem(int number) {
+        long guess = (long) number - firstNumber;
+        if (guess >= 0 && guess < count && numberAt((int) guess) == number) {
+            return read((int) guess);
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int found = numberAt(middle);
+            if (found < number) {
+                low = middle + 1;
+            } else if (found > number) {
+                high = middle - 1;
+            } else {
+                return read(middle);
+            }
+        }
+        throw new TurningMachineException("There is no problem " + number + ".");
+    }
+
+    /**
+     * Retrieves the problem at a position of the pack.
+     *
+     * @param position The position, from 0.
+     * @return The problem.
+     * @throws TurningMachineException If the position is outside the pack.
+     */
+    public Problem get(int position) {
+        if (position < 0 || position >= count) {
+            throw new TurningMachineException("There is no problem at " + position + ".");
+        }
+        return read(position);
+    }
+
+    /**
+     * Lists, without reading them, the problems of a difficulty.
+     *
+     * @param difficulty The difficulty.
+     * @return The problems, read one at a time, by increasing number.
+     */
+    public Stream<Problem> getProblems(int difficulty) {
+        return IntStream.range(0, count)
+                .filter(position -> buffer.get(offset(position) + DIFFICULTY) == difficulty)
+                .mapToObj(this::read);
+    }
+
+    /**
+     * Counts the problems of a difficulty, without reading them.
+     *
+     * @param difficulty The difficulty.
+     * @return The number of problems.
+     */
+    public int count(int difficulty) {
+        int found = 0;
+        for (int position = 0; position < count; position++) {
+            if (buffer.get(offset(position) + DIFFICULTY) == difficulty) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static int offset(int position) {
+        return HEADER + position * RECORD;
+    }
+
+    private int numberAt(int position) {
+        return buffer.getInt(offset(position) + NUMBER);
+    }
+
+    /**
+     * Reads the problem at a position, with absolute gets so that threads can share the pack.
+     */
+    private Problem read(int position) {
+        int offset = offset(position);
+        List<Integer> validators = new ArrayList<>();
+        for (int set = buffer.getInt(offset + VALIDATORS); set != 0; set &= set - 1) {
+            validators.add(Integer.numberOfTrailingZeros(set) + 1);
+        }
+        int expected = Short.toUnsignedInt(buffer.getShort(offset + EXPECTED_PAR));
+        int worst = buffer.get(offset + WORST_PAR);
+        ParSolver.Par par = expected == UNKNOWN_EXPECTED || worst < 0 ? null
+                : new ParSolver.Par(worst, expected / 1000.0);
+        return new Problem(buffer.getInt(offset + NUMBER), Code.ofIndex(buffer.get(offset + SECRET)).toString(),
+                validators, buffer.get(offset + DIFFICULTY), buffer.get(offset + LUCK), par);
+    }
+
+    /**
+     * Closes the file of the pack; the mapping is released by the garbage collector.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Converts a file of problems in the format of the known problems to a pack.
+     *
+     * @param args The CSV file and the pack to write.
+     * @throws IOException If the pack cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: ProblemPack csvFile packFile");
+            System.exit(2);
+        }
+        List<Problem> problems;
+        try {
+            problems = new GameProblems(args[0]).getProblems();
+        } catch (UncheckedIOException | TurningMachineException e) {
+            System.out.println("Error: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        if (problems.isEmpty()) {
+            System.out.println("Error: " + args[0] + " holds no problem, no pack written.");
+            System.exit(2);
+        }
+        write(Path.of(args[1]), problems);
+        System.out.println(problems.size() + " problems written to " + args[1]);
+    }
+}
@@ -0,0 +1,219 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code ProblemRepository} class holds the known problems, read once from the classpath.
+ * <p>
+ * The problems are read from {@code known_problems.csv}, and their par from
+ * {@code known_problems_par.csv} when it is there, as resources of the application, so they are
+ * found from the build directory as well as from a packaged jar. They are read once, the first time
+ * the repository is used, even if several games are created at once; an application can
+ * {@link #preload()} them at start so that no game waits for the file. A failure to read them is
+ * kept and thrown again, with its cause, each time the repository is asked for. The
+ * problems are immutable and shared by every game, and they are indexed by number and by
+ * difficulty.
+ */
+public final class ProblemRepository {
+
+    /** The resource of the known problems. */
+    public static final String PROBLEMS_RESOURCE = "/known_problems.csv";
+
+    /** The resource of the par of the known problems. */
+    public static final String PAR_RESOURCE = "/known_problems_par.csv";
+
+    /** The problems, in the order of the file. */
+    private final List<Problem> problems;
+
+    /** The problems by number, {@code null} for the numbers without problem. */
+    private final Problem[] byNumber;
+
+    /** The problems by difficulty. */
+    private final Map<Integer, List<Problem>> byDifficulty;
+
+    /**
+     * Constructs a {@code ProblemRepository} indexing problems.
+     *
+     * @param problems The problems.
+     * @throws TurningMachineException If two problems have the same number or a number is negative.
+     */
+    ProblemRepository(List<Problem> problems) {
+        this.problems = List.copyOf(problems);
+        int maxNumber = 0;
+        for (Problem problem : problems) {
+            if (problem.getNumberProblem() < 0) {
+                throw new TurningMachineException("Invalid problem number " + problem.getNumberProblem() + ".");
+            }
+            maxNumber = Math.max(maxNumber, problem.getNumberProblem());
+        }
+        byNumber = new Problem[maxNumber + 1];
+        Map<Integer, List<Problem>> difficulties = new HashMap<>();
+        for (Problem problem : problems) {
+            if (byNumber[problem.getNumberProblem()] != null) {
+                throw new TurningMachineException("Duplicate problem number " + problem.getNumberProblem() + ".");
+            }
+            byNumber[problem.getNumberProblem()] = problem;
+            difficulties.computeIfAbsent(problem.getDifficulty(), d -> new ArrayList<>()).add(problem);
+        }
+        difficulties.replaceAll((difficulty, list) -> List.copyOf(list));
+        byDifficulty = Map.copyOf(difficulties);
+    }
+
+    /** The reading of the known problems, done once, its failure included. */
+    private static final CompletableFuture<ProblemRepository> LOADING = new CompletableFuture<>();
+
+    /** Whether the reading has been started. */
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    /**
+     * Starts reading the known problems, unless it has already been started.
+     *
+     * @param background {@code true} to read them on another thread, {@code false} on this one.
+     * @return The reading.
+     */
+    private static CompletableFuture<ProblemRepository> loading(boolean background) {
+        if (STARTED.compareAndSet(false, true)) {
+            Runnable task = () -> {
+                try {
+                    LOADING.complete(load());
+                } catch (Throwable e) {
+                    // même une erreur doit terminer la lecture, sinon getInstance() attendrait sans fin
+                    LOADING.completeExceptionally(e);
+                }
+            };
+            if (background) {
+                CompletableFuture.runAsync(task);
+            } else {
+                task.run();
+            }
+        }
+        return LOADING;
+    }
+
+    /**
+     * Returns the repository of the known problems, reading them on first use or waiting for
+     * the reading started by {@link #preload()}.
+     *
+     * @return The repository.
+     * @throws UncheckedIOException If the known problems cannot be read.
+     * @throws TurningMachineException If the known problems are not valid.
+     * @throws Error If the reading failed with an error, such as a missing class; it is thrown
+     *               again rather than leaving the callers waiting.
+     */
+    public static ProblemRepository getInstance() {
+        try {
+            return loading(false).join();
+        } catch (CompletionException e) {
+            // l'erreur de lecture d'origine, et non une erreur d'initialisation de classe
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts reading the known problems in the background, if they have not been read yet.
+     * A failure is reported on the error output, and thrown again by {@link #getInstance()}.
+     *
+     * @return The repository, once read.
+     */
+    public static CompletableFuture<ProblemRepository> preload() {
+        return loading(true).whenComplete((repository, error) -> {
+            if (error != null) {
+                System.err.println("The known problems cannot be read: " + error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Reads the known problems and their par from the classpath.
+     */
+    private static ProblemRepository load() {
+        try {
+            Map<Integer, ParSolver.Par> pars = new HashMap<>();
+            InputStream parInput = ProblemRepository.class.getResourceAsStream(PAR_RESOURCE);
+            if (parInput != null) {
+                pars = GameProblems.readPars(new InputStreamReader(parInput, StandardCharsets.UTF_8));
+            }
+            InputStream input = ProblemRepository.class.getResourceAsStream(PROBLEMS_RESOURCE);
+            if (input == null) {
+                throw new IOException("Missing resource " + PROBLEMS_RESOURCE);
+            }
+            return new ProblemRepository(GameProblems.readProblems(
+                    new InputStreamReader(input, StandardCharsets.UTF_8), pars));
+        } catch (IOException e) {
+            throw new UncheckedIOException("The known problems cannot be read", e);
+        }
+    }
+
+    /**
+     * Retrieves a problem by its number.
+     *
+     * @param number The number of the problem.
+     * @return The problem.
+     * @throws TurningMachineException If there is no problem with this number.
+     */
+    public Problem getProblem(int number) {
+        if (number < 0 || number >= byNumber.length || byNumber[number] == null) {
+            throw new TurningMachineException("There is no problem " + number + ".");
+        }
+        return byNumber[number];
+    }
+
+    /**
+     * Retrieves the problems of a difficulty.
+     *
+     * @param difficulty The difficulty.
+     * @return The problems, in the order of the file; empty if there is none.
+     */
+    public List<Problem> getProblems(int difficulty) {
+        return byDifficulty.getOrDefault(difficulty, List.of());
+    }
+
+    /**
+     * Retrieves every problem.
+     *
+     * @return The problems, in the order of the file.
+     */
+    public List<Problem> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Picks a problem at random.
+     *
+     * @return A problem.
+     * @throws TurningMachineException If there is no problem.
+     */
+    public Problem getRandomProblem() {
+        if (problems.isEmpty()) {
+            throw new TurningMachineException("There is no problem.");
+        }
+        return problems.get(ThreadLocalRandom.current().nextInt(problems.size()));
+    }
+
+    /**
+     * Gets the number of problems.
+     *
+     * @return The number of problems.
+     */
+    public int size() {
+        return problems.size();
+    }
+}
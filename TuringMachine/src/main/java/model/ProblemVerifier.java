@@ -0,0 +1,237 @@
+package model;
+
+import model.validators.ValidatorTable;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@code ProblemVerifier} class checks a file of problems before it is used: the secret code
+ * of each problem must be the only code consistent with its validators, and no validator may be
+ * redundant.
+ * <p>
+ * For each subset of the validators of a problem, the codes consistent with it are those giving
+ * every validator of the subset the same criterion as the secret code: an intersection of the
+ * masks of the {@link ValidatorTable}. With at most 64 subsets a problem, a whole file is checked
+ * in a few milliseconds, the problems being split between the threads of a fork-join pool.
+ * <p>
+ * Usage: {@code ProblemVerifier [file]}, exiting with the status 1 if a problem is invalid and
+ * with the status 2 if the file cannot be read or holds no problem.
+ */
+public class ProblemVerifier {
+
+    /** The greatest number of validators of a problem, the subsets of which are all counted. */
+    public static final int MAX_VALIDATORS = 16;
+
+    /** Below this number of problems, they are checked by a single task. */
+    private static final int THRESHOLD = 8;
+
+    /**
+     * The {@code Report} record is the verification of a problem.
+     *
+     * @param problem        The problem.
+     * @param solutionCounts The number of codes consistent with each subset of the validators of
+     *                       the problem, the subset having a bit per position in the list of validators.
+     */
+    public record Report(Problem problem, List<Integer> solutionCounts) {
+
+        /**
+         * Gets the number of codes consistent with a subset of the validators of the problem.
+         *
+         * @param validators The subset of the validators.
+         * @return The number of codes, 125 for an empty subset.
+         * @throws TurningMachineException If a validator is not part of the problem.
+         */
+        public int getSolutionCount(List<Integer> validators) {
+            List<Integer> all = problem.getValidators();
+            int subset = 0;
+            for (int nbValidator : validators) {
+                int position = all.indexOf(nbValidator);
+                if (position < 0) {
+                    throw new TurningMachineException("Incorrect number of the validator.");
+                }
+                subset |= 1 << position;
+            }
+            return solutionCounts.get(subset);
+        }
+
+        /**
+         * Checks if the secret code is the only code consistent with the validators.
+         *
+         * @return {@code true} if the problem has a single solution, {@code false} otherwise.
+         */
+        public boolean isUnique() {
+            return solutionCounts.get(solutionCounts.size() - 1) == 1;
+        }
+
+        /**
+         * Gets the validators that can be removed while the secret code stays the only solution.
+         *
+         * @return The redundant validators; empty if the problem is not unique.
+         */
+        public List<Integer> getRedundantValidators() {
+            List<Integer> redundant = new ArrayList<>();
+            if (!isUnique()) {
+                return redundant;
+            }
+            List<Integer> all = problem.getValidators();
+            int full = solutionCounts.size() - 1;
+            for (int i = 0; i < all.size(); i++) {
+                if (solutionCounts.get(full & ~(1 << i)) == 1) {
+                    redundant.add(all.get(i));
+                }
+            }
+            return redundant;
+        }
+
+        /**
+         * Checks if the problem can be played: a single solution and no redundant validator.
+         *
+         * @return {@code true} if the problem is valid, {@code false} otherwise.
+         */
+        public boolean isValid() {
+            return isUnique() && getRedundantValidators().isEmpty();
+        }
+    }
+
+    /** The pool checking the problems. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a {@code ProblemVerifier} using the common pool.
+     */
+    public ProblemVerifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a {@code ProblemVerifier}.
+     *
+     * @param pool The pool checking the problems.
+     */
+    public ProblemVerifier(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Checks every problem.
+     *
+     * @param problems The problems.
+     * @return The report of each problem, in the same order.
+     */
+    public List<Report> verify(List<Problem> problems) {
+        return pool.invoke(new VerifyTask(problems, 0, problems.size()));
+    }
+
+    /**
+     * Checks a problem.
+     *
+     * @param problem The problem.
+     * @return The report of the problem.
+     * @throws TurningMachineException If the problem has more validators than can be checked.
+     */
+    public static Report verify(Problem problem) {
+        List<Integer> validators = problem.getValidators();
+        if (validators.size() > MAX_VALIDATORS) {
+            throw new TurningMachineException("Too many validators.");
+        }
+        int secret = problem.getSecretCode().index();
+        int subsets = 1 << validators.size();
+        long[] low = new long[subsets];
+        long[] high = new long[subsets];
+        low[0] = -1L;
+        high[0] = Code.HIGH_MASK;
+        List<Integer> counts = new ArrayList<>(subsets);
+        counts.add(Code.COUNT);
+        for (int subset = 1; subset < subsets; subset++) {
+            // le sous-ensemble sans son plus petit validateur est déjà calculé
+            int position = Integer.numberOfTrailingZeros(subset);
+            int rest = subset & (subset - 1);
+            int nbValidator = validators.get(position);
+            low[subset] = low[rest] & ValidatorTable.lookalikes(nbValidator, secret, 0);
+            high[subset] = high[rest] & ValidatorTable.lookalikes(nbValidator, secret, 1);
+            counts.add(Long.bitCount(low[subset]) + Long.bitCount(high[subset]));
+        }
+        return new Report(problem, List.copyOf(counts));
+    }
+
+    /**
+     * Checks a range of problems.
+     */
+    private static class VerifyTask extends RangeTask<List<Report>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Problem> problems;
+
+        VerifyTask(List<Problem> problems, int from, int to) {
+            super(from, to, THRESHOLD);
+            this.problems = problems;
+        }
+
+        @Override
+        protected List<Report> computeRange() {
+            List<Report> reports = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                reports.add(verify(problems.get(i)));
+            }
+            return reports;
+        }
+
+        @Override
+        protected VerifyTask part(int from, int to) {
+            return new VerifyTask(problems, from, to);
+        }
+
+        @Override
+        protected List<Report> merge(List<Report> first, List<Report> second) {
+            return concat(first, second);
+        }
+    }
+
+    /**
+     * Checks a file of problems and prints the problems that cannot be played.
+     *
+     * @param args The file to check, the known problems of the {@link ProblemRepository} by default.
+     */
+    public static void main(String[] args) {
+        List<Problem> problems;
+        try {
+            GameProblems pack = args.length > 0 ? new GameProblems(args[0]) : new GameProblems();
+            problems = pack.getProblems();
+        } catch (UncheckedIOException | TurningMachineException e) {
+            System.out.println("Error: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        if (problems.isEmpty()) {
+            System.out.println("Error: no problem to check.");
+            System.exit(2);
+        }
+        // la table est calculée à son premier usage, en dehors de la mesure
+        ValidatorTable.lookalikes(1, 0, 0);
+        long start = System.nanoTime();
+        List<Report> reports = new ProblemVerifier().verify(problems);
+        long time = (System.nanoTime() - start) / 1_000_000;
+        int invalid = 0;
+        for (Report report : reports) {
+            Problem problem = report.problem();
+            if (!report.isUnique()) {
+                invalid++;
+                System.out.println("Problem " + problem.getNumberProblem() + " : "
+                        + report.getSolutionCount(problem.getValidators()) + " codes are consistent with "
+                        + problem.getValidators());
+            } else if (!report.getRedundantValidators().isEmpty()) {
+                invalid++;
+                System.out.println("Problem " + problem.getNumberProblem() + " : redundant validators "
+                        + report.getRedundantValidators());
+            }
+        }
+        System.out.println(reports.size() + " problems checked in " + time + " ms, " + invalid + " invalid");
+        if (invalid > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package model;
+
+import model.validators.ValidatorTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@code QueryRecommender} class ranks the next tests a player can make: a proposed code
+ * checked by one, two or three validators of the problem.
+ * <p>
+ * A test splits the candidate secret codes of the {@link Deduction} by the results it may give.
+ * A test is better when the parts are small: it is ranked by the expected number of candidates
+ * left after it, and its information gain in bits is given as well. Each part is computed by
+ * intersecting the candidate mask with the masks of the {@link ValidatorTable}, so ranking the
+ * 125 codes with every subset of validators takes well under a millisecond; the codes are
+ * nevertheless split between the threads of a fork-join pool.
+ */
+public class QueryRecommender {
+
+    /** The maximum number of validators checked in a round. */
+    public static final int MAX_VALIDATORS = 3;
+
+    /** Below this number of codes, the ranking is done by a single task. */
+    private static final int THRESHOLD = 16;
+
+    /** The order of the tests, from the best one. */
+    private static final Comparator<Query> BEST_FIRST = Comparator.comparingDouble(Query::expectedRemaining)
+            .thenComparingInt(query -> query.validators().size())
+            .thenComparingInt(query -> query.code().index());
+
+    /**
+     * The {@code Query} record is a test ranked by the recommender.
+     *
+     * @param code              The code to propose.
+     * @param validators        The validators to check it with.
+     * @param expectedRemaining The expected number of candidate codes left after the test.
+     * @param information       The expected information gained by the test, in bits.
+     */
+    public record Query(Code code, List<Integer> validators, double expectedRemaining, double information) {
+    }
+
+    /** The base 2 logarithms of the numbers of candidates. */
+    private static final double[] LOG2 = new double[Code.COUNT + 1];
+
+    static {
+        for (int n = 1; n <= Code.COUNT; n++) {
+            LOG2[n] = Math.log(n) / Math.log(2);
+        }
+    }
+
+    /** The subsets of the validators of the problem that can be checked in a round. */
+    private final List<int[]> subsets = new ArrayList<>();
+
+    /** The same subsets, as the lists given to the tests. */
+    private final List<List<Integer>> subsetLists = new ArrayList<>();
+
+    /** The pool ranking the codes. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a {@code QueryRecommender} for the validators of a problem, using the common pool.
+     *
+     * @param validators The validators of the problem.
+     */
+    public QueryRecommender(List<Integer> validators) {
+        this(validators, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a {@code QueryRecommender} for the validators of a problem.
+     *
+     * @param validators The validators of the problem.
+     * @param pool       The pool ranking the codes.
+     */
+    public QueryRecommender(List<Integer> validators, ForkJoinPool pool) {
+        this.pool = pool;
+        int n = validators.size();
+        for (int set = 1; set < 1 << n; set++) {
+            if (Integer.bitCount(set) <= MAX_VALIDATORS) {
+                int[] subset = new int[Integer.bitCount(set)];
+                int k = 0;
+                for (int i = 0; i < n; i++) {
+                    if ((set & (1 << i)) != 0) {
+                        subset[k++] = validators.get(i);
+                    }
+                }
+                subsets.add(subset);
+                subsetLists.add(Arrays.stream(subset).boxed().toList());
+            }
+        }
+    }
+
+    /**
+     * Ranks every test, from the best one.
+     *
+     * @param deduction The candidate codes.
+     * @return The tests, by increasing expected number of candidates left; empty if there is no candidate.
+     */
+    public List<Query> rank(Deduction deduction) {
+        Deduction.State state = deduction.getState();
+        if (deduction.getCandidateCount() == 0) {
+            return List.of();
+        }
+        List<Query> queries = pool.invoke(new RankTask(state.low(), state.high(), 0, Code.COUNT, false));
+        queries.sort(BEST_FIRST);
+        return queries;
+    }
+
+    /**
+     * Finds the best test, without ranking the others.
+     *
+     * @param deduction The candidate codes.
+     * @return The test leaving the fewest candidates on average, or {@code null} if there is no candidate.
+     */
+    public Query best(Deduction deduction) {
+        Deduction.State state = deduction.getState();
+        if (deduction.getCandidateCount() == 0) {
+            return null;
+        }
+        return pool.invoke(new RankTask(state.low(), state.high(), 0, Code.COUNT, true)).get(0);
+    }
+
+    /**
+     * Ranks the tests of a range of codes, or keeps only the best one.
+     */
+    private class RankTask extends RangeTask<List<Query>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long low;
+        private final long high;
+        private final boolean bestOnly;
+
+        RankTask(long low, long high, int from, int to, boolean bestOnly) {
+            super(from, to, THRESHOLD);
+            this.low = low;
+            this.high = high;
+            this.bestOnly = bestOnly;
+        }
+
+        @Override
+        protected List<Query> computeRange() {
+            List<Query> queries = new ArrayList<>(bestOnly ? 1 : (to - from) * subsets.size());
+            for (int code = from; code < to; code++) {
+                for (int i = 0; i < subsets.size(); i++) {
+                    Query query = evaluate(code, i);
+                    if (!bestOnly) {
+                        queries.add(query);
+                    } else if (queries.isEmpty() || BEST_FIRST.compare(query, queries.get(0)) < 0) {
+                        queries.add(0, query);
+                        queries.subList(1, queries.size()).clear();
+                    }
+                }
+            }
+            return queries;
+        }
+
+        @Override
+        protected RankTask part(int from, int to) {
+            return new RankTask(low, high, from, to, bestOnly);
+        }
+
+        @Override
+        protected List<Query> merge(List<Query> first, List<Query> second) {
+            if (!bestOnly) {
+                return concat(first, second);
+            }
+            return BEST_FIRST.compare(first.get(0), second.get(0)) <= 0 ? first : second;
+        }
+
+        /**
+         * Splits the candidates by the results of a test and measures the parts.
+         */
+        private Query evaluate(int code, int index) {
+            int[] subset = subsets.get(index);
+            long[] parts = new long[2 << subset.length];
+            parts[0] = low;
+            parts[1] = high;
+            int count = 1;
+            for (int nbValidator : subset) {
+                long accepted0 = ValidatorTable.secrets(nbValidator, code, 0);
+                long accepted1 = ValidatorTable.secrets(nbValidator, code, 1);
+                for (int i = count - 1; i >= 0; i--) {
+                    long partLow = parts[2 * i];
+                    long partHigh = parts[2 * i + 1];
+                    parts[4 * i] = partLow & accepted0;
+                    parts[4 * i + 1] = partHigh & accepted1;
+                    parts[4 * i + 2] = partLow & ~accepted0;
+                    parts[4 * i + 3] = partHigh & ~accepted1 & Code.HIGH_MASK;
+                }
+                count *= 2;
+            }
+            int total = Long.bitCount(low) + Long.bitCount(high);
+            double squares = 0;
+            double entropy = 0;
+            for (int i = 0; i < count; i++) {
+                int size = Long.bitCount(parts[2 * i]) + Long.bitCount(parts[2 * i + 1]);
+                squares += (double) size * size;
+                entropy += size * LOG2[size];
+            }
+            // I = log2 N - somme (n / N) log2 n
+            return new Query(Code.ofIndex(code), subsetLists.get(index), squares / total,
+                    LOG2[total] - entropy / total);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code RangeTask} class is a fork-join task working on a range of indexes.
+ * <p>
+ * A range longer than the threshold is split in halves: the first half is forked, the second one
+ * is computed by the current thread, and both results are merged in the order of the range. A
+ * range at most as long as the threshold is computed at once by {@link #computeRange()}. The
+ * result is therefore the same whatever the number of threads of the pool.
+ *
+ * @param <T> The type of the result.
+ */
+abstract class RangeTask<T> extends RecursiveTask<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The first index of the range. */
+    protected final int from;
+
+    /** The index after the last one of the range. */
+    protected final int to;
+
+    /** The length of range below which it is not split. */
+    private final int threshold;
+
+    /**
+     * Constructs a {@code RangeTask}.
+     *
+     * @param from      The first index of the range.
+     * @param to        The index after the last one of the range.
+     * @param threshold The length of range below which it is not split, at least 1.
+     */
+    RangeTask(int from, int to, int threshold) {
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Computes the result of the whole range in the current thread.
+     *
+     * @return The result.
+     */
+    protected abstract T computeRange();
+
+    /**
+     * Creates the same task on a part of the range.
+     *
+     * @param from The first index of the part.
+     * @param to   The index after the last one of the part.
+     * @return The task.
+     */
+    protected abstract RangeTask<T> part(int from, int to);
+
+    /**
+     * Merges the results of two consecutive parts of the range.
+     *
+     * @param first  The result of the first part.
+     * @param second The result of the second part.
+     * @return The result of both parts.
+     */
+    protected abstract T merge(T first, T second);
+
+    @Override
+    protected final T compute() {
+        if (to - from <= threshold) {
+            return computeRange();
+        }
+        int middle = (from + to) >>> 1;
+        RangeTask<T> first = part(from, middle);
+        first.fork();
+        T second = part(middle, to).compute();
+        return merge(first.join(), second);
+    }
+
+    /**
+     * Appends the elements of the second part to the ones of the first part.
+     *
+     * @param first  The elements of the first part, a list that can be changed.
+     * @param second The elements of the second part.
+     * @param <E>    The type of the elements.
+     * @return The first list, with every element in the order of the range.
+     */
+    static <E> List<E> concat(List<E> first, List<E> second) {
+        first.addAll(second);
+        return first;
+    }
+}
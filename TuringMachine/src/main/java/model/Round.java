@@ -48,11 +48,12 @@ public class Round {
 
     /**
      * Sets the proposed code for the round and marks the round as started.
+     * The round keeps the shared instance of the code.
      *
      * @param proposedCode The proposed code for the round.
      */
     public void setProposedCode(Code proposedCode) {
-        this.proposedCode = proposedCode;
+        this.proposedCode = Code.ofIndex(proposedCode.index());
         roundStarted = true;
     }
 
@@ -65,15 +66,12 @@ public class Round {
     }
 
     /**
-     * Gets the proposed code for the round.
+     * Gets the proposed code for the round. Codes are immutable, so the shared instance is returned.
      *
      * @return The proposed code, or {@code null} if the code is not set.
      */
     public Code getProposedCode() {
-        if (proposedCode == null) {
-            return null;
-        }
-        return new Code(proposedCode);
+        return proposedCode;
     }
 
     /**
@@ -26,6 +26,20 @@ public class CheckParity extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code CheckParity} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    CheckParity(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator > 7 || nbValidator < 5) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Checks the parity of a specific digit in the secret code against the corresponding digit in the proposed code.
      * The behavior depends on the associated validator number.
@@ -33,6 +47,7 @@ public class CheckParity extends Validator {
      * @return {@code true} if the parity of the digits matches, {@code false} otherwise.
      * @throws TurningMachineException If the validator number is invalid.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         switch (nbValidator) {
             case 5 -> {
@@ -48,6 +63,31 @@ public class CheckParity extends Validator {
         throw new TurningMachineException("Invalid Validator.");
     }
 
+    /**
+     * Checks the parity of a specific digit in the secret code against the corresponding digit in the proposed code.
+     * The behavior depends on the associated validator number.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the parity of the digits matches, {@code false} otherwise.
+     * @throws TurningMachineException If the validator number is invalid.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        switch (nbValidator) {
+            case 5 -> {
+                return checkValidator(firstDigit(secret), firstDigit(proposed));
+            }
+            case 6 -> {
+                return checkValidator(secondDigit(secret), secondDigit(proposed));
+            }
+            case 7 -> {
+                return checkValidator(thirdDigit(secret), thirdDigit(proposed));
+            }
+        }
+        throw new TurningMachineException("Invalid Validator.");
+    }
+
     /**
      * Checks the parity of the given digits.
      *
@@ -55,7 +95,7 @@ public class CheckParity extends Validator {
      * @param digit_code       The corresponding digit from the proposed code.
      * @return {@code true} if the parity of the digits matches, {@code false} otherwise.
      */
-    private boolean checkValidator(int digit_secretCode, int digit_code) {
+    private static boolean checkValidator(int digit_secretCode, int digit_code) {
         return (digit_secretCode % 2 == 0 && digit_code % 2 == 0) ||
                 (digit_secretCode % 2 != 0 && digit_code % 2 != 0);
     }
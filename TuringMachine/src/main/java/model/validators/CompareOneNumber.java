@@ -26,6 +26,20 @@ public class CompareOneNumber extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code CompareOneNumber} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    CompareOneNumber(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator > 4 || nbValidator < 1) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Compares one digit in the secret code against the corresponding digit in the proposed code.
      * The behavior depends on the associated validator number.
@@ -33,6 +47,7 @@ public class CompareOneNumber extends Validator {
      * @return {@code true} if the digits match the specified condition, {@code false} otherwise.
      * @throws TurningMachineException If the validator number is invalid.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         switch (nbValidator) {
             case 1 -> {
@@ -51,6 +66,34 @@ public class CompareOneNumber extends Validator {
         throw new TurningMachineException("Invalid Validator.");
     }
 
+    /**
+     * Compares one digit in the secret code against the corresponding digit in the proposed code.
+     * The behavior depends on the associated validator number.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the digits match the specified condition, {@code false} otherwise.
+     * @throws TurningMachineException If the validator number is invalid.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        switch (nbValidator) {
+            case 1 -> {
+                return checkValidator(firstDigit(secret), firstDigit(proposed), 1);
+            }
+            case 2 -> {
+                return checkValidator(firstDigit(secret), firstDigit(proposed), 3);
+            }
+            case 3 -> {
+                return checkValidator(secondDigit(secret), secondDigit(proposed), 3);
+            }
+            case 4 -> {
+                return checkValidator(secondDigit(secret), secondDigit(proposed), 4);
+            }
+        }
+        throw new TurningMachineException("Invalid Validator.");
+    }
+
     /**
      * Checks the condition specified for comparing the digits.
      *
@@ -59,7 +102,7 @@ public class CompareOneNumber extends Validator {
      * @param number           The threshold number for the comparison.
      * @return {@code true} if the digits match the specified condition, {@code false} otherwise.
      */
-    private boolean checkValidator(int digit_secretCode, int digit_code, int number) {
+    private static boolean checkValidator(int digit_secretCode, int digit_code, int number) {
         return (digit_secretCode < number && digit_code < number) ||
                 (digit_secretCode == number && digit_code == number) ||
                 (digit_secretCode > number && digit_code > number);
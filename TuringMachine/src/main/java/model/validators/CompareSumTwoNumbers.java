@@ -26,18 +26,48 @@ public class CompareSumTwoNumbers extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code CompareSumTwoNumbers} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    CompareSumTwoNumbers(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator != 19) {
+            throw new TurningMachineException("Invalid validator");
+        }
+    }
+
     /**
      * Compares the sum of two digits in the secret code against the sum of the corresponding digits in the proposed code.
      * The condition for the comparison is specified in the validator logic.
      *
      * @return {@code true} if the sums match the specified condition, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         int sum_code = first + second;
         int sum_secret = first_secret + second_secret;
         return checkValidator(sum_code, sum_secret);
     }
 
+    /**
+     * Compares the sum of two digits in the secret code against the sum of the corresponding digits in the proposed code.
+     * The condition for the comparison is specified in the validator logic.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the sums match the specified condition, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        int sum_code = firstDigit(proposed) + secondDigit(proposed);
+        int sum_secret = firstDigit(secret) + secondDigit(secret);
+        return checkValidator(sum_code, sum_secret);
+    }
+
     /**
      * Checks the condition specified for comparing the sums of two numbers.
      *
@@ -45,7 +75,7 @@ public class CompareSumTwoNumbers extends Validator {
      * @param nb2 The sum of the digits from the secret code.
      * @return {@code true} if the sums match the specified condition, {@code false} otherwise.
      */
-    private boolean checkValidator(int nb1, int nb2) {
+    private static boolean checkValidator(int nb1, int nb2) {
         return (nb1 < 6 && nb2 < 6) ||
                 (nb1 == 6 && nb2 == 6) ||
                 (nb1 > 6 && nb2 > 6);
@@ -26,12 +26,27 @@ public class CompareTwoNumbers extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code CompareTwoNumbers} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    CompareTwoNumbers(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator > 13 || nbValidator < 11) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Compares two pairs of digits in the secret code against the corresponding pairs of digits in the proposed code.
      * The condition for the comparison is specified in the validator logic.
      *
      * @return {@code true} if each pair of digits meets the specified condition, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         switch (nbValidator) {
             case 11 -> {
@@ -47,6 +62,30 @@ public class CompareTwoNumbers extends Validator {
         throw new TurningMachineException("Invalid Validator.");
     }
 
+    /**
+     * Compares two pairs of digits in the secret code against the corresponding pairs of digits in the proposed code.
+     * The condition for the comparison is specified in the validator logic.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if each pair of digits meets the specified condition, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        switch (nbValidator) {
+            case 11 -> {
+                return checkValidator(firstDigit(secret), secondDigit(secret), firstDigit(proposed), secondDigit(proposed));
+            }
+            case 12 -> {
+                return checkValidator(firstDigit(secret), thirdDigit(secret), firstDigit(proposed), thirdDigit(proposed));
+            }
+            case 13 -> {
+                return checkValidator(secondDigit(secret), thirdDigit(secret), secondDigit(proposed), thirdDigit(proposed));
+            }
+        }
+        throw new TurningMachineException("Invalid Validator.");
+    }
+
     /**
      * Checks the condition specified for comparing two pairs of digits.
      *
@@ -56,7 +95,7 @@ public class CompareTwoNumbers extends Validator {
      * @param nb2     The second digit of the proposed code pair.
      * @return {@code true} if each pair of digits meets the specified condition, {@code false} otherwise.
      */
-    private boolean checkValidator(int secret1, int secret2, int nb1, int nb2) {
+    private static boolean checkValidator(int secret1, int secret2, int nb1, int nb2) {
         return (secret1 < secret2 && nb1 < nb2) ||
                 (secret1 == secret2 && nb1 == nb2) ||
                 (secret1 > secret2 && nb1 > nb2);
@@ -25,12 +25,27 @@ public class CountOneNumber extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code CountOneNumber} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    CountOneNumber(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator > 10 || nbValidator < 8) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Counts occurrences of a specific number in both the secret code and the proposed code.
      * Checks if the count is the same for the specified number.
      *
      * @return {@code true} if the count is the same for the specified number, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         switch (nbValidator) {
             case 8 -> {
@@ -46,15 +61,41 @@ public class CountOneNumber extends Validator {
         throw new TurningMachineException("Invalid Validator.");
     }
 
+    /**
+     * Counts occurrences of a specific number in both the secret code and the proposed code.
+     * Checks if the count is the same for the specified number.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the count is the same for the specified number, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        switch (nbValidator) {
+            case 8 -> {
+                return checkValidator(1, secret, proposed);
+            }
+            case 9 -> {
+                return checkValidator(3, secret, proposed);
+            }
+            case 10 -> {
+                return checkValidator(4, secret, proposed);
+            }
+        }
+        throw new TurningMachineException("Invalid Validator.");
+    }
+
     /**
      * Checks if the count is the same for the specified number in both the secret code and the proposed code.
      *
-     * @param number The specified number to count.
+     * @param number   The specified number to count.
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
      * @return {@code true} if the count is the same for the specified number, {@code false} otherwise.
      */
-    private boolean checkValidator(int number) {
-        int count1 = countOccurrences(number, first_secret, second_secret, third_secret);
-        int count2 = countOccurrences(number, first, second, third);
+    private static boolean checkValidator(int number, int secret, int proposed) {
+        int count1 = countOccurrences(number, firstDigit(secret), secondDigit(secret), thirdDigit(secret));
+        int count2 = countOccurrences(number, firstDigit(proposed), secondDigit(proposed), thirdDigit(proposed));
 
         return count1 == count2;
     }
@@ -66,7 +107,7 @@ public class CountOneNumber extends Validator {
      * @param values The array of values in which occurrences are counted.
      * @return The count of occurrences of the specified number in the array.
      */
-    private int countOccurrences(int number, int... values) {
+    private static int countOccurrences(int number, int... values) {
         int count = 0;
         for (int value : values) {
             if (value == number) {
@@ -75,4 +116,17 @@ public class CountOneNumber extends Validator {
         }
         return count;
     }
+
+    /**
+     * Checks if the count is the same for the specified number in both the secret code and the proposed code.
+     *
+     * @param number The specified number to count.
+     * @return {@code true} if the count is the same for the specified number, {@code false} otherwise.
+     */
+    private boolean checkValidator(int number) {
+        int count1 = countOccurrences(number, first_secret, second_secret, third_secret);
+        int count2 = countOccurrences(number, first, second, third);
+
+        return count1 == count2;
+    }
 }
@@ -25,12 +25,27 @@ public class CountPair extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code CountPair} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    CountPair(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator != 17) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Counts the number of pairs (even numbers) in both the secret code and the proposed code.
      * Checks if the count of pairs is the same.
      *
      * @return {@code true} if the count of pairs is the same, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         int nbPair_secret = countEvenNumbers(first_secret, second_secret, third_secret);
         int nbPair_code = countEvenNumbers(first, second, third);
@@ -38,13 +53,29 @@ public class CountPair extends Validator {
         return nbPair_secret == nbPair_code;
     }
 
+    /**
+     * Counts the number of pairs (even numbers) in both the secret code and the proposed code.
+     * Checks if the count of pairs is the same.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the count of pairs is the same, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        int nbPair_secret = countEvenNumbers(firstDigit(secret), secondDigit(secret), thirdDigit(secret));
+        int nbPair_code = countEvenNumbers(firstDigit(proposed), secondDigit(proposed), thirdDigit(proposed));
+
+        return nbPair_secret == nbPair_code;
+    }
+
     /**
      * Counts the number of even numbers in an array of values.
      *
      * @param values The array of values in which the number of even numbers is counted.
      * @return The count of even numbers in the array.
      */
-    private int countEvenNumbers(int... values) {
+    private static int countEvenNumbers(int... values) {
         int count = 0;
         for (int value : values) {
             if (value % 2 == 0) {
@@ -26,6 +26,20 @@ public class ExtremumNumber extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code ExtremumNumber} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    ExtremumNumber(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator > 15 || nbValidator < 14) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Checks whether the position of the extreme (maximum or minimum) number in the proposed code matches
      * the position of the extreme number in the secret code. The validator is parameterized to find either
@@ -33,6 +47,7 @@ public class ExtremumNumber extends Validator {
      *
      * @return {@code true} if the positions match, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         switch (nbValidator) {
             case 14 -> {
@@ -45,19 +60,49 @@ public class ExtremumNumber extends Validator {
         throw new TurningMachineException("Invalid Validator.");
     }
 
+    /**
+     * Checks whether the position of the extreme (maximum or minimum) number in the proposed code matches
+     * the position of the extreme number in the secret code. The validator is parameterized to find either
+     * the maximal or minimal value.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the positions match, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        switch (nbValidator) {
+            case 14 -> {
+                return checkValidator(false, secret, proposed);
+            }
+            case 15 -> {
+                return checkValidator(true, secret, proposed);
+            }
+        }
+        throw new TurningMachineException("Invalid Validator.");
+    }
+
     /**
      * Checks whether the position of the extreme (maximum or minimum) number in the proposed code matches
      * the position of the extreme number in the secret code. The validator is parameterized to find either
      * the maximal or minimal value.
      *
      * @param findMaximal If {@code true}, find the maximal value; otherwise, find the minimal value.
+     * @param secret      The index of the secret code.
+     * @param proposed    The index of the proposed code.
      * @return {@code true} if the positions match, {@code false} otherwise.
      */
-    private boolean checkValidator(boolean findMaximal) {
+    private static boolean checkValidator(boolean findMaximal, int secret, int proposed) {
+        int s1 = firstDigit(secret);
+        int s2 = secondDigit(secret);
+        int s3 = thirdDigit(secret);
+        int p1 = firstDigit(proposed);
+        int p2 = secondDigit(proposed);
+        int p3 = thirdDigit(proposed);
         if (findMaximal) {
-            return findExtremeIndex(true, first_secret, second_secret, third_secret) == findExtremeIndex(true, first, second, third);
+            return findExtremeIndex(true, s1, s2, s3) == findExtremeIndex(true, p1, p2, p3);
         } else {
-            return findExtremeIndex(false, first_secret, second_secret, third_secret) == findExtremeIndex(false, first, second, third);
+            return findExtremeIndex(false, s1, s2, s3) == findExtremeIndex(false, p1, p2, p3);
         }
     }
 
@@ -68,7 +113,7 @@ public class ExtremumNumber extends Validator {
      * @param values      The array of values in which the extreme index is found.
      * @return The index of the extreme number in the array.
      */
-    private int findExtremeIndex(boolean findMaximal, int... values) {
+    private static int findExtremeIndex(boolean findMaximal, int... values) {
         int extremeIndex = 0;
 
         for (int i = 1; i < values.length; i++) {
@@ -80,4 +125,20 @@ public class ExtremumNumber extends Validator {
 
         return extremeIndex;
     }
+
+    /**
+     * Checks whether the position of the extreme (maximum or minimum) number in the proposed code matches
+     * the position of the extreme number in the secret code. The validator is parameterized to find either
+     * the maximal or minimal value.
+     *
+     * @param findMaximal If {@code true}, find the maximal value; otherwise, find the minimal value.
+     * @return {@code true} if the positions match, {@code false} otherwise.
+     */
+    private boolean checkValidator(boolean findMaximal) {
+        if (findMaximal) {
+            return findExtremeIndex(true, first_secret, second_secret, third_secret) == findExtremeIndex(true, first, second, third);
+        } else {
+            return findExtremeIndex(false, first_secret, second_secret, third_secret) == findExtremeIndex(false, first, second, third);
+        }
+    }
 }
@@ -26,12 +26,27 @@ public class MostFrequenceParity extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code MostFrequenceParity} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    MostFrequenceParity(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator != 16) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Checks whether the parity distribution of even and odd numbers is the same in the proposed code and the secret code.
      * The validator aims to identify whether the majority of numbers in both codes are even or odd.
      *
      * @return {@code true} if the parity distribution is the same, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         int nbPair_secret = countEvenNumbers(first_secret, second_secret, third_secret);
         int nbPair_code = countEvenNumbers(first, second, third);
@@ -42,13 +57,32 @@ public class MostFrequenceParity extends Validator {
         return ((nbPair_secret > nbOdd_secret) && (nbPair_code > nbOdd_code)) || ((nbPair_secret < nbOdd_secret) && (nbPair_code < nbOdd_code));
     }
 
+    /**
+     * Checks whether the parity distribution of even and odd numbers is the same in the proposed code and the secret code.
+     * The validator aims to identify whether the majority of numbers in both codes are even or odd.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the parity distribution is the same, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        int nbPair_secret = countEvenNumbers(firstDigit(secret), secondDigit(secret), thirdDigit(secret));
+        int nbPair_code = countEvenNumbers(firstDigit(proposed), secondDigit(proposed), thirdDigit(proposed));
+
+        int nbOdd_secret = 3 - nbPair_secret;
+        int nbOdd_code = 3 - nbPair_code;
+
+        return ((nbPair_secret > nbOdd_secret) && (nbPair_code > nbOdd_code)) || ((nbPair_secret < nbOdd_secret) && (nbPair_code < nbOdd_code));
+    }
+
     /**
      * Counts the number of even numbers in the given array of values.
      *
      * @param values The array of values in which even numbers are counted.
      * @return The number of even numbers in the array.
      */
-    private int countEvenNumbers(int... values) {
+    private static int countEvenNumbers(int... values) {
         int count = 0;
         for (int value : values) {
             if (value % 2 == 0) {
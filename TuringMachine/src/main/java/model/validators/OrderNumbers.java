@@ -26,16 +26,44 @@ public class OrderNumbers extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code OrderNumbers} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    OrderNumbers(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator != 22) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Checks whether the order of numbers in the proposed code is the same as the order of numbers in the secret code.
      * The validator aims to identify if the numbers are in ascending or descending order.
      *
      * @return {@code true} if the order is the same, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         return checkOrder(first_secret, second_secret, third_secret) == checkOrder(first, second, third);
     }
 
+    /**
+     * Checks whether the order of numbers in the proposed code is the same as the order of numbers in the secret code.
+     * The validator aims to identify if the numbers are in ascending or descending order.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the order is the same, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        return checkOrder(firstDigit(secret), secondDigit(secret), thirdDigit(secret)) == checkOrder(firstDigit(proposed), secondDigit(proposed), thirdDigit(proposed));
+    }
+
     /**
      * Checks the order of three numbers and returns a code indicating whether they are in ascending,
      * descending, or no particular order.
@@ -45,7 +73,7 @@ public class OrderNumbers extends Validator {
      * @param nb3 The third number.
      * @return An integer code: 1 for ascending order, 2 for descending order, and 0 for no particular order.
      */
-    private int checkOrder(int nb1, int nb2, int nb3) {
+    private static int checkOrder(int nb1, int nb2, int nb3) {
         if (nb2 >= nb1 && nb3 >= nb2) {
             return 1; // Ascending order
         } else if (nb3 <= nb2 && nb2 <= nb1) {
@@ -25,12 +25,27 @@ public class ParityOfSum extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code ParityOfSum} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    ParityOfSum(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator != 18) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Checks whether the parity (even or odd) of the sum of numbers in the proposed code matches
      * the parity of the sum of numbers in the secret code.
      *
      * @return {@code true} if the parity of the sums matches, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         int sum_secret = sum(first_secret, second_secret, third_secret);
         int sum_code = sum(first, second, third);
@@ -38,13 +53,29 @@ public class ParityOfSum extends Validator {
         return (sum_secret % 2 == 0) == (sum_code % 2 == 0);
     }
 
+    /**
+     * Checks whether the parity (even or odd) of the sum of numbers in the proposed code matches
+     * the parity of the sum of numbers in the secret code.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the parity of the sums matches, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        int sum_secret = sum(firstDigit(secret), secondDigit(secret), thirdDigit(secret));
+        int sum_code = sum(firstDigit(proposed), secondDigit(proposed), thirdDigit(proposed));
+
+        return (sum_secret % 2 == 0) == (sum_code % 2 == 0);
+    }
+
     /**
      * Calculates the sum of an array of numbers.
      *
      * @param values The array of numbers.
      * @return The sum of the numbers.
      */
-    private int sum(int... values) {
+    private static int sum(int... values) {
         int count = 0;
         for (int value : values) {
             count += value;
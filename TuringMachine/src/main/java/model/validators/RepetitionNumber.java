@@ -25,11 +25,26 @@ public class RepetitionNumber extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code RepetitionNumber} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    RepetitionNumber(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator != 20) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Checks the repetition of numbers in the proposed code compared to the repetition in the secret code.
      *
      * @return {@code true} if the repetition matches, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         int repetition_secret = repetition(first_secret, second_secret, third_secret);
         int repetition_code = repetition(first, second, third);
@@ -37,13 +52,28 @@ public class RepetitionNumber extends Validator {
         return repetition_code == repetition_secret;
     }
 
+    /**
+     * Checks the repetition of numbers in the proposed code compared to the repetition in the secret code.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the repetition matches, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        int repetition_secret = repetition(firstDigit(secret), secondDigit(secret), thirdDigit(secret));
+        int repetition_code = repetition(firstDigit(proposed), secondDigit(proposed), thirdDigit(proposed));
+
+        return repetition_code == repetition_secret;
+    }
+
     /**
      * Calculates the repetition count of numbers in an array.
      *
      * @param values The array of numbers.
      * @return The repetition count.
      */
-    private int repetition(int... values) {
+    private static int repetition(int... values) {
         int count = 0;
         if ((values[0] == values[1]) && (values[1] == values[2])) {
             count = 3;
@@ -25,22 +25,49 @@ public class TwinNumber extends Validator {
         }
     }
 
+    /**
+     * Constructs the {@code TwinNumber} validator with the specified number, bound to no code,
+     * as shared by {@link ValidatorFactory#getRule(int)}.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid for this type of validator.
+     */
+    TwinNumber(int nbValidator) {
+        super(nbValidator);
+        if (nbValidator != 21) {
+            throw new TurningMachineException("Invalid number for this validator.");
+        }
+    }
+
     /**
      * Checks if there are twin numbers in the proposed code compared to the twin numbers in the secret code.
      *
      * @return {@code true} if there are twin numbers, {@code false} otherwise.
      */
+    @Override
     public boolean checkCodeWithValidator() {
         return isTwin(first_secret, second_secret, third_secret) == isTwin(first, second, third);
     }
 
+    /**
+     * Checks if there are twin numbers in the proposed code compared to the twin numbers in the secret code.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if there are twin numbers, {@code false} otherwise.
+     */
+    @Override
+    public boolean test(int secret, int proposed) {
+        return isTwin(firstDigit(secret), secondDigit(secret), thirdDigit(secret)) == isTwin(firstDigit(proposed), secondDigit(proposed), thirdDigit(proposed));
+    }
+
     /**
      * Determines if there are twin numbers in an array.
      *
      * @param values The array of numbers.
      * @return {@code true} if there are twin numbers, {@code false} otherwise.
      */
-    private boolean isTwin(int... values) {
+    private static boolean isTwin(int... values) {
         if ((values[0] == values[1]) && (values[1] == values[2])) {
             return false;
         }
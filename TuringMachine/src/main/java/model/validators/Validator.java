@@ -5,8 +5,14 @@ import model.TurningMachineException;
 
 /**
  * An abstract class representing a validator used in the game.
+ * <p>
+ * A validator is either bound to a secret code and a proposed code, as created by
+ * {@link ValidatorFactory#createValidator(Code, Code, int)}, or bound to no code at all, as the
+ * {@link ValidatorRule} shared by {@link ValidatorFactory#getRule(int)}. A bound validator is
+ * checked by {@link #checkCodeWithValidator()}, on the digits of its codes, and any validator by
+ * {@link #test(int, int)}, on code indices.
  */
-public abstract class Validator {
+public abstract class Validator implements ValidatorRule {
 
     /**
      * The number associated with the validator.
@@ -66,11 +72,72 @@ public abstract class Validator {
     }
 
     /**
-     * Checks the proposed code against the validator.
+     * Constructs a validator with the specified validator number, bound to no code.
+     * Such a validator is only used through {@link #test(int, int)}.
+     *
+     * @param nbValidator   The number associated with the validator.
+     * @throws TurningMachineException If the validator number is invalid.
+     */
+    protected Validator(int nbValidator) {
+        if (nbValidator < 1 || nbValidator > 22) {
+            throw new TurningMachineException("Invalid validator");
+        }
+        this.nbValidator = nbValidator;
+        this.first_secret = 0;
+        this.second_secret = 0;
+        this.third_secret = 0;
+        this.first = 0;
+        this.second = 0;
+        this.third = 0;
+    }
+
+    /**
+     * Gets the number associated with the validator.
+     *
+     * @return The number of the validator.
+     */
+    @Override
+    public int getNumber() {
+        return nbValidator;
+    }
+
+    /**
+     * Checks the proposed code against the validator, on the digits of the codes it is bound to.
+     * This is the reference the rules of {@link #test(int, int)} are checked against.
      *
      * @return True if the proposed code is valid according to the validator, false otherwise.
      */
     public abstract boolean checkCodeWithValidator();
 
+    /**
+     * Gets the first digit of a code given by its index.
+     *
+     * @param code The index of the code.
+     * @return The first digit, from 1 to 5.
+     */
+    protected static int firstDigit(int code) {
+        return code / 25 + 1;
+    }
+
+    /**
+     * Gets the second digit of a code given by its index.
+     *
+     * @param code The index of the code.
+     * @return The second digit, from 1 to 5.
+     */
+    protected static int secondDigit(int code) {
+        return code / 5 % 5 + 1;
+    }
+
+    /**
+     * Gets the third digit of a code given by its index.
+     *
+     * @param code The index of the code.
+     * @return The third digit, from 1 to 5.
+     */
+    protected static int thirdDigit(int code) {
+        return code % 5 + 1;
+    }
+
 }
 
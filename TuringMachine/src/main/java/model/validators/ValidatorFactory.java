@@ -8,6 +8,54 @@ import model.TurningMachineException;
  */
 public class ValidatorFactory {
 
+    /** The shared rules, by validator number; the index 0 is unused. */
+    private static final ValidatorRule[] RULES = new ValidatorRule[ValidatorTable.VALIDATORS + 1];
+
+    static {
+        for (int nbValidator = 1; nbValidator <= ValidatorTable.VALIDATORS; nbValidator++) {
+            RULES[nbValidator] = createRule(nbValidator);
+        }
+    }
+
+    /**
+     * Gets the shared rule of a validator. The rule is bound to no code, so the same instance
+     * serves every check of that validator.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @return The rule of the validator.
+     * @throws TurningMachineException If the validator number is invalid.
+     */
+    public static ValidatorRule getRule(int nbValidator) {
+        if (nbValidator < 1 || nbValidator > ValidatorTable.VALIDATORS) {
+            throw new TurningMachineException("Invalid validator.");
+        }
+        return RULES[nbValidator];
+    }
+
+    /**
+     * Creates the rule of a validator, bound to no code.
+     *
+     * @param nbValidator  The number associated with the validator.
+     * @return A specific type of validator based on the provided validator number.
+     */
+    private static Validator createRule(int nbValidator) {
+        return switch (nbValidator) {
+            case 1, 2, 3, 4 -> new CompareOneNumber(nbValidator);
+            case 5, 6, 7 -> new CheckParity(nbValidator);
+            case 8, 9, 10 -> new CountOneNumber(nbValidator);
+            case 11, 12, 13 -> new CompareTwoNumbers(nbValidator);
+            case 14, 15 -> new ExtremumNumber(nbValidator);
+            case 16 -> new MostFrequenceParity(nbValidator);
+            case 17 -> new CountPair(nbValidator);
+            case 18 -> new ParityOfSum(nbValidator);
+            case 19 -> new CompareSumTwoNumbers(nbValidator);
+            case 20 -> new RepetitionNumber(nbValidator);
+            case 21 -> new TwinNumber(nbValidator);
+            case 22 -> new OrderNumbers(nbValidator);
+            default -> throw new TurningMachineException("Invalid validator.");
+        };
+    }
+
     /**
      * Creates a validator based on the provided secret code, proposed code, and validator number.
      *
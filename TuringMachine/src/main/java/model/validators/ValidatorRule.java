@@ -0,0 +1,42 @@
+package model.validators;
+
+/**
+ * The {@code ValidatorRule} interface represents the rule of a validator, independent of any code.
+ * <p>
+ * Codes are given by their {@link model.Code#index() index}, so a rule can be tested on any pair of codes without allocating anything. There is one shared
+ * rule per validator number, returned by {@link ValidatorFactory#getRule(int)}.
+ */
+public interface ValidatorRule {
+
+    /**
+     * Gets the number of the validator, from 1 to 22.
+     *
+     * @return The number of the validator.
+     */
+    int getNumber();
+
+    /**
+     * Checks a proposed code with the validator, for a given secret code.
+     *
+     * @param secret   The index of the secret code.
+     * @param proposed The index of the proposed code.
+     * @return {@code true} if the proposed code is valid according to the validator, {@code false} otherwise.
+     */
+    boolean test(int secret, int proposed);
+
+    /**
+     * Writes the codes accepted by the validator for a given secret code, one bit per code index.
+     *
+     * @param secret The index of the secret code.
+     * @param mask   Receives the accepted codes; it must hold at least two {@code long}s.
+     */
+    default void mask(int secret, long[] mask) {
+        mask[0] = 0;
+        mask[1] = 0;
+        for (int proposed = 0; proposed < ValidatorTable.CODES; proposed++) {
+            if (test(secret, proposed)) {
+                mask[proposed >>> 6] |= 1L << proposed;
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package model.validators;
+
+import model.Code;
+import model.TurningMachineException;
+
+/**
+ * The {@code ValidatorTable} class holds the answer of every validator for every pair of
+ * secret code and proposed code, so that a validator is checked with a single lookup.
+ * <p>
+ * There are only 125 codes (three digits from 1 to 5) and 22 validators. For each validator
+ * and each secret code, the answers for the 125 proposed codes fit in two {@code long}s, one
+ * bit per proposed code: the whole table takes 5500 {@code long}s. It is computed once, when
+ * the class is loaded, from the {@link ValidatorRule}s of the {@link Validator} classes, which
+ * stay the reference implementation of the rules.
+ * <p>
+ * A code is identified by its {@link Code#index() index}, from 0 for 111 to 124 for 555.
+ */
+public final class ValidatorTable {
+
+    /** The number of validators. */
+    public static final int VALIDATORS = 22;
+
+    /** The number of codes. */
+    public static final int CODES = Code.COUNT;
+
+    /** The number of {@code long}s holding the answers of a validator for a secret code. */
+    private static final int WORDS = 2;
+
+    private static final long[] TABLE = build();
+
+    /** The same answers by validator and proposed code, one bit per secret code. */
+    private static final long[] SECRETS = transpose(TABLE);
+
+    /** By validator and secret code, the secret codes giving the validator the same criterion. */
+    private static final long[] LOOKALIKES = lookalikes(TABLE);
+
+    /**
+     * Private constructor, the table is only used through its static methods.
+     */
+    private ValidatorTable() {
+    }
+
+    /**
+     * Computes the whole table with the reference validators.
+     *
+     * @return The answers, {@link #WORDS} longs per validator and secret code.
+     */
+    private static long[] build() {
+        long[] table = new long[VALIDATORS * CODES * WORDS];
+        long[] mask = new long[WORDS];
+        for (int validator = 1; validator <= VALIDATORS; validator++) {
+            ValidatorRule rule = ValidatorFactory.getRule(validator);
+            for (int secret = 0; secret < CODES; secret++) {
+                rule.mask(secret, mask);
+                System.arraycopy(mask, 0, table, offset(validator, secret), WORDS);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Computes, for each validator and proposed code, the secret codes for which the validator
+     * accepts the proposed code.
+     *
+     * @param table The answers by validator and secret code.
+     * @return The answers by validator and proposed code.
+     */
+    private static long[] transpose(long[] table) {
+        long[] secrets = new long[table.length];
+        for (int validator = 1; validator <= VALIDATORS; validator++) {
+            for (int secret = 0; secret < CODES; secret++) {
+                for (int proposed = 0; proposed < CODES; proposed++) {
+                    if ((table[offset(validator, secret) + (proposed >>> 6)] & (1L << proposed)) != 0) {
+                        secrets[offset(validator, proposed) + (secret >>> 6)] |= 1L << secret;
+                    }
+                }
+            }
+        }
+        return secrets;
+    }
+
+    /**
+     * Computes, for each validator and secret code, the secret codes for which the validator
+     * accepts exactly the same proposed codes.
+     *
+     * @param table The answers by validator and secret code.
+     * @return The secret codes, by validator and secret code.
+     */
+    private static long[] lookalikes(long[] table) {
+        long[] lookalikes = new long[table.length];
+        for (int validator = 1; validator <= VALIDATORS; validator++) {
+            for (int secret = 0; secret < CODES; secret++) {
+                int offset = offset(validator, secret);
+                for (int other = 0; other < CODES; other++) {
+                    int otherOffset = offset(validator, other);
+                    if (table[offset] == table[otherOffset] && table[offset + 1] == table[otherOffset + 1]) {
+                        lookalikes[offset + (other >>> 6)] |= 1L << other;
+                    }
+                }
+            }
+        }
+        return lookalikes;
+    }
+
+    /**
+     * Gets a part of the proposed codes accepted by a validator for a given secret code,
+     * that is the criterion the validator checks when the secret is that code.
+     *
+     * @param nbValidator The number of the validator, from 1 to 22.
+     * @param secret      The index of the secret code.
+     * @param word        0 for the codes of index 0 to 63, 1 for the codes of index 64 to 124.
+     * @return One bit per proposed code accepted.
+     */
+    public static long accepted(int nbValidator, int secret, int word) {
+        return TABLE[offset(nbValidator, secret) + word];
+    }
+
+    /**
+     * Gets a part of the secret codes for which a validator accepts a given proposed code.
+     *
+     * @param nbValidator The number of the validator, from 1 to 22.
+     * @param proposed    The index of the proposed code.
+     * @param word        0 for the codes of index 0 to 63, 1 for the codes of index 64 to 124.
+     * @return One bit per secret code.
+     */
+    public static long secrets(int nbValidator, int proposed, int word) {
+        return SECRETS[offset(nbValidator, proposed) + word];
+    }
+
+    /**
+     * Gets a part of the secret codes a validator cannot tell apart from a given secret code:
+     * those for which it checks the same criterion.
+     *
+     * @param nbValidator The number of the validator, from 1 to 22.
+     * @param secret      The index of the secret code.
+     * @param word        0 for the codes of index 0 to 63, 1 for the codes of index 64 to 124.
+     * @return One bit per secret code, including the given one.
+     */
+    public static long lookalikes(int nbValidator, int secret, int word) {
+        return LOOKALIKES[offset(nbValidator, secret) + word];
+    }
+
+    /**
+     * Checks a proposed code with a validator, for a given secret code.
+     *
+     * @param nbValidator The number of the validator, from 1 to 22.
+     * @param secretCode  The secret code of the problem.
+     * @param code        The code proposed by the player.
+     * @return {@code true} if the validator accepts the proposed code, {@code false} otherwise.
+     * @throws TurningMachineException If the validator number is invalid.
+     */
+    public static boolean check(int nbValidator, Code secretCode, Code code) {
+        return check(nbValidator, secretCode.index(), code.index());
+    }
+
+    /**
+     * Checks a proposed code with a validator, for a given secret code, both given by their index.
+     *
+     * @param nbValidator The number of the validator, from 1 to 22.
+     * @param secret      The index of the secret code.
+     * @param proposed    The index of the proposed code.
+     * @return {@code true} if the validator accepts the proposed code, {@code false} otherwise.
+     * @throws TurningMachineException If the validator number is invalid.
+     */
+    public static boolean check(int nbValidator, int secret, int proposed) {
+        if (nbValidator < 1 || nbValidator > VALIDATORS) {
+            throw new TurningMachineException("Invalid validator.");
+        }
+        return (TABLE[offset(nbValidator, secret) + (proposed >>> 6)] & (1L << proposed)) != 0;
+    }
+
+    /**
+     * Returns the position of the answers of a validator for a secret code.
+     */
+    private static int offset(int nbValidator, int secret) {
+        return ((nbValidator - 1) * CODES + secret) * WORDS;
+    }
+}
@@ -1,6 +1,8 @@
 package viewConsole;
 
 import model.GameFacade;
+import model.ParSolver;
+import model.QueryRecommender;
 import util.Observer;
 
 import java.util.List;
@@ -40,6 +42,7 @@ public class View implements Observer {
         System.out.println("- undo the last command : undo");
         System.out.println("- redo the command : redo");
         System.out.println("- show validators : show");
+        System.out.println("- best next test : hint");
         System.out.println("- help : help");
         System.out.println("- quit : exit");
     }
@@ -51,6 +54,20 @@ public class View implements Observer {
      */
     public void displayWin(int scoreTotal) {
         System.out.println("You won ! You found the secretCode with a score of  " + scoreTotal + " !");
+        displayPar(scoreTotal);
+    }
+
+    /**
+     * Displays the score of an optimal player, if it is known, next to the score of the player.
+     *
+     * @param scoreTotal The total score.
+     */
+    private void displayPar(int scoreTotal) {
+        ParSolver.Par par = gameFacade.getPar();
+        if (par != null) {
+            System.out.printf("Par : %d in the worst case, %.2f on average (you : %d)%n",
+                    par.worst(), par.expected(), scoreTotal);
+        }
     }
 
     /**
@@ -80,6 +97,22 @@ public class View implements Observer {
         }
     }
 
+    /**
+     * Displays the best next test and the number of candidate secret codes.
+     *
+     * @param query      The best next test, or {@code null} if there is none.
+     * @param candidates The number of candidate secret codes.
+     */
+    public void displayHint(QueryRecommender.Query query, int candidates) {
+        if (query == null) {
+            System.out.println("No secret code is consistent with the results of the validators.");
+            return;
+        }
+        System.out.println(candidates + " possible secret code(s).");
+        System.out.printf("Best next test : code %s with validator(s) %s, about %.1f code(s) left (%.2f bits)%n",
+                query.code(), query.validators(), query.expectedRemaining(), query.information());
+    }
+
     /**
      * Displays the states of validators (red, green, or white).
      *
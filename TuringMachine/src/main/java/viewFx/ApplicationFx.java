@@ -8,6 +8,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
+import model.ProblemRepository;
 import model.TurningMachineException;
 
 import java.util.Objects;
@@ -36,6 +37,7 @@ public class ApplicationFx extends Application {
      */
     @Override
     public void start(Stage primaryStage) {
+        ProblemRepository.preload();
         HBox rootHBox = createRootHBox();
         Scene scene = new Scene(rootHBox, Color.WHITE);
         scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/style.css")).toExternalForm());
@@ -40,4 +40,28 @@ class CodeTest {
         assertEquals(originalCode.getSecond(), copiedCode.getSecond());
         assertEquals(originalCode.getThird(), copiedCode.getThird());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOfReturnsSharedInstances() {
+        assertSame(Code.of(243), Code.of(243));
+        assertSame(Code.of(243), Code.ofIndex(42));
+        assertEquals(42, Code.of(243).index());
+        assertEquals(0, Code.of(111).index());
+        assertEquals(124, Code.of(555).index());
+        assertThrows(TurningMachineException.class, () -> Code.of(160));
+        assertThrows(TurningMachineException.class, () -> Code.ofIndex(125));
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        Code code = new Code(243);
+        assertEquals(Code.of(243), code);
+        assertEquals(Code.of(243).hashCode(), code.hashCode());
+        assertEquals(42, code.index());
+        assertEquals("243", code.toString());
+        assertNotEquals(Code.of(244), code);
+        for (int i = 0; i < Code.COUNT; i++) {
+            assertEquals(i, Code.ofIndex(i).index());
+        }
+    }
+}
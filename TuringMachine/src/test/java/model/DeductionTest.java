@@ -0,0 +1,98 @@
+package model;
+
+import model.validators.ValidatorTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeductionTest {
+
+    @Test
+    void testEveryCodeIsACandidateAtFirst() {
+        Deduction deduction = new Deduction(List.of(4, 9, 11, 14));
+
+        assertEquals(125, deduction.getCandidateCount());
+        assertEquals(125, deduction.getCandidates().size());
+        assertTrue(deduction.isCandidate(Code.of(555)));
+    }
+
+    @Test
+    void testResultsNarrowTheCandidates() {
+        // problem 1: secret 241, validators 4, 9, 11, 14
+        Code secret = Code.of(241);
+        Deduction deduction = new Deduction(List.of(4, 9, 11, 14));
+        int before = deduction.getCandidateCount();
+        for (int nbValidator : List.of(4, 9, 11, 14)) {
+            for (Code code : List.of(Code.of(123), Code.of(335), Code.of(512))) {
+                deduction.record(nbValidator, code,
+                        ValidatorTable.check(nbValidator, secret, code));
+            }
+        }
+
+        assertTrue(deduction.getCandidateCount() < before);
+        assertTrue(deduction.isCandidate(secret));
+        for (Code candidate : deduction.getCandidates()) {
+            for (int nbValidator : List.of(4, 9, 11, 14)) {
+                assertEquals(ValidatorTable.check(nbValidator, secret, Code.of(123)),
+                        ValidatorTable.check(nbValidator, candidate, Code.of(123)));
+            }
+        }
+        assertTrue(deduction.getCriteriaCount(4) >= 1);
+        assertThrows(TurningMachineException.class, () -> deduction.getCriteriaCount(1));
+    }
+
+    @Test
+    void testCriteriaOfTheCandidates() {
+        Deduction deduction = new Deduction(List.of(4, 9, 11, 14));
+        Set<Deduction.State> criteria = deduction.getCriteria(4);
+
+        assertEquals(criteria.size(), deduction.getCriteriaCount(4));
+        for (Code candidate : deduction.getCandidates()) {
+            assertTrue(criteria.contains(new Deduction.State(ValidatorTable.accepted(4, candidate.index(), 0),
+                    ValidatorTable.accepted(4, candidate.index(), 1))));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> criteria.clear());
+
+        Code secret = Code.of(241);
+        deduction.restore(new Deduction.State(1L << secret.index(), 0));
+        assertEquals(Set.of(new Deduction.State(ValidatorTable.accepted(4, secret.index(), 0),
+                ValidatorTable.accepted(4, secret.index(), 1))), deduction.getCriteria(4));
+        assertEquals(1, deduction.getCriteriaCount(4));
+        assertThrows(TurningMachineException.class, () -> deduction.getCriteria(1));
+    }
+
+    @Test
+    void testUndoRestoresTheCandidates() {
+        GameFacade facade = new GameFacade(1);
+        facade.chooseCode(123);
+        facade.checkValidator(4);
+        int afterFirst = facade.getCandidateCount();
+        facade.checkValidator(9);
+        int afterSecond = facade.getCandidateCount();
+
+        assertTrue(afterFirst < 125);
+        assertTrue(afterSecond <= afterFirst);
+
+        facade.getManager().undo();
+        assertEquals(afterFirst, facade.getCandidateCount());
+        facade.getManager().undo();
+        assertEquals(125, facade.getCandidateCount());
+        facade.getManager().redo();
+        assertEquals(afterFirst, facade.getCandidateCount());
+    }
+
+    @Test
+    void testStateOperations() {
+        Deduction.State first = new Deduction.State(0b1100, 0b01);
+        Deduction.State second = new Deduction.State(0b1010, 0b11);
+
+        assertEquals(new Deduction.State(0b1000, 0b01), first.and(second));
+        assertEquals(new Deduction.State(0b0100, 0), first.minus(second));
+        assertEquals(3, first.size());
+        assertTrue(first.minus(first).isEmpty());
+        assertEquals(Code.COUNT, Deduction.State.ALL.size());
+    }
+}
@@ -0,0 +1,69 @@
+package model;
+
+import model.validators.ValidatorTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParSolverTest {
+
+    private static final List<Integer> VALIDATORS = List.of(4, 9, 18, 20);
+
+    /**
+     * Computes the worst case and the total depth of every decision tree, without any bound.
+     */
+    private static int[] exhaustive(Deduction.State candidates, List<Deduction.State> tests,
+                                    Map<Deduction.State, int[]> values) {
+        int[] known = values.get(candidates);
+        if (known != null) {
+            return known;
+        }
+        int size = candidates.size();
+        int worst = Integer.MAX_VALUE;
+        int total = Integer.MAX_VALUE;
+        for (Deduction.State test : tests) {
+            Deduction.State in = candidates.and(test);
+            Deduction.State out = candidates.minus(test);
+            if (!in.isEmpty() && !out.isEmpty()) {
+                int[] left = exhaustive(in, tests, values);
+                int[] right = exhaustive(out, tests, values);
+                worst = Math.min(worst, 1 + Math.max(left[0], right[0]));
+                total = Math.min(total, size + left[1] + right[1]);
+            }
+        }
+        int[] value = worst == Integer.MAX_VALUE ? new int[]{0, 0} : new int[]{worst, total};
+        values.put(candidates, value);
+        return value;
+    }
+
+    @Test
+    void testParIsTheExhaustiveOne() {
+        List<Deduction.State> tests = new ArrayList<>();
+        for (int nbValidator : VALIDATORS) {
+            for (int code = 0; code < Code.COUNT; code++) {
+                tests.add(new Deduction.State(ValidatorTable.secrets(nbValidator, code, 0),
+                        ValidatorTable.secrets(nbValidator, code, 1) & Code.HIGH_MASK));
+            }
+        }
+        int[] expected = exhaustive(Deduction.State.ALL, tests, new HashMap<>());
+
+        ParSolver.Par par = new ParSolver(VALIDATORS).solve();
+        assertEquals(expected[0], par.worst());
+        assertEquals(expected[1] / 125.0, par.expected(), 1e-9);
+        assertTrue(par.expected() <= par.worst());
+    }
+
+    @Test
+    void testParIsReadWithTheProblems() {
+        Problem problem = new GameProblems().getProblems().get(0);
+
+        assertNotNull(problem.getPar());
+        assertEquals(new ParSolver(problem.getValidators()).solve().worst(), problem.getPar().worst());
+        assertEquals(problem.getPar(), new GameFacade(1).getPar());
+    }
+}
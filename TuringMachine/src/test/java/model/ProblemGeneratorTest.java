@@ -0,0 +1,66 @@
+package model;
+
+import model.validators.ValidatorTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProblemGeneratorTest {
+
+    /**
+     * Counts the secret codes giving every validator the same criterion as the secret code.
+     */
+    private static int lookalikes(Code secret, List<Integer> validators) {
+        int count = 0;
+        for (int other = 0; other < Code.COUNT; other++) {
+            boolean same = true;
+            for (int nbValidator : validators) {
+                same &= ValidatorTable.accepted(nbValidator, secret.index(), 0) == ValidatorTable.accepted(nbValidator, other, 0)
+                        && ValidatorTable.accepted(nbValidator, secret.index(), 1)
+                        == ValidatorTable.accepted(nbValidator, other, 1);
+            }
+            if (same) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void testProblemsAreUniqueWithoutRedundantValidator() {
+        List<ProblemGenerator.Generated> problems = new ArrayList<>();
+        long found = new ProblemGenerator().generate(4, 4, problems::add);
+
+        assertEquals(found, problems.size());
+        assertFalse(problems.isEmpty());
+        for (int i = 0; i < problems.size(); i += 97) {
+            ProblemGenerator.Generated problem = problems.get(i);
+            assertEquals(4, problem.validators().size());
+            assertEquals(1, lookalikes(problem.secretCode(), problem.validators()));
+            for (Integer nbValidator : problem.validators()) {
+                List<Integer> others = new ArrayList<>(problem.validators());
+                others.remove(nbValidator);
+                assertTrue(lookalikes(problem.secretCode(), others) > 1);
+            }
+        }
+    }
+
+    @Test
+    void testKnownProblemIsGenerated() {
+        // problem 1: secret 241, validators 4, 9, 11, 14
+        List<String> lines = new ArrayList<>();
+        new ProblemGenerator().generate(4, 4, problem -> lines.add(problem.toCsv(1)));
+
+        assertTrue(lines.contains("1,1,3,241,4,9,11,14"));
+    }
+
+    @Test
+    void testInvalidNumberOfValidators() {
+        assertThrows(TurningMachineException.class, () -> new ProblemGenerator().generate(0, 4, problem -> { }));
+        assertThrows(TurningMachineException.class, () -> new ProblemGenerator().generate(5, 4, problem -> { }));
+        assertThrows(TurningMachineException.class, () -> new ProblemGenerator().generate(4, 23, problem -> { }));
+    }
+}
@@ -0,0 +1,90 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProblemPackTest {
+
+    private static void assertSameProblem(Problem expected, Problem actual) {
+        assertEquals(expected.getNumberProblem(), actual.getNumberProblem());
+        assertEquals(expected.getSecretCode(), actual.getSecretCode());
+        assertEquals(expected.getValidators().stream().sorted().toList(), actual.getValidators());
+        assertEquals(expected.getDifficulty(), actual.getDifficulty());
+        assertEquals(expected.getLuck(), actual.getLuck());
+        assertEquals(expected.getPar(), actual.getPar());
+    }
+
+    @Test
+    void testKnownProblemsRoundTrip() throws IOException {
+        Path file = Files.createTempFile("problems", ProblemPack.EXTENSION);
+        try {
+            List<Problem> problems = ProblemRepository.getInstance().getProblems();
+            ProblemPack.write(file, problems);
+            assertEquals(ProblemPack.HEADER + problems.size() * ProblemPack.RECORD, Files.size(file));
+
+            try (ProblemPack pack = new ProblemPack(file)) {
+                assertEquals(problems.size(), pack.size());
+                for (Problem problem : problems) {
+                    assertSameProblem(problem, pack.getProblem(problem.getNumberProblem()));
+                }
+                assertEquals(11, pack.count(1));
+                assertEquals(List.of(12, 13, 14, 15, 16),
+                        pack.getProblems(2).map(Problem::getNumberProblem).toList());
+                assertThrows(TurningMachineException.class, () -> pack.getProblem(17));
+                assertThrows(TurningMachineException.class, () -> pack.get(-1));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testSparseNumbersAreSearched() throws IOException {
+        Path file = Files.createTempFile("problems", ProblemPack.EXTENSION);
+        try {
+            List<Problem> problems = new ArrayList<>();
+            new ProblemGenerator().generate(4, 4, generated -> problems.add(generated.toProblem(3 * problems.size() + 5)));
+            ProblemPack.write(file, problems);
+
+            try (ProblemPack pack = new ProblemPack(file)) {
+                for (int i = 0; i < problems.size(); i += 101) {
+                    Problem problem = problems.get(i);
+                    assertSameProblem(problem, pack.getProblem(problem.getNumberProblem()));
+                    assertNull(pack.get(i).getPar());
+                }
+                assertThrows(TurningMachineException.class, () -> pack.getProblem(6));
+                assertEquals(problems.stream().filter(p -> p.getDifficulty() == 2).count(), pack.count(2));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testInvalidPacks() throws IOException {
+        Path file = Files.createTempFile("problems", ProblemPack.EXTENSION);
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+            assertThrows(TurningMachineException.class, () -> new ProblemPack(file));
+
+            ProblemPack.write(file, ProblemRepository.getInstance().getProblems());
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+            assertThrows(TurningMachineException.class, () -> new ProblemPack(file));
+
+            List<Problem> unordered = List.of(new Problem(2, "241", List.of(4, 9, 11, 14)),
+                    new Problem(1, "435", List.of(3, 7, 10, 14)));
+            assertThrows(TurningMachineException.class, () -> ProblemPack.write(file, unordered));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProblemRepositoryTest {
+
+    @Test
+    void testProblemsAreReadOnceFromTheClasspath() throws Exception {
+        ProblemRepository repository = ProblemRepository.getInstance();
+
+        assertSame(repository, ProblemRepository.preload().get());
+        assertEquals(16, repository.size());
+        assertSame(repository.getProblems(), ProblemRepository.getInstance().getProblems());
+        assertNotNull(repository.getProblem(1).getPar());
+    }
+
+    @Test
+    void testProblemsAreIndexedByNumberAndDifficulty() {
+        ProblemRepository repository = ProblemRepository.getInstance();
+
+        // problem 12: difficulty 2, secret 111, validators 4, 9, 18, 20
+        Problem problem = repository.getProblem(12);
+        assertEquals(12, problem.getNumberProblem());
+        assertEquals(2, problem.getDifficulty());
+        assertEquals(Code.of(111), problem.getSecretCode());
+        assertEquals(List.of(4, 9, 18, 20), problem.getValidators());
+        assertEquals(11, repository.getProblems(1).size());
+        assertEquals(5, repository.getProblems(2).size());
+        assertTrue(repository.getProblems(2).contains(problem));
+        assertTrue(repository.getProblems(3).isEmpty());
+        assertThrows(TurningMachineException.class, () -> repository.getProblem(0));
+        assertThrows(TurningMachineException.class, () -> repository.getProblem(17));
+    }
+
+    @Test
+    void testGamesShareTheProblems() {
+        assertSame(ProblemRepository.getInstance().getProblem(3), new Game(3).getProblem());
+        assertThrows(TurningMachineException.class, () -> new Game(42));
+    }
+
+    @Test
+    void testDuplicateNumberIsRejected() {
+        List<Problem> problems = List.of(new Problem(1, "241", List.of(4, 9, 11, 14)),
+                new Problem(1, "435", List.of(3, 7, 10, 14)));
+
+        assertThrows(TurningMachineException.class, () -> new ProblemRepository(problems));
+    }
+}
@@ -0,0 +1,86 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProblemVerifierTest {
+
+    @Test
+    void testValidProblem() {
+        // problem 1: secret 241, validators 4, 9, 11, 14
+        ProblemVerifier.Report report = ProblemVerifier.verify(new Problem(1, "241", List.of(4, 9, 11, 14)));
+
+        assertTrue(report.isUnique());
+        assertTrue(report.isValid());
+        assertEquals(16, report.solutionCounts().size());
+        assertEquals(125, report.getSolutionCount(List.of()));
+        assertEquals(1, report.getSolutionCount(List.of(4, 9, 11, 14)));
+        assertTrue(report.getSolutionCount(List.of(4, 9, 11)) > 1);
+        assertTrue(report.getSolutionCount(List.of(4)) >= report.getSolutionCount(List.of(4, 9)));
+        assertThrows(TurningMachineException.class, () -> report.getSolutionCount(List.of(1)));
+    }
+
+    @Test
+    void testProblemWithSeveralSolutions() {
+        ProblemVerifier.Report report = ProblemVerifier.verify(new Problem(2, "435", List.of(3, 7, 10, 14)));
+
+        assertFalse(report.isUnique());
+        assertFalse(report.isValid());
+        assertEquals(2, report.getSolutionCount(List.of(3, 7, 10, 14)));
+        assertTrue(report.getRedundantValidators().isEmpty());
+    }
+
+    @Test
+    void testRedundantValidator() {
+        List<Integer> validators = new ArrayList<>(List.of(4, 9, 11, 14));
+        validators.add(1);
+        ProblemVerifier.Report report = ProblemVerifier.verify(new Problem(1, "241", validators));
+
+        assertTrue(report.isUnique());
+        assertFalse(report.isValid());
+        assertTrue(report.getRedundantValidators().contains(1));
+    }
+
+    @Test
+    void testGeneratedProblemsAreValid() {
+        List<Problem> problems = new ArrayList<>();
+        new ProblemGenerator().generate(4, 4, generated -> problems.add(new Problem(problems.size() + 1,
+                generated.secretCode().toString(), generated.validators())));
+
+        for (ProblemVerifier.Report report : new ProblemVerifier().verify(problems)) {
+            assertTrue(report.isValid());
+        }
+    }
+
+    @Test
+    void testParallelVerificationKeepsTheOrder() {
+        List<Problem> problems = new GameProblems().getProblems();
+        List<ProblemVerifier.Report> reports = new ProblemVerifier().verify(problems);
+
+        assertEquals(problems.size(), reports.size());
+        for (int i = 0; i < problems.size(); i++) {
+            assertSame(problems.get(i), reports.get(i).problem());
+        }
+    }
+
+    @Test
+    void testUnreadablePackIsAnError() throws IOException {
+        assertThrows(UncheckedIOException.class, () -> new GameProblems("/nonexistent/known_problems.csv"));
+
+        Path file = Files.createTempFile("problems", ".csv");
+        try {
+            Files.writeString(file, "num,difficulty,luck,code,validatorNos\n1,1,3,2x1,4,9\n");
+            assertThrows(TurningMachineException.class, () -> new GameProblems(file.toString()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package model;
+
+import model.validators.ValidatorTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryRecommenderTest {
+
+    private static final List<Integer> VALIDATORS = List.of(4, 9, 11, 14);
+
+    /**
+     * Counts the expected number of candidates left by a test, one candidate at a time.
+     */
+    private static double expectedRemaining(Deduction deduction, QueryRecommender.Query query) {
+        Map<Integer, Integer> parts = new HashMap<>();
+        for (Code candidate : deduction.getCandidates()) {
+            int outcome = 0;
+            for (int nbValidator : query.validators()) {
+                outcome = outcome * 2 + (ValidatorTable.check(nbValidator, candidate, query.code()) ? 1 : 0);
+            }
+            parts.merge(outcome, 1, Integer::sum);
+        }
+        double squares = 0;
+        for (int size : parts.values()) {
+            squares += (double) size * size;
+        }
+        return squares / deduction.getCandidateCount();
+    }
+
+    @Test
+    void testEveryTestIsRanked() {
+        QueryRecommender recommender = new QueryRecommender(VALIDATORS);
+        List<QueryRecommender.Query> queries = recommender.rank(new Deduction(VALIDATORS));
+
+        // 4 + 6 + 4 subsets of validators for each of the 125 codes
+        assertEquals(125 * 14, queries.size());
+        for (int i = 1; i < queries.size(); i++) {
+            assertTrue(queries.get(i - 1).expectedRemaining() <= queries.get(i).expectedRemaining());
+        }
+    }
+
+    @Test
+    void testRankingMatchesTheCandidates() {
+        Code secret = Code.of(241);
+        Deduction deduction = new Deduction(VALIDATORS);
+        deduction.record(4, Code.of(123), ValidatorTable.check(4, secret, Code.of(123)));
+        deduction.record(11, Code.of(335), ValidatorTable.check(11, secret, Code.of(335)));
+
+        List<QueryRecommender.Query> queries = new QueryRecommender(VALIDATORS).rank(deduction);
+        for (QueryRecommender.Query query : List.of(queries.get(0), queries.get(100), queries.get(queries.size() - 1))) {
+            assertEquals(expectedRemaining(deduction, query), query.expectedRemaining(), 1e-9);
+            assertTrue(query.information() >= 0);
+            assertTrue(query.information() <= query.validators().size());
+        }
+    }
+
+    @Test
+    void testBestQueryIsTheFirstRanked() {
+        Deduction deduction = new Deduction(VALIDATORS);
+        deduction.record(9, Code.of(512), false);
+        List<QueryRecommender.Query> queries = new QueryRecommender(VALIDATORS).rank(deduction);
+
+        assertEquals(queries.get(0), new QueryRecommender(VALIDATORS).best(deduction));
+    }
+
+    @Test
+    void testBestQueryNarrowsTheCandidates() {
+        GameFacade facade = new GameFacade(1);
+        QueryRecommender.Query best = facade.getBestQuery();
+
+        assertNotNull(best);
+        assertTrue(best.expectedRemaining() < 125);
+        facade.chooseCode(Integer.parseInt(best.code().toString()));
+        for (int nbValidator : best.validators()) {
+            facade.checkValidator(nbValidator);
+        }
+        assertTrue(facade.getCandidateCount() < 125);
+    }
+
+    @Test
+    void testNoQueryWithoutCandidate() {
+        Deduction deduction = new Deduction(VALIDATORS);
+        deduction.restore(new Deduction.State(0, 0));
+
+        assertTrue(new QueryRecommender(VALIDATORS).rank(deduction).isEmpty());
+        assertNull(new QueryRecommender(VALIDATORS).best(deduction));
+    }
+}
@@ -0,0 +1,70 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeTaskTest {
+
+    /**
+     * Lists the indexes of its range.
+     */
+    private static class IndexTask extends RangeTask<List<Integer>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int threshold;
+
+        IndexTask(int from, int to, int threshold) {
+            super(from, to, threshold);
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected List<Integer> computeRange() {
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                indexes.add(i);
+            }
+            return indexes;
+        }
+
+        @Override
+        protected IndexTask part(int from, int to) {
+            return new IndexTask(from, to, threshold);
+        }
+
+        @Override
+        protected List<Integer> merge(List<Integer> first, List<Integer> second) {
+            return concat(first, second);
+        }
+    }
+
+    @Test
+    void testResultDoesNotDependOnThePool() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            for (int threshold : new int[] {1, 7, 64, 1000}) {
+                assertEquals(expected, single.invoke(new IndexTask(0, 1000, threshold)));
+                assertEquals(expected, several.invoke(new IndexTask(0, 1000, threshold)));
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void testEmptyRange() {
+        assertEquals(List.of(), ForkJoinPool.commonPool().invoke(new IndexTask(5, 5, 1)));
+    }
+}
@@ -0,0 +1,48 @@
+package turingMachine.model.validators;
+
+import model.Code;
+import model.TurningMachineException;
+import model.validators.Validator;
+import model.validators.ValidatorFactory;
+import model.validators.ValidatorRule;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidatorRuleTest {
+
+    @Test
+    void testRulesAreShared() {
+        for (int nbValidator = 1; nbValidator <= 22; nbValidator++) {
+            ValidatorRule rule = ValidatorFactory.getRule(nbValidator);
+            assertSame(rule, ValidatorFactory.getRule(nbValidator));
+            assertEquals(nbValidator, rule.getNumber());
+        }
+        assertThrows(TurningMachineException.class, () -> ValidatorFactory.getRule(23));
+    }
+
+    @Test
+    void testRuleMatchesBoundValidator() {
+        // la règle sur les index contre le calcul de référence sur les chiffres
+        for (int nbValidator = 1; nbValidator <= 22; nbValidator++) {
+            ValidatorRule rule = ValidatorFactory.getRule(nbValidator);
+            for (int secret = 0; secret < Code.COUNT; secret++) {
+                for (int proposed = 0; proposed < Code.COUNT; proposed++) {
+                    Validator validator = ValidatorFactory.createValidator(Code.ofIndex(secret),
+                            Code.ofIndex(proposed), nbValidator);
+                    assertEquals(validator.checkCodeWithValidator(), rule.test(secret, proposed),
+                            "validator " + nbValidator + ", " + Code.ofIndex(secret) + " / " + Code.ofIndex(proposed));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMask() {
+        ValidatorRule rule = ValidatorFactory.getRule(5); // parity of the first digit
+        long[] mask = new long[2];
+        rule.mask(0, mask);
+        assertEquals(75, Long.bitCount(mask[0]) + Long.bitCount(mask[1]));
+        assertTrue((mask[0] & 1) != 0);
+    }
+}
@@ -0,0 +1,49 @@
+package turingMachine.model.validators;
+
+import model.Code;
+import model.TurningMachineException;
+import model.validators.ValidatorFactory;
+import model.validators.ValidatorTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidatorTableTest {
+
+    private static List<Code> allCodes() {
+        List<Code> codes = new ArrayList<>();
+        for (int a = 1; a <= 5; a++) {
+            for (int b = 1; b <= 5; b++) {
+                for (int c = 1; c <= 5; c++) {
+                    codes.add(Code.of(a * 100 + b * 10 + c));
+                }
+            }
+        }
+        return codes;
+    }
+
+    @Test
+    void testTableMatchesValidators() {
+        List<Code> codes = allCodes();
+        for (int nbValidator = 1; nbValidator <= ValidatorTable.VALIDATORS; nbValidator++) {
+            for (int s = 0; s < codes.size(); s++) {
+                for (int p = 0; p < codes.size(); p++) {
+                    boolean expected = ValidatorFactory.createValidator(codes.get(s), codes.get(p), nbValidator)
+                            .checkCodeWithValidator();
+                    assertEquals(expected, ValidatorTable.check(nbValidator, codes.get(s), codes.get(p)));
+                    assertEquals(expected, ValidatorTable.check(nbValidator, s, p));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testInvalidValidator() {
+        Code code = Code.of(111);
+        assertThrows(TurningMachineException.class, () -> ValidatorTable.check(0, code, code));
+        assertThrows(TurningMachineException.class, () -> ValidatorTable.check(23, code, code));
+    }
+}